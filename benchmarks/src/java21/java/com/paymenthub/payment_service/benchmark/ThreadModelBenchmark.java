@@ -0,0 +1,121 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the platform-thread and virtual-thread execution modes for the
+ * blocking payment flow at 1k, 10k and 50k concurrent in-flight payments.
+ *
+ * Each simulated payment follows the shape of CreateAndAuthorizePaymentService:
+ * a short transaction to commit the PENDING row, a gateway call with no
+ * connection held, and a short transaction to finalize. The connection pool
+ * is modelled with a semaphore of DB_POOL_SIZE permits and the platform mode
+ * uses a fixed pool the size of Tomcat's default max threads.
+ *
+ * Only compiled on Java 21+ (java21 profile). Run with:
+ * mvn -f benchmarks/pom.xml package
+ * java -cp benchmarks/target/benchmarks.jar com.paymenthub.payment_service.benchmark.ThreadModelBenchmark
+ *   [gatewayLatencyMs] [dbLatencyMs] [dbPoolSize]
+ */
+public class ThreadModelBenchmark {
+
+    private static final List<Integer> IN_FLIGHT_LEVELS = List.of(1_000, 10_000, 50_000);
+    private static final int PLATFORM_THREADS = 200;
+
+    private final long gatewayLatencyMs;
+    private final long dbLatencyMs;
+    private final Semaphore connectionPool;
+
+    ThreadModelBenchmark(long gatewayLatencyMs, long dbLatencyMs, int dbPoolSize) {
+        this.gatewayLatencyMs = gatewayLatencyMs;
+        this.dbLatencyMs = dbLatencyMs;
+        this.connectionPool = new Semaphore(dbPoolSize, true);
+    }
+
+    public static void main(String[] args) throws Exception {
+        long gatewayLatencyMs = args.length > 0 ? Long.parseLong(args[0]) : 50;
+        long dbLatencyMs = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int dbPoolSize = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        ThreadModelBenchmark benchmark = new ThreadModelBenchmark(gatewayLatencyMs, dbLatencyMs, dbPoolSize);
+        System.out.printf("gateway=%dms db=%dms pool=%d platformThreads=%d%n",
+                gatewayLatencyMs, dbLatencyMs, dbPoolSize, PLATFORM_THREADS);
+        System.out.printf("%-10s %10s %14s %10s %10s%n", "mode", "in-flight", "payments/s", "p50 ms", "p99 ms");
+
+        for (int inFlight : IN_FLIGHT_LEVELS) {
+            benchmark.run("platform", inFlight, () -> Executors.newFixedThreadPool(PLATFORM_THREADS));
+            benchmark.run("virtual", inFlight, Executors::newVirtualThreadPerTaskExecutor);
+        }
+    }
+
+    private void run(String mode, int inFlight, Supplier<ExecutorService> executorFactory) throws Exception {
+        // warm-up round, results discarded
+        execute(Math.min(inFlight, 1_000), executorFactory);
+
+        long[] latenciesNanos = new long[inFlight];
+        long startNanos = System.nanoTime();
+        execute(inFlight, executorFactory, latenciesNanos);
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        Arrays.sort(latenciesNanos);
+        System.out.printf("%-10s %10d %14.0f %10.1f %10.1f%n",
+                mode,
+                inFlight,
+                inFlight / (elapsedNanos / 1_000_000_000.0),
+                percentileMillis(latenciesNanos, 0.50),
+                percentileMillis(latenciesNanos, 0.99));
+    }
+
+    private void execute(int inFlight, Supplier<ExecutorService> executorFactory) throws Exception {
+        execute(inFlight, executorFactory, new long[inFlight]);
+    }
+
+    private void execute(int inFlight, Supplier<ExecutorService> executorFactory, long[] latenciesNanos)
+            throws Exception {
+        CountDownLatch done = new CountDownLatch(inFlight);
+        try (ExecutorService executor = executorFactory.get()) {
+            for (int i = 0; i < inFlight; i++) {
+                int index = i;
+                long submittedAt = System.nanoTime();
+                executor.execute(() -> {
+                    try {
+                        processPayment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        latenciesNanos[index] = System.nanoTime() - submittedAt;
+                        done.countDown();
+                    }
+                });
+            }
+            done.await(10, TimeUnit.MINUTES);
+        }
+    }
+
+    private void processPayment() throws InterruptedException {
+        inTransaction();
+        Thread.sleep(gatewayLatencyMs);
+        inTransaction();
+    }
+
+    private void inTransaction() throws InterruptedException {
+        connectionPool.acquire();
+        try {
+            Thread.sleep(dbLatencyMs);
+        } finally {
+            connectionPool.release();
+        }
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
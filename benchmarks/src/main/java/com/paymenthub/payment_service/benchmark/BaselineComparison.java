@@ -0,0 +1,81 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result file against the stored baseline and prints
+ * the change in throughput and in bytes allocated per operation
+ * (gc.alloc.rate.norm, present when run with -prof gc).
+ *
+ * Exits with status 1 when any benchmark lost more throughput than the
+ * threshold, 10% by default. Baseline and current run should come from the
+ * same machine and JDK.
+ *
+ * Usage: BaselineComparison baseline.json current.json [thresholdPercent]
+ */
+public class BaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison baseline.json current.json [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-70s %14s %14s %9s %12s %12s%n",
+                "benchmark", "baseline", "current", "change", "B/op before", "B/op after");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s %12s %12.1f%n",
+                        entry.getKey(), "-", afterScore, "new", "-", allocation(after));
+                continue;
+            }
+
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double change = (afterScore - beforeScore) / beforeScore * 100.0;
+            if (change < -threshold) {
+                regressed = true;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %12.1f %12.1f%n",
+                    entry.getKey(), beforeScore, afterScore, change, allocation(before), allocation(after));
+        }
+
+        if (regressed) {
+            System.out.printf("Throughput regressed by more than %.1f%% for at least one benchmark%n", threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String key = result.path("benchmark").asText();
+            JsonNode params = result.path("params");
+            if (!params.isMissingNode() && params.size() > 0) {
+                key += params.toString();
+            }
+            results.put(key, result);
+        }
+        return results;
+    }
+
+    private static double allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+        return metric.isMissingNode() ? Double.NaN : metric.path("score").asDouble();
+    }
+}
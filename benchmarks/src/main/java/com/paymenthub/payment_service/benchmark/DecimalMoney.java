@@ -0,0 +1,44 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * The BigDecimal-backed Money that preceded the minor-units representation,
+ * kept so {@link MoneyBenchmark} can compare the two side by side.
+ */
+final class DecimalMoney {
+
+    private final BigDecimal amount;
+    private final Currency currency;
+
+    DecimalMoney(BigDecimal amount, String currencyCode) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Amount cannot be null or negative");
+        }
+        this.amount = amount.setScale(2, RoundingMode.HALF_UP);
+        this.currency = Currency.getInstance(currencyCode);
+    }
+
+    DecimalMoney add(DecimalMoney other) {
+        if (!this.currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot add different currencies");
+        }
+        return new DecimalMoney(this.amount.add(other.amount), this.currency.getCurrencyCode());
+    }
+
+    DecimalMoney subtract(DecimalMoney other) {
+        if (!this.currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot subtract different currencies");
+        }
+        return new DecimalMoney(this.amount.subtract(other.amount), this.currency.getCurrencyCode());
+    }
+
+    boolean isGreaterThan(DecimalMoney other) {
+        if (!this.currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot compare different currencies");
+        }
+        return this.amount.compareTo(other.amount) > 0;
+    }
+}
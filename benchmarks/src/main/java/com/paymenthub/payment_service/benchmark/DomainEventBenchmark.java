@@ -0,0 +1,68 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import com.paymenthub.payment_service.domain.events.DomainEvent;
+import com.paymenthub.payment_service.domain.events.PaymentCapturedEvent;
+import com.paymenthub.payment_service.infrastructure.adapter.out.messaging.PaymentEventCodec;
+
+/**
+ * Event creation, type lookup and the JSON conversion the outbox applies to
+ * every event: through the generic converter configured in RabbitMQConfig,
+ * as before PaymentEventCodec, and through the codec. {@code toSmile} is the
+ * extra relay-side cost when publishing Smile.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainEventBenchmark {
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    private final PaymentEventCodec codec = new PaymentEventCodec();
+    private final LocalDateTime capturedAt = LocalDateTime.of(2024, 6, 1, 12, 30, 45);
+    private final DomainEvent event = new PaymentCapturedEvent(
+            "0f8e0b9e-8a55-4f3e-8f5b-6a4b3c2d1e0f", "INV-2024-000123", capturedAt);
+    private final String payload = codec.toJson(event);
+
+    @Benchmark
+    public DomainEvent create() {
+        return new PaymentCapturedEvent("0f8e0b9e-8a55-4f3e-8f5b-6a4b3c2d1e0f", "INV-2024-000123", capturedAt);
+    }
+
+    @Benchmark
+    public String eventType() {
+        return event.getEventType();
+    }
+
+    @Benchmark
+    public Message serialize() {
+        return converter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public String codecSerialize() {
+        return codec.toJson(event);
+    }
+
+    @Benchmark
+    public byte[] toSmile() {
+        return codec.toSmile(payload);
+    }
+}
@@ -0,0 +1,52 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import com.paymenthub.payment_service.domain.enums.PaymentStatus;
+import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.entity.PaymentEntity;
+
+/**
+ * Representative inputs shared by the benchmarks.
+ */
+final class Fixtures {
+
+    static final String CURRENCY = "USD";
+    static final BigDecimal AMOUNT = new BigDecimal("1249.90");
+
+    static final byte[] INVOICE_CREATED_JSON = """
+            {"eventId":"5b0f7c62-63a4-4a4f-9a39-0c1e0d6f2f51",\
+            "invoiceId":"INV-2024-000123",\
+            "customerId":"CUST-000042",\
+            "amount":1249.90,\
+            "currency":"USD",\
+            "createdAt":"2024-06-01T12:30:45.123",\
+            "paymentMethodId":"pm_card_visa"}""".getBytes(StandardCharsets.UTF_8);
+
+    private Fixtures() {
+    }
+
+    /**
+     * A row as loaded for an authorized payment; NUMERIC(19, 4) columns come
+     * back from the driver at scale 4.
+     */
+    static PaymentEntity authorizedEntity() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 6, 1, 12, 30, 45);
+        PaymentEntity entity = new PaymentEntity();
+        entity.setId("0f8e0b9e-8a55-4f3e-8f5b-6a4b3c2d1e0f");
+        entity.setInvoiceId("INV-2024-000123");
+        entity.setPaymentMethodId("pm_card_visa");
+        entity.setRequestedAmount(AMOUNT.setScale(4));
+        entity.setAuthorizedAmount(AMOUNT.setScale(4));
+        entity.setCapturedAmount(BigDecimal.ZERO.setScale(4));
+        entity.setCurrency(CURRENCY);
+        entity.setStatus(PaymentStatus.AUTHORIZED);
+        entity.setPaymentGatewayReferenceId("gw_3f9a1c7e");
+        entity.setCreatedAt(createdAt);
+        entity.setAuthorizedAt(createdAt.plusSeconds(1));
+        entity.setExpiresAt(createdAt.plusDays(7));
+        entity.setVersion(1L);
+        return entity;
+    }
+}
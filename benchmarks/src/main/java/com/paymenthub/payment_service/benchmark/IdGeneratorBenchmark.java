@@ -0,0 +1,54 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.paymenthub.payment_service.domain.identity.IdGenerator;
+import com.paymenthub.payment_service.domain.identity.RandomUuidGenerator;
+import com.paymenthub.payment_service.domain.identity.UuidV7Generator;
+
+/**
+ * Id generation with one shared generator, single-threaded and with eight
+ * threads contending for it as request threads do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Param({ "uuidv7", "random" })
+    public String strategy;
+
+    private IdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = "uuidv7".equals(strategy) ? new UuidV7Generator() : new RandomUuidGenerator();
+    }
+
+    @Benchmark
+    public String nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String nextIdContended() {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,94 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import com.paymenthub.payment_service.domain.identity.IdGenerator;
+import com.paymenthub.payment_service.domain.identity.RandomUuidGenerator;
+import com.paymenthub.payment_service.domain.identity.UuidV7Generator;
+
+/**
+ * Inserts the same number of rows keyed by each id strategy into a table
+ * with the payments primary-key layout (VARCHAR(255)) and reports insert
+ * throughput, primary-key index size and WAL written.
+ *
+ * Not a JMH benchmark: the interesting numbers are the on-disk sizes after
+ * a fixed workload. Run against a scratch Postgres database, e.g.
+ *
+ * java -cp benchmarks/target/benchmarks.jar \
+ *   com.paymenthub.payment_service.benchmark.IdInsertComparison \
+ *   jdbc:postgresql://localhost:5432/bench postgres postgres [rows]
+ */
+public class IdInsertComparison {
+
+    private static final int BATCH_SIZE = 500;
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 3) {
+            System.err.println("Usage: IdInsertComparison jdbcUrl user password [rows]");
+            System.exit(2);
+        }
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 1_000_000;
+        Map<String, IdGenerator> strategies = Map.of(
+                "uuidv7", new UuidV7Generator(),
+                "random", new RandomUuidGenerator());
+
+        try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2])) {
+            System.out.printf("%-8s %10s %12s %14s %12s%n", "ids", "rows", "rows/s", "pk index MB", "WAL MB");
+            for (String name : new String[] { "random", "uuidv7", "random", "uuidv7" }) {
+                run(connection, name, strategies.get(name), rows);
+            }
+        }
+    }
+
+    private static void run(Connection connection, String name, IdGenerator generator, int rows)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists id_insert_comparison");
+            statement.execute("create table id_insert_comparison ("
+                    + "id varchar(255) not null primary key, "
+                    + "invoice_id varchar(255) not null, "
+                    + "created_at timestamp(6) not null default localtimestamp)");
+            statement.execute("checkpoint");
+        }
+
+        connection.setAutoCommit(false);
+        long walBefore = walPosition(connection);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into id_insert_comparison (id, invoice_id) values (?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setString(1, generator.nextId());
+                insert.setString(2, "INV-" + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long walBytes = walPosition(connection) - walBefore;
+        connection.setAutoCommit(true);
+
+        long indexBytes = queryLong(connection, "select pg_relation_size('id_insert_comparison_pkey')");
+        System.out.printf("%-8s %10d %12.0f %14.1f %12.1f%n",
+                name, rows, rows / seconds, indexBytes / 1048576.0, walBytes / 1048576.0);
+    }
+
+    private static long walPosition(Connection connection) throws SQLException {
+        return queryLong(connection, "select pg_current_wal_lsn() - '0/0'::pg_lsn");
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceCreatedEvent;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceEventCodec;
+import com.paymenthub.payment_service.infrastructure.adapter.out.messaging.PaymentEventCodec;
+
+/**
+ * Decoding of an incoming invoice.created body, with an ObjectMapper
+ * configured like Spring Boot's: a per-call readValue as the consumers did
+ * before InvoiceEventCodec, and the codec for JSON and Smile bodies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvoiceEventDeserializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final InvoiceEventCodec codec = new InvoiceEventCodec(objectMapper);
+    private final Message jsonMessage = message(Fixtures.INVOICE_CREATED_JSON, MessageProperties.CONTENT_TYPE_JSON);
+    private final Message smileMessage = message(toSmile(Fixtures.INVOICE_CREATED_JSON),
+            PaymentEventCodec.CONTENT_TYPE_SMILE);
+
+    @Benchmark
+    public InvoiceCreatedEvent readInvoiceCreated() throws IOException {
+        return objectMapper.readValue(Fixtures.INVOICE_CREATED_JSON, InvoiceCreatedEvent.class);
+    }
+
+    @Benchmark
+    public InvoiceCreatedEvent codecJson() throws IOException {
+        return codec.readCreated(jsonMessage);
+    }
+
+    @Benchmark
+    public InvoiceCreatedEvent codecSmile() throws IOException {
+        return codec.readCreated(smileMessage);
+    }
+
+    private static Message message(byte[] body, String contentType) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(contentType);
+        properties.setReceivedRoutingKey("invoice.created");
+        return new Message(body, properties);
+    }
+
+    private byte[] toSmile(byte[] json) {
+        try {
+            ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+            return smileMapper.writeValueAsBytes(objectMapper.readValue(json, InvoiceCreatedEvent.class));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
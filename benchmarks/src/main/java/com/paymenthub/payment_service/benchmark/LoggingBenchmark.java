@@ -0,0 +1,150 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.paymenthub.payment_service.infrastructure.logging.SuccessLogSampler;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * Logging cost of processing one invoice event, measured on four consumer
+ * threads writing to a file. {@code perStepLines} is the old hot path, with
+ * six INFO lines from the consumer, both services and the gateway.
+ * {@code summaryLine} is the current one: the step lines are DEBUG and the
+ * consumer logs one summary line.
+ *
+ * {@code appender} is either a synchronous file appender or the async
+ * appender from logback-spring.xml ({@code async}, which never blocks and
+ * drops events when its queue is full). {@code sampling} keeps 1 in N
+ * consumer success logs, as LOG_SUCCESS_SAMPLING does. With the async
+ * appender the score is what the consumer threads pay. Writing happens on
+ * the appender's worker thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    @Param({"1", "10"})
+    public int sampling;
+
+    private final String invoiceId = "INV-2024-000123";
+    private final String paymentId = "0190f3a2-7b1c-7d44-9a8e-3c5b6d7e8f90";
+    private final String gatewayReference = "dummy_pi_4f1c2b9d8e7a6b5c4d3e2f1a0b9c8d7e";
+    private final BigDecimal amount = new BigDecimal("149.90");
+
+    private LoggerContext context;
+    private Path file;
+    private Logger consumer;
+    private Logger createService;
+    private Logger authorizeService;
+    private Logger gateway;
+
+    @Setup(Level.Trial)
+    public void configure() throws IOException {
+        context = new LoggerContext();
+        file = Files.createTempFile("logging-benchmark-", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> root = fileAppender;
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender);
+            async.start();
+            root = async;
+        }
+
+        SuccessLogSampler sampler = new SuccessLogSampler();
+        sampler.setContext(context);
+        sampler.setCategories("com.paymenthub.payment_service.infrastructure.adapter.in.messaging.consumer=" + sampling);
+        sampler.start();
+        context.addTurboFilter(sampler);
+
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        rootLogger.addAppender(root);
+
+        consumer = context.getLogger(
+                "com.paymenthub.payment_service.infrastructure.adapter.in.messaging.consumer.RabbitInvoiceEventConsumer");
+        createService = context.getLogger("com.paymenthub.payment_service.application.service.CreatePendingPaymentService");
+        authorizeService = context.getLogger("com.paymenthub.payment_service.application.service.AuthorizePaymentService");
+        gateway = context.getLogger("com.paymenthub.payment_service.infrastructure.adapter.out.gateway.DummyPaymentGateway");
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void perStepLines() {
+        consumer.info("Received InvoiceCreatedEvent: invoiceId={}, amount={} {}, paymentMethodId={}",
+                invoiceId, amount, "USD", "pm_card_visa");
+        createService.info("Starting pending payment creation for invoice ID: {}", invoiceId);
+        createService.info("Successfully created pending payment with ID: {}", paymentId);
+        authorizeService.info("Starting authorization for payment ID: {}", paymentId);
+        gateway.info("Dummy authorization succeeded, intentId={}", gatewayReference);
+        consumer.info("Successfully processed {} payment for invoice: {}", "invoice.created", invoiceId);
+    }
+
+    @Benchmark
+    public void summaryLine() {
+        consumer.debug("Received InvoiceCreatedEvent: invoiceId={}, amount={} {}, paymentMethodId={}",
+                invoiceId, amount, "USD", "pm_card_visa");
+        createService.debug("Starting pending payment creation for invoice ID: {}", invoiceId);
+        createService.debug("Successfully created pending payment with ID: {}", paymentId);
+        authorizeService.debug("Starting authorization for payment ID: {}", paymentId);
+        gateway.debug("Dummy authorization succeeded, intentId={}", gatewayReference);
+        consumer.info("Payment lifecycle completed: eventType={}, invoiceId={}, paymentId={}, status={}, durationMs={}",
+                "invoice.created", invoiceId, paymentId, "AUTHORIZED", 12L);
+    }
+}
@@ -0,0 +1,92 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.paymenthub.payment_service.domain.valueobject.Money;
+
+/**
+ * Money against the BigDecimal-backed {@link DecimalMoney} it replaced.
+ * {@code fromColumn} is the mapper's case: a NUMERIC(19, 4) value as
+ * returned by the JDBC driver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private final BigDecimal amount = Fixtures.AMOUNT;
+    private final BigDecimal column = Fixtures.AMOUNT.setScale(4);
+    private final Money price = new Money(Fixtures.AMOUNT, Fixtures.CURRENCY);
+    private final Money fee = new Money(new BigDecimal("2.50"), Fixtures.CURRENCY);
+    private final DecimalMoney decimalPrice = new DecimalMoney(Fixtures.AMOUNT, Fixtures.CURRENCY);
+    private final DecimalMoney decimalFee = new DecimalMoney(new BigDecimal("2.50"), Fixtures.CURRENCY);
+
+    @Benchmark
+    public Money construct() {
+        return new Money(amount, Fixtures.CURRENCY);
+    }
+
+    @Benchmark
+    public Money fromColumn() {
+        return new Money(column, Fixtures.CURRENCY);
+    }
+
+    @Benchmark
+    public BigDecimal toColumn() {
+        return price.getAmount();
+    }
+
+    @Benchmark
+    public Money add() {
+        return price.add(fee);
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return price.subtract(fee);
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return price.isGreaterThan(fee);
+    }
+
+    @Benchmark
+    public DecimalMoney decimalConstruct() {
+        return new DecimalMoney(amount, Fixtures.CURRENCY);
+    }
+
+    @Benchmark
+    public DecimalMoney decimalFromColumn() {
+        return new DecimalMoney(column, Fixtures.CURRENCY);
+    }
+
+    @Benchmark
+    public DecimalMoney decimalAdd() {
+        return decimalPrice.add(decimalFee);
+    }
+
+    @Benchmark
+    public DecimalMoney decimalSubtract() {
+        return decimalPrice.subtract(decimalFee);
+    }
+
+    @Benchmark
+    public boolean decimalCompare() {
+        return decimalPrice.isGreaterThan(decimalFee);
+    }
+}
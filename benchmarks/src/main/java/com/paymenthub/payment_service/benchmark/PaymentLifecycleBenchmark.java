@@ -0,0 +1,48 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.valueobject.InvoiceId;
+import com.paymenthub.payment_service.domain.valueobject.Money;
+import com.paymenthub.payment_service.domain.valueobject.PaymentMethodId;
+
+/**
+ * The in-memory part of a payment's life: creation, authorization and
+ * capture, including the domain events each transition raises.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentLifecycleBenchmark {
+
+    private final InvoiceId invoiceId = new InvoiceId("INV-2024-000123");
+    private final PaymentMethodId paymentMethodId = new PaymentMethodId("pm_card_visa");
+    private final Money amount = new Money(Fixtures.AMOUNT, Fixtures.CURRENCY);
+
+    @Benchmark
+    public Payment createPending() {
+        return Payment.createPendingPayment(invoiceId, paymentMethodId, amount);
+    }
+
+    @Benchmark
+    public Payment createAuthorizeCapture() {
+        Payment payment = Payment.createPendingPayment(invoiceId, paymentMethodId, amount);
+        payment.authorize("gw_3f9a1c7e");
+        payment.capture();
+        return payment;
+    }
+}
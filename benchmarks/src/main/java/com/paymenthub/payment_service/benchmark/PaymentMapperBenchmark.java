@@ -0,0 +1,40 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.entity.PaymentEntity;
+import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.mapper.PaymentMapper;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentMapperBenchmark {
+
+    private final PaymentMapper mapper = new PaymentMapper();
+    private final PaymentEntity entity = Fixtures.authorizedEntity();
+    private final Payment payment = mapper.toDomainEntity(entity);
+
+    @Benchmark
+    public Payment toDomainEntity() {
+        return mapper.toDomainEntity(entity);
+    }
+
+    @Benchmark
+    public PaymentEntity toJpaEntity() {
+        return mapper.toJpaEntity(payment);
+    }
+}
@@ -0,0 +1,86 @@
+package com.paymenthub.payment_service.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.paymenthub.payment_service.application.tracing.PaymentTrace;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Operation;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Phase;
+import com.paymenthub.payment_service.infrastructure.monitoring.PaymentFlightRecording;
+
+/**
+ * Cost of tracing a capture (an operation with four phases) compared with
+ * the same work untraced. {@code recording} is off for no flight recording,
+ * {@code threshold} for the production setup where every operation is
+ * faster than the thresholds, and {@code all} for a zero threshold that
+ * writes every event. The gap in time per operation between the two
+ * benchmarks is the absolute cost, to set against real operations that
+ * take milliseconds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentTraceBenchmark {
+
+    private static final int WORK_TOKENS = 100;
+
+    @Param({"off", "threshold", "all"})
+    public String recording;
+
+    private PaymentFlightRecording flightRecording;
+
+    @Setup(Level.Trial)
+    public void startRecording() {
+        long thresholdMs = switch (recording) {
+            case "off" -> -1;
+            case "threshold" -> 50;
+            default -> 0;
+        };
+        if (thresholdMs >= 0) {
+            flightRecording = new PaymentFlightRecording("", 5, thresholdMs, thresholdMs);
+            flightRecording.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopRecording() {
+        if (flightRecording != null) {
+            flightRecording.stop();
+        }
+    }
+
+    @Benchmark
+    public void untraced() {
+        for (int i = 0; i < 4; i++) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+    }
+
+    @Benchmark
+    public void traced() {
+        try (PaymentTrace trace = PaymentTrace.begin(Operation.CAPTURE, "0f8e0b9e-8a55-4f3e", "INV-2024-000123")) {
+            trace.phase(Phase.CHECK, () -> Blackhole.consumeCPU(WORK_TOKENS));
+            trace.phase(Phase.GATEWAY, () -> Blackhole.consumeCPU(WORK_TOKENS));
+            trace.phase(Phase.UPDATE, () -> Blackhole.consumeCPU(WORK_TOKENS));
+            trace.phase(Phase.PUBLISH, () -> Blackhole.consumeCPU(WORK_TOKENS));
+            trace.succeeded();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.paymenthub.payment_service.application.cache;
+
+/**
+ * Read caches in front of the payment queries. Entries are evicted when a
+ * payment transitions, see PaymentCacheInvalidator.
+ */
+public final class PaymentCacheNames {
+
+    public static final String PAYMENTS = "payments";
+    public static final String INVOICE_PAYMENTS = "invoicePayments";
+
+    private PaymentCacheNames() {
+    }
+}
@@ -0,0 +1,22 @@
+package com.paymenthub.payment_service.application.dto.result;
+
+/**
+ * Outcome of a single item inside a batch operation. Exactly one of
+ * {@code value} and {@code failure} is set.
+ */
+public record BatchItemResult<T>(
+        T value,
+        RuntimeException failure) {
+
+    public static <T> BatchItemResult<T> success(T value) {
+        return new BatchItemResult<>(value, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(RuntimeException failure) {
+        return new BatchItemResult<>(null, failure);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
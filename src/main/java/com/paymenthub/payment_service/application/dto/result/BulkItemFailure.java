@@ -0,0 +1,6 @@
+package com.paymenthub.payment_service.application.dto.result;
+
+public record BulkItemFailure(
+        String paymentId,
+        String error) {
+}
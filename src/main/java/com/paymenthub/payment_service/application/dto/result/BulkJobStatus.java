@@ -0,0 +1,25 @@
+package com.paymenthub.payment_service.application.dto.result;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of an asynchronous bulk operation. Only failed items are listed
+ * individually.
+ */
+public record BulkJobStatus(
+        String jobId,
+        State state,
+        int total,
+        int processed,
+        int succeeded,
+        List<BulkItemFailure> failures,
+        LocalDateTime submittedAt,
+        LocalDateTime completedAt) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
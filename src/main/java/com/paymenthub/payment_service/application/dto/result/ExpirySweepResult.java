@@ -0,0 +1,10 @@
+package com.paymenthub.payment_service.application.dto.result;
+
+public record ExpirySweepResult(
+        int voided,
+        int failed) {
+
+    public int processed() {
+        return voided + failed;
+    }
+}
@@ -0,0 +1,13 @@
+package com.paymenthub.payment_service.application.dto.result;
+
+import java.util.List;
+
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCursor;
+
+/**
+ * One page of search results. {@code nextCursor} is null on the last page.
+ */
+public record PaymentPage(
+        List<PaymentResult> payments,
+        PaymentSearchCursor nextCursor) {
+}
@@ -11,7 +11,8 @@ public record PaymentResult(
         BigDecimal amount,
         String currency,
         PaymentStatus status,
-        LocalDateTime createdAt) {
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt) {
 
     public static PaymentResult fromDomain(Payment payment) {
         return new PaymentResult(
@@ -20,6 +21,7 @@ public record PaymentResult(
                 payment.getAuthorizedAmount().getAmount(),
                 payment.getAuthorizedAmount().getCurrencyCode(),
                 payment.getStatus(),
-                payment.getCreatedAt());
+                payment.getCreatedAt(),
+                payment.getExpiresAt());
     }
 }
@@ -0,0 +1,12 @@
+package com.paymenthub.payment_service.application.exception;
+
+/**
+ * The call was shed before it was sent to the provider, so it had no effect
+ * there and can be retried as is.
+ */
+public class PaymentGatewayOverloadedException extends PaymentGatewayUnavailableException {
+
+    public PaymentGatewayOverloadedException(String message, String errorCode, String gatewayMessage) {
+        super(message, errorCode, gatewayMessage);
+    }
+}
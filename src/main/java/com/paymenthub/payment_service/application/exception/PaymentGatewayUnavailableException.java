@@ -0,0 +1,19 @@
+package com.paymenthub.payment_service.application.exception;
+
+/**
+ * The provider gave no definitive answer: the call was shed before it left
+ * the process, timed out, or failed in transport. It may or may not have
+ * taken effect at the provider, so the payment must not be failed on it;
+ * it is left in its current state to be retried.
+ */
+public class PaymentGatewayUnavailableException extends PaymentGatewayException {
+
+    public PaymentGatewayUnavailableException(String message, String errorCode, String gatewayMessage) {
+        super(message, errorCode, gatewayMessage);
+    }
+
+    public PaymentGatewayUnavailableException(String message, String errorCode, String gatewayMessage,
+            Throwable cause) {
+        super(message, errorCode, gatewayMessage, cause);
+    }
+}
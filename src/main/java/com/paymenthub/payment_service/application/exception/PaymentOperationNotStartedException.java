@@ -0,0 +1,17 @@
+package com.paymenthub.payment_service.application.exception;
+
+/**
+ * A payment operation failed before it reached the gateway, e.g. because the
+ * payment could not be loaded or another operation holds it. Nothing was
+ * changed, so it can be retried as is.
+ */
+public class PaymentOperationNotStartedException extends RuntimeException {
+
+    public PaymentOperationNotStartedException(String message) {
+        super(message);
+    }
+
+    public PaymentOperationNotStartedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.paymenthub.payment_service.application.port.in.command;
+
+/**
+ * What the ids of a bulk job refer to.
+ */
+public enum BulkJobTarget {
+    PAYMENTS,
+    INVOICES
+}
@@ -0,0 +1,8 @@
+package com.paymenthub.payment_service.application.port.in.command;
+
+import java.util.List;
+
+public record BulkVoidPaymentsCommand(
+        BulkJobTarget target,
+        List<String> ids) {
+}
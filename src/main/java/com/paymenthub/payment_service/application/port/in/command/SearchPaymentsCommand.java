@@ -0,0 +1,10 @@
+package com.paymenthub.payment_service.application.port.in.command;
+
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCriteria;
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCursor;
+
+public record SearchPaymentsCommand(
+        PaymentSearchCriteria criteria,
+        PaymentSearchCursor after,
+        Integer pageSize) {
+}
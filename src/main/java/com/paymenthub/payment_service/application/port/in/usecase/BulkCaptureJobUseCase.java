@@ -0,0 +1,25 @@
+package com.paymenthub.payment_service.application.port.in.usecase;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.paymenthub.payment_service.application.dto.result.BulkJobStatus;
+
+/**
+ * Captures the AUTHORIZED payments among the given ids in a persistent
+ * background job that survives restarts and whose status every node can
+ * report.
+ */
+public interface BulkCaptureJobUseCase {
+    BulkJobStatus submit(List<String> paymentIds);
+
+    Optional<BulkJobStatus> getStatus(String jobId);
+
+    /**
+     * Starts capture jobs that no node is working on, including those whose
+     * owner stopped renewing its lease, as far as this node has capacity.
+     *
+     * @return number of jobs started by this node
+     */
+    int runPendingJobs();
+}
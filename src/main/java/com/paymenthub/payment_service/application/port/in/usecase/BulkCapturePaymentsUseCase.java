@@ -0,0 +1,13 @@
+package com.paymenthub.payment_service.application.port.in.usecase;
+
+import java.util.List;
+
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+
+public interface BulkCapturePaymentsUseCase {
+    /**
+     * Captures the given payments. Results are in the order of the given ids.
+     */
+    List<BatchItemResult<PaymentResult>> captureAll(List<String> paymentIds);
+}
@@ -0,0 +1,25 @@
+package com.paymenthub.payment_service.application.port.in.usecase;
+
+import java.util.Optional;
+
+import com.paymenthub.payment_service.application.dto.result.BulkJobStatus;
+import com.paymenthub.payment_service.application.port.in.command.BulkVoidPaymentsCommand;
+
+/**
+ * Voids the AUTHORIZED payments selected by payment or invoice ids in a
+ * persistent background job that survives restarts.
+ */
+public interface BulkVoidPaymentsUseCase {
+    BulkJobStatus submit(BulkVoidPaymentsCommand command);
+
+    Optional<BulkJobStatus> getStatus(String jobId);
+
+    /**
+     * Starts jobs that no node is working on, including those whose owner
+     * stopped renewing its lease, e.g. after a crash, as far as this node has
+     * capacity.
+     *
+     * @return number of jobs started by this node
+     */
+    int runPendingJobs();
+}
@@ -0,0 +1,16 @@
+package com.paymenthub.payment_service.application.port.in.usecase;
+
+import java.util.List;
+
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+import com.paymenthub.payment_service.application.port.in.command.CreatePaymentCommand;
+
+/**
+ * Batch variant of the automatic payment flow.
+ * Results are returned in the same order as the given commands; a failing
+ * command only fails its own result.
+ */
+public interface CreateAndAuthorizePaymentBatchUseCase {
+    List<BatchItemResult<PaymentResult>> createAndAuthorizeAll(List<CreatePaymentCommand> commands);
+}
@@ -0,0 +1,17 @@
+package com.paymenthub.payment_service.application.port.in.usecase;
+
+import com.paymenthub.payment_service.application.dto.result.ExpirySweepResult;
+
+/**
+ * Voids AUTHORIZED payments whose authorization has expired, so they stop
+ * counting as active and release the hold on the customer's card.
+ */
+public interface ExpireAuthorizationsUseCase {
+    /**
+     * @param chunkSize payments leased and voided together
+     * @param maxChunks upper bound on chunks processed in one run
+     */
+    ExpirySweepResult sweepExpiredAuthorizations(int chunkSize, int maxChunks);
+
+    long countExpiredAuthorizations();
+}
@@ -0,0 +1,24 @@
+package com.paymenthub.payment_service.application.port.in.usecase;
+
+import java.time.Duration;
+
+/**
+ * Resolves payments whose gateway call was interrupted between recording it
+ * and finalizing its outcome: PENDING payments whose authorization was lost,
+ * and AUTHORIZED payments with a capture or void still recorded as in flight.
+ */
+public interface RecoverPendingPaymentsUseCase {
+    /**
+     * @param olderThan only payments pending for longer than this are treated
+     *                  as orphaned
+     * @param limit     maximum number of payments leased in one run
+     * @return number of payments authorized
+     */
+    int recoverOrphanedPayments(Duration olderThan, int limit);
+
+    /**
+     * @param limit maximum number of payments leased per operation in one run
+     * @return number of captures and voids completed
+     */
+    int completeInterruptedOperations(int limit);
+}
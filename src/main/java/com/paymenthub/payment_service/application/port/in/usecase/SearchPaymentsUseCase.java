@@ -0,0 +1,8 @@
+package com.paymenthub.payment_service.application.port.in.usecase;
+
+import com.paymenthub.payment_service.application.dto.result.PaymentPage;
+import com.paymenthub.payment_service.application.port.in.command.SearchPaymentsCommand;
+
+public interface SearchPaymentsUseCase {
+    PaymentPage search(SearchPaymentsCommand command);
+}
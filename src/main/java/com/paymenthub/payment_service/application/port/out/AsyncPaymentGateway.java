@@ -0,0 +1,27 @@
+package com.paymenthub.payment_service.application.port.out;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link PaymentGateway}. Failed calls complete the
+ * returned future exceptionally with a
+ * {@link com.paymenthub.payment_service.application.exception.PaymentGatewayException}.
+ */
+public interface AsyncPaymentGateway {
+
+    /**
+     * @see PaymentGateway#authorize
+     */
+    CompletableFuture<String> authorizeAsync(
+            String idempotencyKey,
+            String paymentId,
+            String customerId,
+            String paymentMethodId,
+            BigDecimal amount,
+            String currency);
+
+    CompletableFuture<Void> captureAsync(String gatewayReferenceId);
+
+    CompletableFuture<Void> voidAuthorizationAsync(String gatewayReferenceId);
+}
@@ -0,0 +1,28 @@
+package com.paymenthub.payment_service.application.port.out;
+
+import java.time.LocalDateTime;
+
+import com.paymenthub.payment_service.application.dto.result.BulkJobStatus;
+import com.paymenthub.payment_service.application.port.in.command.BulkJobTarget;
+
+/**
+ * Persistent state of a bulk job. Payments are processed in id order;
+ * {@code lastPaymentId} is the last one whose outcome has been committed.
+ */
+public record BulkJob(
+        String id,
+        Action action,
+        BulkJobTarget target,
+        BulkJobStatus.State state,
+        int total,
+        int succeeded,
+        int failed,
+        String lastPaymentId,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt) {
+
+    public enum Action {
+        CAPTURE,
+        VOID
+    }
+}
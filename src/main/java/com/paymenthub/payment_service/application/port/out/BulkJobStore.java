@@ -0,0 +1,59 @@
+package com.paymenthub.payment_service.application.port.out;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.paymenthub.payment_service.application.dto.result.BulkItemFailure;
+import com.paymenthub.payment_service.domain.entity.Payment;
+
+/**
+ * Persistence for bulk capture and void jobs. A job is processed by the node
+ * holding its lease; a lease that is not renewed in time lets another node
+ * resume it.
+ */
+public interface BulkJobStore {
+
+    /**
+     * Stores a new RUNNING job, unleased, together with the AUTHORIZED
+     * payments selected by {@code ids} at this point.
+     *
+     * @return the job with its total set to the number of selected payments
+     */
+    BulkJob create(BulkJob job, Collection<String> ids);
+
+    Optional<BulkJob> findById(String jobId);
+
+    List<BulkItemFailure> findFailures(String jobId, int limit);
+
+    /**
+     * Leases the oldest RUNNING job of the given action that is not leased or
+     * whose lease has expired.
+     */
+    Optional<BulkJob> claimNext(BulkJob.Action action, String owner, Duration lease);
+
+    /**
+     * Extends the lease of a job the owner still holds.
+     *
+     * @return false if {@code owner} no longer holds the lease
+     */
+    boolean renewLease(String jobId, String owner, Duration lease);
+
+    /**
+     * Next payments of the job that are still AUTHORIZED, in id order,
+     * starting after the given payment id.
+     */
+    List<Payment> findNextTargets(String jobId, String afterPaymentId, int limit);
+
+    /**
+     * Advances the job and renews the lease. Must run in the transaction that
+     * applies the chunk's outcome, where there is one.
+     *
+     * @return false if {@code owner} no longer holds the lease
+     */
+    boolean recordProgress(String jobId, String owner, String lastPaymentId, int succeeded,
+            List<BulkItemFailure> failures, Duration lease);
+
+    void complete(String jobId, String owner);
+}
@@ -0,0 +1,16 @@
+package com.paymenthub.payment_service.application.port.out;
+
+/**
+ * Request stored under an idempotency key, with its response once the
+ * request has completed.
+ *
+ * @param fingerprint    identifies the request the key was first used for
+ * @param responseStatus HTTP status, null while the request is in progress
+ * @param responseBody   response body, may be null
+ */
+public record IdempotencyRecord(String fingerprint, Integer responseStatus, String responseBody) {
+
+    public boolean completed() {
+        return responseStatus != null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.paymenthub.payment_service.application.port.out;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Durable record of requests made with an idempotency key. A key is held by
+ * one execution at a time; a holder that neither completes nor releases it
+ * loses it once its lock expires.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims the key for the caller unless another execution holds it or has
+     * already completed it.
+     *
+     * @return empty if the caller now holds the key, otherwise the existing
+     *         record
+     */
+    Optional<IdempotencyRecord> claim(String key, String fingerprint, Duration lock, Duration ttl);
+
+    void complete(String key, int responseStatus, String responseBody);
+
+    /**
+     * Drops a held key so the request can be retried.
+     */
+    void release(String key);
+
+    int purgeExpired();
+}
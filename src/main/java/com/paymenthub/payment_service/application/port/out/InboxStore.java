@@ -0,0 +1,25 @@
+package com.paymenthub.payment_service.application.port.out;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ids of inbound messages that have already been processed.
+ */
+public interface InboxStore {
+
+    boolean contains(String messageId);
+
+    /**
+     * Records the ids; ids already recorded are ignored.
+     */
+    void record(Collection<String> messageIds);
+
+    /**
+     * Most recently recorded ids, newest first.
+     */
+    List<String> findRecent(int limit);
+
+    int purgeOlderThan(Duration retention);
+}
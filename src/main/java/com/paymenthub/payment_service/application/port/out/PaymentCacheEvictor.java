@@ -0,0 +1,14 @@
+package com.paymenthub.payment_service.application.port.out;
+
+/**
+ * Evicts payment read cache entries for changes that raise no domain event,
+ * such as a newly recorded PENDING payment.
+ */
+public interface PaymentCacheEvictor {
+
+    /**
+     * Drops the cached payments of the invoice now and again once the
+     * current transaction has committed.
+     */
+    void evictInvoicePayments(String invoiceId);
+}
@@ -5,13 +5,26 @@ import com.paymenthub.payment_service.application.exception.PaymentGatewayExcept
 
 public interface PaymentGateway {
 
+    /**
+     * Places an authorization hold. Calls repeated with the same
+     * {@code idempotencyKey} must return the outcome of the first one instead
+     * of placing another hold, so an authorization whose result was lost can
+     * safely be re-issued.
+     */
     String authorize(
+            String idempotencyKey,
             String paymentId,
             String customerId,
             String paymentMethodId,
             BigDecimal amount,
             String currency) throws PaymentGatewayException;
 
+    /**
+     * Captures the authorization. Capturing an authorization that is already
+     * captured must succeed without capturing it again, so an interrupted
+     * capture can safely be re-issued; the same applies to
+     * {@link #voidAuthorization}.
+     */
     void capture(String gatewayReferenceId) throws PaymentGatewayException;
 
     void voidAuthorization(String gatewayReferenceId) throws PaymentGatewayException;
@@ -1,17 +1,32 @@
 package com.paymenthub.payment_service.application.service;
 
 import com.paymenthub.payment_service.application.exception.PaymentGatewayException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayUnavailableException;
 import com.paymenthub.payment_service.application.port.out.EventBus;
 import com.paymenthub.payment_service.application.port.out.PaymentGateway;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Operation;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Phase;
 import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.exception.PaymentNotFoundException;
 import com.paymenthub.payment_service.domain.repository.PaymentRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Authorizes an already committed PENDING payment. The gateway call runs
+ * without an open transaction so no database connection is held while
+ * waiting on the provider; the outcome is then applied in a short
+ * transaction of its own.
+ *
+ * Only a definitive decline fails the payment. When the gateway gives no
+ * answer (timeout, overload, transport error) the payment stays PENDING and
+ * is picked up again by {@link RecoverPendingPaymentsService}.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -20,49 +35,69 @@ public class AuthorizePaymentService {
     private final PaymentRepository paymentRepository;
     private final EventBus eventBus;
     private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     protected Payment authorize(Payment payment) {
-        log.info("Starting authorization for payment ID: {}", payment.getId());
-
-        try {
-            String gatewayReferenceId = authorizeWithGateway(payment);
-
-            payment.authorize(gatewayReferenceId);
-            Payment savedPayment = paymentRepository.save(payment);
-
-            publishDomainEvents(payment);
-
-            log.info("Payment ID: {} authorized successfully with gateway reference: {}",
+        log.debug("Starting authorization for payment ID: {}", payment.getId());
+
+        try (PaymentTrace trace = PaymentTrace.begin(
+                Operation.AUTHORIZE, payment.getId(), payment.getInvoiceId().getValue())) {
+            String gatewayReferenceId;
+            try {
+                gatewayReferenceId = trace.phase(Phase.GATEWAY, () -> authorizeWithGateway(payment));
+            } catch (PaymentGatewayUnavailableException e) {
+                log.warn("Authorization outcome unknown for payment ID: {} - left PENDING for recovery ({})",
+                        payment.getId(), e.getErrorCode());
+                throw e;
+            } catch (PaymentGatewayException e) {
+                handleAuthorizationFailure(payment, e, trace);
+                throw e;
+            }
+
+            Payment savedPayment = trace.phase(Phase.UPDATE, () -> transactionTemplate.execute(status -> {
+                Payment current = lockPayment(payment.getId());
+                current.authorize(gatewayReferenceId);
+                Payment saved = paymentRepository.save(current);
+                trace.phase(Phase.PUBLISH, () -> publishDomainEvents(current));
+                return saved;
+            }));
+
+            log.debug("Payment ID: {} authorized successfully with gateway reference: {}",
                     savedPayment.getId(), gatewayReferenceId);
 
+            trace.succeeded();
             return savedPayment;
-
-        } catch (PaymentGatewayException e) {
-            handleAuthorizationFailure(payment, e);
-            throw e;
         }
     }
 
     private String authorizeWithGateway(Payment payment) {
+        // Keyed by payment id, so recovery re-issuing the call gets back the original hold
         return paymentGateway.authorize(
+                payment.getId(),
                 payment.getId(),
                 "", // TODO: Pass customer Id when added
                 payment.getPaymentMethodId().getValue(),
                 payment.getRequestedAmount().getAmount(),
-                payment.getRequestedAmount().getCurrency().toString());
+                payment.getRequestedAmount().getCurrencyCode());
     }
 
-    private void handleAuthorizationFailure(Payment payment, PaymentGatewayException exception) {
+    private void handleAuthorizationFailure(Payment payment, PaymentGatewayException exception, PaymentTrace trace) {
         log.error("Authorization failed for payment ID: {} - Reason: {}",
                 payment.getId(), exception.getMessage());
 
-        payment.markAsFailed(exception.getMessage());
+        trace.phase(Phase.UPDATE, () -> transactionTemplate.executeWithoutResult(status -> {
+            Payment current = lockPayment(payment.getId());
+            current.markAsFailed(exception.getMessage());
 
-        publishDomainEvents(payment);
+            trace.phase(Phase.PUBLISH, () -> publishDomainEvents(current));
 
-        paymentRepository.save(payment);
+            paymentRepository.save(current);
+        }));
+    }
 
+    private Payment lockPayment(String paymentId) {
+        return paymentRepository.findByIdForUpdate(paymentId)
+                .orElseThrow(() -> new PaymentNotFoundException(paymentId));
     }
 
     private void publishDomainEvents(Payment payment) {
@@ -0,0 +1,53 @@
+package com.paymenthub.payment_service.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Issues one asynchronous call per item with at most {@code parallelism}
+ * calls in flight, and waits until all of them have completed.
+ */
+final class BoundedParallelCalls {
+
+    private BoundedParallelCalls() {
+    }
+
+    /**
+     * @param onComplete invoked once per item with the unwrapped failure, or
+     *                   null on success; may run on any thread
+     */
+    static <T> void run(List<T> items, int parallelism, Function<T, CompletableFuture<?>> call,
+            BiConsumer<T, Throwable> onComplete) {
+        List<CompletableFuture<?>> calls = new ArrayList<>(items.size());
+        Semaphore permits = new Semaphore(parallelism);
+
+        for (T item : items) {
+            permits.acquireUninterruptibly();
+            CompletableFuture<?> future;
+            try {
+                future = call.apply(item);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            calls.add(future.whenComplete((ignored, error) -> {
+                permits.release();
+                onComplete.accept(item, unwrap(error));
+            }));
+        }
+
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                .exceptionally(error -> null)
+                .join();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+    }
+}
@@ -0,0 +1,110 @@
+package com.paymenthub.payment_service.application.service;
+
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
+import com.paymenthub.payment_service.application.dto.result.BulkItemFailure;
+import com.paymenthub.payment_service.application.dto.result.BulkJobStatus;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+import com.paymenthub.payment_service.application.port.in.command.BulkJobTarget;
+import com.paymenthub.payment_service.application.port.in.usecase.BulkCaptureJobUseCase;
+import com.paymenthub.payment_service.application.port.in.usecase.BulkCapturePaymentsUseCase;
+import com.paymenthub.payment_service.application.port.out.BulkJob;
+import com.paymenthub.payment_service.application.port.out.BulkJobStore;
+import com.paymenthub.payment_service.domain.entity.Payment;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs bulk captures too large for a single request as persistent jobs, run
+ * and leased by a {@link BulkJobWorker} in slices of
+ * {@link BulkCapturePaymentsService#MAX_PAYMENTS}. Each slice commits its
+ * captures before the job's progress is recorded; a job resumed after a crash
+ * skips the payments of the interrupted slice that were already captured, as
+ * they are no longer AUTHORIZED, but does not count them as succeeded.
+ * Captures of that slice that were sent but not recorded are still held by
+ * {@link BulkCapturePaymentsService}; they are reported as failed and
+ * completed by pending payment recovery.
+ */
+@Service
+@Slf4j
+public class BulkCaptureJobService implements BulkCaptureJobUseCase {
+
+    public static final int MAX_PAYMENTS = 200_000;
+
+    private final BulkCapturePaymentsUseCase bulkCapturePaymentsUseCase;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkJobStore jobStore;
+    private final BulkJobWorker worker;
+
+    public BulkCaptureJobService(
+            BulkCapturePaymentsUseCase bulkCapturePaymentsUseCase,
+            TransactionTemplate transactionTemplate,
+            BulkJobStore jobStore,
+            @Value("${BULK_JOB_THREADS:2}") int maxRunningJobs,
+            @Value("${BULK_JOB_LEASE_SECONDS:60}") long leaseSeconds) {
+        this.bulkCapturePaymentsUseCase = bulkCapturePaymentsUseCase;
+        this.transactionTemplate = transactionTemplate;
+        this.jobStore = jobStore;
+        this.worker = new BulkJobWorker(BulkJob.Action.CAPTURE, jobStore, transactionTemplate, maxRunningJobs,
+                Duration.ofSeconds(leaseSeconds), BulkCapturePaymentsService.MAX_PAYMENTS, this::processSlice);
+    }
+
+    @Override
+    public BulkJobStatus submit(List<String> paymentIds) {
+        if (paymentIds.size() > MAX_PAYMENTS) {
+            throw new IllegalArgumentException(
+                    String.format("At most %d payments can be captured in one job", MAX_PAYMENTS));
+        }
+
+        BulkJob job = worker.submit(BulkJobTarget.PAYMENTS, new LinkedHashSet<>(paymentIds));
+
+        log.info("Submitted bulk capture job {} for {} payments: {} authorized payments selected",
+                job.id(), paymentIds.size(), job.total());
+        return BulkJobWorker.toStatus(job, List.of());
+    }
+
+    @Override
+    public Optional<BulkJobStatus> getStatus(String jobId) {
+        return worker.getStatus(jobId);
+    }
+
+    @Override
+    public int runPendingJobs() {
+        return worker.runPendingJobs();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdown();
+    }
+
+    private boolean processSlice(String jobId, List<Payment> targets) {
+        List<String> slice = targets.stream().map(Payment::getId).toList();
+        List<BatchItemResult<PaymentResult>> results = bulkCapturePaymentsUseCase.captureAll(slice);
+
+        int captured = 0;
+        List<BulkItemFailure> failures = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isSuccess()) {
+                captured++;
+            } else {
+                failures.add(new BulkItemFailure(slice.get(i), results.get(i).failure().getMessage()));
+            }
+        }
+
+        int succeeded = captured;
+        String lastPaymentId = slice.get(slice.size() - 1);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> jobStore.recordProgress(
+                jobId, worker.owner(), lastPaymentId, succeeded, failures, worker.lease())));
+    }
+}
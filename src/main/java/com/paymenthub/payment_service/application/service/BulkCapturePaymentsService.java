@@ -0,0 +1,245 @@
+package com.paymenthub.payment_service.application.service;
+
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayOverloadedException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayUnavailableException;
+import com.paymenthub.payment_service.application.exception.PaymentOperationNotStartedException;
+import com.paymenthub.payment_service.application.port.in.usecase.BulkCapturePaymentsUseCase;
+import com.paymenthub.payment_service.application.port.out.AsyncPaymentGateway;
+import com.paymenthub.payment_service.application.port.out.EventBus;
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.enums.GatewayOperation;
+import com.paymenthub.payment_service.domain.events.DomainEvent;
+import com.paymenthub.payment_service.domain.exception.PaymentNotFoundException;
+import com.paymenthub.payment_service.domain.repository.PaymentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Captures many payments at once: one query loads them, gateway captures run
+ * with bounded parallelism, and the outcomes are written with batched
+ * versioned updates, one transaction per chunk. Payments changed
+ * concurrently fall back to the locked single-payment path.
+ *
+ * Like {@link CapturePaymentService}, the captures are recorded on the
+ * payments with one statement before any is sent, so payments held by the
+ * expiry sweeper or another operation are skipped, and captures that are not
+ * finalized are completed by pending payment recovery.
+ */
+@Service
+@Slf4j
+public class BulkCapturePaymentsService implements BulkCapturePaymentsUseCase {
+
+    public static final int MAX_PAYMENTS = 5000;
+    private static final int PERSIST_CHUNK_SIZE = 500;
+
+    private final PaymentRepository paymentRepository;
+    private final AsyncPaymentGateway paymentGateway;
+    private final EventBus eventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final Duration operationLease;
+
+    public BulkCapturePaymentsService(
+            PaymentRepository paymentRepository,
+            AsyncPaymentGateway paymentGateway,
+            EventBus eventBus,
+            TransactionTemplate transactionTemplate,
+            @Value("${BULK_CAPTURE_PARALLELISM:32}") int parallelism,
+            @Value("${BULK_OPERATION_LEASE_SECONDS:600}") long operationLeaseSeconds) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.eventBus = eventBus;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = parallelism;
+        this.operationLease = Duration.ofSeconds(operationLeaseSeconds);
+    }
+
+    @Override
+    public List<BatchItemResult<PaymentResult>> captureAll(List<String> paymentIds) {
+        if (paymentIds.size() > MAX_PAYMENTS) {
+            throw new IllegalArgumentException(
+                    String.format("At most %d payments can be captured at once", MAX_PAYMENTS));
+        }
+
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(paymentIds));
+        Map<String, Payment> payments = paymentRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Payment::getId, Function.identity()));
+
+        Map<String, BatchItemResult<PaymentResult>> outcomes = new ConcurrentHashMap<>();
+        List<Payment> capturable = new ArrayList<>(payments.size());
+        for (String paymentId : distinctIds) {
+            Payment payment = payments.get(paymentId);
+            if (payment == null) {
+                outcomes.put(paymentId, BatchItemResult.failure(new PaymentNotFoundException(paymentId)));
+                continue;
+            }
+            try {
+                payment.validateCaptureOperation();
+                capturable.add(payment);
+            } catch (RuntimeException e) {
+                outcomes.put(paymentId, BatchItemResult.failure(e));
+            }
+        }
+
+        List<Payment> started = start(capturable, outcomes);
+        List<Payment> captured = captureAtGateway(started, outcomes);
+        for (int from = 0; from < captured.size(); from += PERSIST_CHUNK_SIZE) {
+            persist(captured.subList(from, Math.min(from + PERSIST_CHUNK_SIZE, captured.size())), outcomes);
+        }
+
+        log.info("Bulk capture of {} payments finished: {} captured", distinctIds.size(),
+                outcomes.values().stream().filter(BatchItemResult::isSuccess).count());
+
+        return paymentIds.stream().map(outcomes::get).toList();
+    }
+
+    private List<Payment> start(List<Payment> payments, Map<String, BatchItemResult<PaymentResult>> outcomes) {
+        if (payments.isEmpty()) {
+            return payments;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> startedIds = paymentRepository.startGatewayOperations(
+                payments.stream().map(Payment::getId).toList(), GatewayOperation.CAPTURE, now, now.plus(operationLease));
+
+        List<Payment> started = new ArrayList<>(startedIds.size());
+        for (Payment payment : payments) {
+            if (startedIds.contains(payment.getId())) {
+                started.add(payment);
+            } else {
+                outcomes.put(payment.getId(), BatchItemResult.failure(new PaymentOperationNotStartedException(
+                        "Payment " + payment.getId() + " is no longer authorized or is held by another operation")));
+            }
+        }
+        return started;
+    }
+
+    private List<Payment> captureAtGateway(List<Payment> payments,
+            Map<String, BatchItemResult<PaymentResult>> outcomes) {
+        List<Payment> captured = Collections.synchronizedList(new ArrayList<>(payments.size()));
+        List<String> notCaptured = Collections.synchronizedList(new ArrayList<>());
+
+        BoundedParallelCalls.run(payments, parallelism,
+                payment -> paymentGateway.captureAsync(payment.getPaymentGatewayReferenceId()),
+                (payment, error) -> {
+                    if (error == null) {
+                        captured.add(payment);
+                        return;
+                    }
+                    RuntimeException failure = toRuntimeException(error);
+                    // a capture with no answer may have gone through, so it stays held for recovery
+                    if (failure instanceof PaymentGatewayOverloadedException
+                            || !(failure instanceof PaymentGatewayUnavailableException)) {
+                        notCaptured.add(payment.getId());
+                    }
+                    outcomes.put(payment.getId(), BatchItemResult.failure(failure));
+                });
+
+        release(notCaptured);
+        return new ArrayList<>(captured);
+    }
+
+    private void release(List<String> paymentIds) {
+        try {
+            paymentRepository.releaseGatewayOperations(paymentIds);
+        } catch (RuntimeException e) {
+            log.warn("Could not release {} failed captures - recovery retries them once their lease runs out",
+                    paymentIds.size(), e);
+        }
+    }
+
+    private void persist(List<Payment> chunk, Map<String, BatchItemResult<PaymentResult>> outcomes) {
+        List<Payment> transitioned = new ArrayList<>(chunk.size());
+        for (Payment payment : chunk) {
+            try {
+                payment.capture();
+                transitioned.add(payment);
+            } catch (RuntimeException e) {
+                log.error("Payment {} was captured at the gateway but cannot transition locally", payment.getId(), e);
+                outcomes.put(payment.getId(), BatchItemResult.failure(e));
+            }
+        }
+
+        Set<Payment> stale;
+        try {
+            stale = transactionTemplate.execute(status -> {
+                Set<Payment> conflicts = new HashSet<>(paymentRepository.updateAll(transitioned));
+
+                List<DomainEvent> events = new ArrayList<>();
+                for (Payment payment : transitioned) {
+                    if (!conflicts.contains(payment)) {
+                        events.addAll(payment.getDomainEvents());
+                    }
+                }
+                if (!events.isEmpty()) {
+                    eventBus.publish(events);
+                }
+                return conflicts;
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to persist {} payments captured at the gateway - recovery completes them once their"
+                    + " lease runs out", transitioned.size(), e);
+            transitioned.forEach(payment -> outcomes.put(payment.getId(), BatchItemResult.failure(e)));
+            return;
+        }
+
+        for (Payment payment : transitioned) {
+            if (!stale.contains(payment)) {
+                payment.clearDomainEvents();
+                outcomes.put(payment.getId(), BatchItemResult.success(PaymentResult.fromDomain(payment)));
+            }
+        }
+        stale.forEach(payment -> outcomes.put(payment.getId(), captureLocked(payment.getId())));
+    }
+
+    /**
+     * Same finalize phase as {@link CapturePaymentService}, used when the
+     * batched update lost a race with another writer.
+     */
+    private BatchItemResult<PaymentResult> captureLocked(String paymentId) {
+        try {
+            Payment payment = transactionTemplate.execute(status -> {
+                Payment current = paymentRepository.findByIdForUpdate(paymentId)
+                        .orElseThrow(() -> new PaymentNotFoundException(paymentId));
+
+                current.capture();
+
+                paymentRepository.save(current);
+                eventBus.publish(current.getDomainEvents());
+                current.clearDomainEvents();
+                return current;
+            });
+            return BatchItemResult.success(PaymentResult.fromDomain(payment));
+        } catch (RuntimeException e) {
+            log.error("Payment {} was captured at the gateway but changed concurrently", paymentId, e);
+            return BatchItemResult.failure(e);
+        }
+    }
+
+    private static RuntimeException toRuntimeException(Throwable error) {
+        if (error instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new PaymentGatewayException("Payment gateway capture failed", error);
+    }
+}
@@ -0,0 +1,195 @@
+package com.paymenthub.payment_service.application.service;
+
+import com.paymenthub.payment_service.application.dto.result.BulkItemFailure;
+import com.paymenthub.payment_service.application.dto.result.BulkJobStatus;
+import com.paymenthub.payment_service.application.port.in.command.BulkJobTarget;
+import com.paymenthub.payment_service.application.port.out.BulkJob;
+import com.paymenthub.payment_service.application.port.out.BulkJobStore;
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.identity.Ids;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the persistent bulk jobs of one action on this node. Up to
+ * {@code maxRunningJobs} jobs are claimed at a time and walked in payment id
+ * order, {@code chunkSize} payments per chunk, so a job resumed by another
+ * node after a crash continues after the last chunk whose progress was
+ * recorded.
+ *
+ * While a job runs, its lease is renewed every third of the lease duration
+ * independently of chunk progress, so a slow chunk does not let another node
+ * take the job over; only a node that stops renewing, e.g. because it died,
+ * loses it. A job whose lease could not be renewed stops before its next
+ * chunk.
+ */
+@Slf4j
+final class BulkJobWorker {
+
+    private static final int MAX_LISTED_FAILURES = 1000;
+
+    /**
+     * Applies the job's action to one chunk and records its progress through
+     * {@link BulkJobStore#recordProgress}.
+     */
+    interface ChunkProcessor {
+
+        /**
+         * @return false if this node no longer holds the job's lease
+         */
+        boolean process(String jobId, List<Payment> targets);
+    }
+
+    private final BulkJob.Action action;
+    private final BulkJobStore jobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRunningJobs;
+    private final Duration lease;
+    private final int chunkSize;
+    private final ChunkProcessor processor;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
+    private final String owner = UUID.randomUUID().toString();
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    BulkJobWorker(BulkJob.Action action, BulkJobStore jobStore, TransactionTemplate transactionTemplate,
+            int maxRunningJobs, Duration lease, int chunkSize, ChunkProcessor processor) {
+        this.action = action;
+        this.jobStore = jobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.maxRunningJobs = maxRunningJobs;
+        this.lease = lease;
+        this.chunkSize = chunkSize;
+        this.processor = processor;
+        this.executor = Executors.newFixedThreadPool(maxRunningJobs);
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    Duration lease() {
+        return lease;
+    }
+
+    /**
+     * Stores a new job for the AUTHORIZED payments selected by {@code ids} and
+     * starts it if this node has capacity.
+     */
+    BulkJob submit(BulkJobTarget target, Collection<String> ids) {
+        BulkJob job = transactionTemplate.execute(status -> jobStore.create(
+                new BulkJob(Ids.next(), action, target, BulkJobStatus.State.RUNNING,
+                        0, 0, 0, null, LocalDateTime.now(), null),
+                ids));
+
+        runPendingJobs();
+        return job;
+    }
+
+    Optional<BulkJobStatus> getStatus(String jobId) {
+        return jobStore.findById(jobId)
+                .filter(job -> job.action() == action)
+                .map(job -> toStatus(job, jobStore.findFailures(jobId, MAX_LISTED_FAILURES)));
+    }
+
+    int runPendingJobs() {
+        int started = 0;
+        while (reserveSlot()) {
+            Optional<BulkJob> claimed = jobStore.claimNext(action, owner, lease);
+            if (claimed.isEmpty()) {
+                runningJobs.decrementAndGet();
+                break;
+            }
+            BulkJob job = claimed.get();
+            executor.execute(() -> {
+                try {
+                    run(job);
+                } finally {
+                    runningJobs.decrementAndGet();
+                }
+            });
+            started++;
+        }
+        return started;
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+        heartbeats.shutdownNow();
+    }
+
+    static BulkJobStatus toStatus(BulkJob job, List<BulkItemFailure> failures) {
+        return new BulkJobStatus(job.id(), job.state(), job.total(), job.succeeded() + job.failed(),
+                job.succeeded(), failures, job.createdAt(), job.completedAt());
+    }
+
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = runningJobs.get();
+            if (current >= maxRunningJobs) {
+                return false;
+            }
+        } while (!runningJobs.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void run(BulkJob job) {
+        String after = job.lastPaymentId() != null ? job.lastPaymentId() : "";
+        AtomicBoolean leaseLost = new AtomicBoolean();
+        long renewEveryMillis = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(() -> renewLease(job.id(), leaseLost),
+                renewEveryMillis, renewEveryMillis, TimeUnit.MILLISECONDS);
+        try {
+            while (true) {
+                if (leaseLost.get()) {
+                    log.warn("Bulk {} job {} lost its lease - stopping after payment {}", action, job.id(), after);
+                    return;
+                }
+                List<Payment> targets = jobStore.findNextTargets(job.id(), after, chunkSize);
+                if (targets.isEmpty()) {
+                    jobStore.complete(job.id(), owner);
+                    log.info("Bulk {} job {} completed", action, job.id());
+                    return;
+                }
+                if (!processor.process(job.id(), targets)) {
+                    log.warn("Bulk {} job {} was taken over by another node", action, job.id());
+                    return;
+                }
+                after = targets.get(targets.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            log.error("Bulk {} job {} stopped after payment {} - it resumes once its lease expires",
+                    action, job.id(), after, e);
+        } finally {
+            heartbeat.cancel(false);
+        }
+    }
+
+    private void renewLease(String jobId, AtomicBoolean leaseLost) {
+        try {
+            if (!jobStore.renewLease(jobId, owner, lease)) {
+                leaseLost.set(true);
+            }
+        } catch (RuntimeException e) {
+            // a failed renewal is retried on the next beat; the lease only lapses if they keep failing
+            log.warn("Failed to renew the lease of bulk {} job {}", action, jobId, e);
+        }
+    }
+}
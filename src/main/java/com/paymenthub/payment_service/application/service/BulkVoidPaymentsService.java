@@ -0,0 +1,207 @@
+package com.paymenthub.payment_service.application.service;
+
+import com.paymenthub.payment_service.application.dto.result.BulkItemFailure;
+import com.paymenthub.payment_service.application.dto.result.BulkJobStatus;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayOverloadedException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayUnavailableException;
+import com.paymenthub.payment_service.application.port.in.command.BulkVoidPaymentsCommand;
+import com.paymenthub.payment_service.application.port.in.usecase.BulkVoidPaymentsUseCase;
+import com.paymenthub.payment_service.application.port.out.AsyncPaymentGateway;
+import com.paymenthub.payment_service.application.port.out.BulkJob;
+import com.paymenthub.payment_service.application.port.out.BulkJobStore;
+import com.paymenthub.payment_service.application.port.out.EventBus;
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.enums.GatewayOperation;
+import com.paymenthub.payment_service.domain.events.DomainEvent;
+import com.paymenthub.payment_service.domain.repository.PaymentRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Voids payments in chunks of {@link #CHUNK_SIZE} in id order, run and leased
+ * by a {@link BulkJobWorker}. Each chunk's gateway voids run with bounded
+ * concurrency; the VOIDED transitions, their events and the job's progress
+ * are then committed in one transaction, so a job resumed after a crash
+ * continues after the last committed chunk. Voids of the interrupted chunk
+ * may be sent to the gateway again.
+ *
+ * Each chunk's voids are recorded on the payments before they are sent, as
+ * in {@link VoidPaymentService}: payments held by the expiry sweeper or an
+ * in-flight capture are reported as failures, and voids that are not
+ * finalized are completed by pending payment recovery.
+ */
+@Service
+@Slf4j
+public class BulkVoidPaymentsService implements BulkVoidPaymentsUseCase {
+
+    public static final int MAX_IDS = 500_000;
+    private static final int CHUNK_SIZE = 500;
+
+    private final PaymentRepository paymentRepository;
+    private final AsyncPaymentGateway paymentGateway;
+    private final EventBus eventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkJobStore jobStore;
+    private final int parallelism;
+    private final Duration operationLease;
+    private final BulkJobWorker worker;
+
+    public BulkVoidPaymentsService(
+            PaymentRepository paymentRepository,
+            AsyncPaymentGateway paymentGateway,
+            EventBus eventBus,
+            TransactionTemplate transactionTemplate,
+            BulkJobStore jobStore,
+            @Value("${BULK_VOID_PARALLELISM:32}") int parallelism,
+            @Value("${BULK_JOB_THREADS:2}") int maxRunningJobs,
+            @Value("${BULK_JOB_LEASE_SECONDS:60}") long leaseSeconds,
+            @Value("${BULK_OPERATION_LEASE_SECONDS:600}") long operationLeaseSeconds) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.eventBus = eventBus;
+        this.transactionTemplate = transactionTemplate;
+        this.jobStore = jobStore;
+        this.parallelism = parallelism;
+        this.operationLease = Duration.ofSeconds(operationLeaseSeconds);
+        this.worker = new BulkJobWorker(BulkJob.Action.VOID, jobStore, transactionTemplate, maxRunningJobs,
+                Duration.ofSeconds(leaseSeconds), CHUNK_SIZE, this::processChunk);
+    }
+
+    @Override
+    public BulkJobStatus submit(BulkVoidPaymentsCommand command) {
+        if (command.target() == null || command.ids() == null || command.ids().isEmpty()) {
+            throw new IllegalArgumentException("Payment or invoice ids are required");
+        }
+        if (command.ids().size() > MAX_IDS) {
+            throw new IllegalArgumentException(
+                    String.format("At most %d ids can be voided in one job", MAX_IDS));
+        }
+
+        BulkJob job = worker.submit(command.target(), new LinkedHashSet<>(command.ids()));
+
+        log.info("Submitted bulk void job {} for {} {}: {} authorized payments selected",
+                job.id(), command.ids().size(), command.target(), job.total());
+        return BulkJobWorker.toStatus(job, List.of());
+    }
+
+    @Override
+    public Optional<BulkJobStatus> getStatus(String jobId) {
+        return worker.getStatus(jobId);
+    }
+
+    @Override
+    public int runPendingJobs() {
+        return worker.runPendingJobs();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdown();
+    }
+
+    private boolean processChunk(String jobId, List<Payment> targets) {
+        List<BulkItemFailure> failures = Collections.synchronizedList(new ArrayList<>());
+        List<Payment> voidable = new ArrayList<>(targets.size());
+        for (Payment payment : targets) {
+            try {
+                payment.validateVoidOperation();
+                voidable.add(payment);
+            } catch (RuntimeException e) {
+                failures.add(new BulkItemFailure(payment.getId(), e.getMessage()));
+            }
+        }
+
+        List<Payment> started = start(voidable, failures);
+
+        List<Payment> voided = Collections.synchronizedList(new ArrayList<>(started.size()));
+        List<String> notVoided = Collections.synchronizedList(new ArrayList<>());
+        BoundedParallelCalls.run(started, parallelism,
+                payment -> paymentGateway.voidAuthorizationAsync(payment.getPaymentGatewayReferenceId()),
+                (payment, error) -> {
+                    if (error == null) {
+                        voided.add(payment);
+                        return;
+                    }
+                    // a void with no answer may have gone through, so it stays held for recovery
+                    if (error instanceof PaymentGatewayOverloadedException
+                            || !(error instanceof PaymentGatewayUnavailableException)) {
+                        notVoided.add(payment.getId());
+                    }
+                    failures.add(new BulkItemFailure(payment.getId(), error.getMessage()));
+                });
+        release(notVoided);
+        voided.forEach(Payment::voidAuthorization);
+
+        String lastPaymentId = targets.get(targets.size() - 1).getId();
+        Boolean owned = transactionTemplate.execute(status -> {
+            Set<Payment> stale = new HashSet<>(paymentRepository.updateAll(voided));
+
+            List<DomainEvent> events = new ArrayList<>();
+            for (Payment payment : voided) {
+                if (stale.contains(payment)) {
+                    failures.add(new BulkItemFailure(payment.getId(), "Payment was changed concurrently"));
+                } else {
+                    events.addAll(payment.getDomainEvents());
+                }
+            }
+            if (!events.isEmpty()) {
+                eventBus.publish(events);
+            }
+
+            if (!jobStore.recordProgress(jobId, worker.owner(), lastPaymentId, voided.size() - stale.size(),
+                    failures, worker.lease())) {
+                status.setRollbackOnly();
+                return false;
+            }
+            return true;
+        });
+
+        voided.forEach(Payment::clearDomainEvents);
+        return Boolean.TRUE.equals(owned);
+    }
+
+    private List<Payment> start(List<Payment> payments, List<BulkItemFailure> failures) {
+        if (payments.isEmpty()) {
+            return payments;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> startedIds = paymentRepository.startGatewayOperations(
+                payments.stream().map(Payment::getId).toList(), GatewayOperation.VOID, now, now.plus(operationLease));
+
+        List<Payment> started = new ArrayList<>(startedIds.size());
+        for (Payment payment : payments) {
+            if (startedIds.contains(payment.getId())) {
+                started.add(payment);
+            } else {
+                failures.add(new BulkItemFailure(payment.getId(),
+                        "Payment is no longer authorized or is held by another operation"));
+            }
+        }
+        return started;
+    }
+
+    private void release(List<String> paymentIds) {
+        try {
+            paymentRepository.releaseGatewayOperations(paymentIds);
+        } catch (RuntimeException e) {
+            log.warn("Could not release {} failed voids - recovery retries them once their lease runs out",
+                    paymentIds.size(), e);
+        }
+    }
+}
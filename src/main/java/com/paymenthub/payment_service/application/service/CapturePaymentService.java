@@ -1,59 +1,182 @@
 package com.paymenthub.payment_service.application.service;
 
 import com.paymenthub.payment_service.application.exception.PaymentGatewayException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayOverloadedException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayUnavailableException;
+import com.paymenthub.payment_service.application.exception.PaymentOperationNotStartedException;
 import com.paymenthub.payment_service.application.port.in.command.CapturePaymentCommand;
 import com.paymenthub.payment_service.application.port.in.usecase.CapturePaymentUseCase;
 import com.paymenthub.payment_service.application.port.out.EventBus;
 import com.paymenthub.payment_service.application.port.out.PaymentGateway;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Operation;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Phase;
 import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.enums.GatewayOperation;
 import com.paymenthub.payment_service.domain.exception.IllegalPaymentStateException;
 import com.paymenthub.payment_service.domain.exception.PaymentNotFoundException;
 import com.paymenthub.payment_service.domain.repository.PaymentRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class CapturePaymentService implements CapturePaymentUseCase {
 
     private final PaymentRepository paymentRepository;
     private final PaymentGateway paymentGateway;
     private final EventBus eventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration operationLease;
+
+    public CapturePaymentService(
+            PaymentRepository paymentRepository,
+            PaymentGateway paymentGateway,
+            EventBus eventBus,
+            TransactionTemplate transactionTemplate,
+            @Value("${PAYMENT_OPERATION_LEASE_SECONDS:60}") long operationLeaseSeconds) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.eventBus = eventBus;
+        this.transactionTemplate = transactionTemplate;
+        this.operationLease = Duration.ofSeconds(operationLeaseSeconds);
+    }
 
+    /**
+     * The gateway call runs between two short phases and never inside a
+     * transaction: the state is checked and the capture recorded on the
+     * payment up front, and the transition is applied afterwards on a freshly
+     * locked row. A capture interrupted in between is completed by
+     * {@link #resume} once its lease runs out.
+     */
     @Override
-    @Transactional
     public void capture(CapturePaymentCommand request) {
-        log.info("Capturing payment: {}", request.paymentId());
+        log.debug("Capturing payment: {}", request.paymentId());
+
+        try (PaymentTrace trace = PaymentTrace.begin(Operation.CAPTURE, request.paymentId(), null)) {
+            Payment payment = load(request.paymentId(), trace)
+                    .orElseThrow(() -> new PaymentNotFoundException(request.paymentId()));
+            trace.payment(payment);
+
+            try {
+                payment.validateCaptureOperation();
+            } catch (IllegalPaymentStateException e) {
+                log.error("Invalid payment state for capture: {}", payment.getId());
+                trace.failed(e);
+                throw e;
+            }
+
+            start(payment, trace);
+            captureAtGateway(payment, trace);
+            complete(payment, trace);
+
+            log.info("Successfully captured payment: {}", payment.getId());
+            trace.succeeded();
+        }
+    }
+
+    /**
+     * Completes a capture recorded by an earlier call that did not finish,
+     * e.g. because its node stopped during the gateway call. The caller holds
+     * the payment's lease; the capture is re-issued, which the gateway treats
+     * as a no-op if the first one went through.
+     */
+    public void resume(Payment payment) {
+        try (PaymentTrace trace = PaymentTrace.begin(Operation.CAPTURE, payment.getId(), null)) {
+            trace.payment(payment);
 
-        Payment payment = paymentRepository.findById(request.paymentId())
-                .orElseThrow(() -> new PaymentNotFoundException(request.paymentId()));
+            captureAtGateway(payment, trace);
+            complete(payment, trace);
 
+            log.info("Completed interrupted capture of payment: {}", payment.getId());
+            trace.succeeded();
+        }
+    }
+
+    private Optional<Payment> load(String paymentId, PaymentTrace trace) {
         try {
-            
-            paymentGateway.capture(payment.getPaymentGatewayReferenceId());
+            return trace.phase(Phase.CHECK, () -> paymentRepository.findById(paymentId));
+        } catch (RuntimeException e) {
+            throw new PaymentOperationNotStartedException("Could not load payment " + paymentId + " for capture", e);
+        }
+    }
 
-            payment.capture();
+    private void start(Payment payment, PaymentTrace trace) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean started;
+        try {
+            started = trace.phase(Phase.CHECK, () -> paymentRepository.startGatewayOperation(
+                    payment.getId(), GatewayOperation.CAPTURE, now, now.plus(operationLease)));
+        } catch (RuntimeException e) {
+            throw new PaymentOperationNotStartedException("Could not record capture of payment " + payment.getId(), e);
+        }
+        if (!started) {
+            throw new PaymentOperationNotStartedException(
+                    "Payment " + payment.getId() + " is no longer authorized or is held by another operation");
+        }
+    }
 
-            paymentRepository.save(payment);
+    private void captureAtGateway(Payment payment, PaymentTrace trace) {
+        try {
+            trace.phase(Phase.GATEWAY, () -> paymentGateway.capture(payment.getPaymentGatewayReferenceId()));
 
-            if (!payment.getDomainEvents().isEmpty()) {
-                eventBus.publish(payment.getDomainEvents());
-                payment.clearDomainEvents();
-            }
+        } catch (PaymentGatewayOverloadedException e) {
+            log.warn("Capture of payment {} was shed before reaching the gateway", payment.getId());
+            release(payment);
+            trace.failed(e);
+            throw e;
 
-            log.info("Successfully captured payment: {}", payment.getId());
+        } catch (PaymentGatewayUnavailableException e) {
+            // the capture may have gone through, so the payment stays held until recovery re-issues it
+            log.error("Payment gateway capture of payment {} got no answer - Error: {}, Code: {}",
+                    payment.getId(), e.getMessage(), e.getErrorCode());
+            trace.failed(e);
+            throw e;
 
         } catch (PaymentGatewayException e) {
             log.error("Payment gateway capture failed - Error: {}, Code: {}, Gateway Message: {}",
                     e.getMessage(), e.getErrorCode(), e.getGatewayMessage());
+            release(payment);
+            trace.failed(e);
             throw e;
+        }
+    }
+
+    private void complete(Payment payment, PaymentTrace trace) {
+        try {
+            trace.phase(Phase.UPDATE, () -> transactionTemplate.executeWithoutResult(status -> {
+                Payment current = paymentRepository.findByIdForUpdate(payment.getId())
+                        .orElseThrow(() -> new PaymentNotFoundException(payment.getId()));
+
+                current.capture();
+
+                paymentRepository.save(current);
 
-        } catch (IllegalPaymentStateException e) {
-            log.error("Invalid payment state for capture: {}", payment.getId());
+                if (!current.getDomainEvents().isEmpty()) {
+                    trace.phase(Phase.PUBLISH, () -> eventBus.publish(current.getDomainEvents()));
+                    current.clearDomainEvents();
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.error("Payment {} was captured at the gateway but could not be marked captured locally"
+                    + " - recovery retries once its lease runs out", payment.getId(), e);
+            trace.failed(e);
             throw e;
         }
     }
+
+    private void release(Payment payment) {
+        try {
+            paymentRepository.releaseGatewayOperation(payment.getId());
+        } catch (RuntimeException e) {
+            log.warn("Could not release capture of payment {} - recovery retries it once its lease runs out",
+                    payment.getId(), e);
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.paymenthub.payment_service.application.service;
+
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+import com.paymenthub.payment_service.application.port.in.command.CreatePaymentCommand;
+import com.paymenthub.payment_service.application.port.in.usecase.CreateAndAuthorizePaymentBatchUseCase;
+import com.paymenthub.payment_service.domain.entity.Payment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CreateAndAuthorizePaymentBatchService implements CreateAndAuthorizePaymentBatchUseCase {
+
+    private final CreatePendingPaymentService createPaymentService;
+    private final AuthorizePaymentService authorizePaymentService;
+
+    /**
+     * Pending payments of the whole batch are committed together; each
+     * authorization then runs in its own transaction so a gateway failure
+     * only affects its own payment.
+     */
+    @Override
+    public List<BatchItemResult<PaymentResult>> createAndAuthorizeAll(List<CreatePaymentCommand> commands) {
+        List<BatchItemResult<Payment>> pendingPayments = createPaymentService.createAll(commands);
+
+        List<BatchItemResult<PaymentResult>> results = new ArrayList<>(pendingPayments.size());
+        for (BatchItemResult<Payment> pending : pendingPayments) {
+            if (!pending.isSuccess()) {
+                results.add(BatchItemResult.failure(pending.failure()));
+                continue;
+            }
+
+            try {
+                Payment authorizedPayment = authorizePaymentService.authorize(pending.value());
+                results.add(BatchItemResult.success(PaymentResult.fromDomain(authorizedPayment)));
+            } catch (RuntimeException e) {
+                results.add(BatchItemResult.failure(e));
+            }
+        }
+        return results;
+    }
+}
@@ -8,8 +8,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Runs the automatic flow in three phases: the PENDING payment is committed,
+ * the gateway is called with no transaction open, and the outcome is
+ * finalized in a second short transaction. PENDING rows left behind by a
+ * crash between phases are picked up by {@link RecoverPendingPaymentsService}.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -19,7 +24,6 @@ public class CreateAndAuthorizePaymentService implements CreateAndAuthorizePayme
     private final AuthorizePaymentService authorizePaymentService;
 
     @Override
-    @Transactional
     public PaymentResult createAndAuthorize(CreatePaymentCommand command) {
 
         Payment pendingPayment = createPaymentService.create(new CreatePaymentCommand(
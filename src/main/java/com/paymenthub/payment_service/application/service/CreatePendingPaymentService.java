@@ -1,9 +1,14 @@
 package com.paymenthub.payment_service.application.service;
 
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
 import com.paymenthub.payment_service.application.port.in.command.CreatePaymentCommand;
 import com.paymenthub.payment_service.application.port.out.EventBus;
+import com.paymenthub.payment_service.application.port.out.PaymentCacheEvictor;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Operation;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Phase;
 import com.paymenthub.payment_service.domain.entity.Payment;
-import com.paymenthub.payment_service.domain.enums.PaymentStatus;
+import com.paymenthub.payment_service.domain.enums.PaymentAttemptOutcome;
 import com.paymenthub.payment_service.domain.exception.DuplicatePaymentException;
 import com.paymenthub.payment_service.domain.exception.TooManyPaymentAttemptsException;
 import com.paymenthub.payment_service.domain.repository.PaymentRepository;
@@ -17,7 +22,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -28,41 +36,104 @@ public class CreatePendingPaymentService {
 
     private final PaymentRepository paymentRepository;
     private final EventBus eventBus;
+    private final PaymentCacheEvictor paymentCacheEvictor;
 
     @Transactional
     public Payment create(CreatePaymentCommand command) {
-        log.info("Starting pending payment creation for invoice ID: {}", command.invoiceId());
-
-        InvoiceId invoiceId = new InvoiceId(command.invoiceId());
-        validatePaymentAttempts(invoiceId);
-        ensureNoActivePayment(invoiceId);
+        log.debug("Starting pending payment creation for invoice ID: {}", command.invoiceId());
+
+        try (PaymentTrace trace = PaymentTrace.begin(Operation.CREATE, null, command.invoiceId())) {
+            InvoiceId invoiceId = new InvoiceId(command.invoiceId());
+            PaymentMethodId paymentMethodId = new PaymentMethodId(command.paymentMethodId());
+            Money amount = new Money(command.amount(), command.currency());
+
+            Payment payment = Payment.createPendingPayment(invoiceId, paymentMethodId, amount);
+            trace.payment(payment);
+
+            // The active payment and attempt checks run in the same statement as the insert
+            PaymentAttemptOutcome outcome = trace.phase(Phase.INSERT,
+                    () -> paymentRepository.insertAttempt(payment, MAX_PAYMENT_ATTEMPTS));
+            switch (outcome) {
+                case ATTEMPTS_EXHAUSTED -> throw tooManyAttempts();
+                case ACTIVE_PAYMENT_EXISTS -> throw duplicatePayment(invoiceId);
+                case RECORDED -> trace.phase(Phase.PUBLISH, () -> recorded(payment));
+            }
+
+            log.debug("Successfully created pending payment with ID: {}", payment.getId());
+            trace.succeeded();
+            return payment;
+        }
+    }
 
-        PaymentMethodId paymentMethodId = new PaymentMethodId(command.paymentMethodId());
-        Money amount = new Money(command.amount(), command.currency());
+    /**
+     * Creates pending payments for a whole batch of commands with a single
+     * statement that records the attempts and inserts the payments. Results
+     * keep the order of the given commands; invalid, duplicate or
+     * over-attempted invoices only fail their own entry, including when a
+     * concurrent writer claims the invoice first.
+     */
+    @Transactional
+    public List<BatchItemResult<Payment>> createAll(List<CreatePaymentCommand> commands) {
+        log.info("Starting pending payment creation for batch of {} invoices", commands.size());
+
+        List<BatchItemResult<Payment>> results = new ArrayList<>(commands.size());
+        Set<InvoiceId> claimedInvoices = new HashSet<>();
+        List<Integer> candidateIndexes = new ArrayList<>(commands.size());
+        List<Payment> candidates = new ArrayList<>(commands.size());
+        for (CreatePaymentCommand command : commands) {
+            try {
+                Payment payment = Payment.createPendingPayment(
+                        new InvoiceId(command.invoiceId()),
+                        new PaymentMethodId(command.paymentMethodId()),
+                        new Money(command.amount(), command.currency()));
+                if (!claimedInvoices.add(payment.getInvoiceId())) {
+                    throw duplicatePayment(payment.getInvoiceId());
+                }
+                candidateIndexes.add(results.size());
+                candidates.add(payment);
+                results.add(BatchItemResult.success(payment));
+            } catch (IllegalArgumentException | NullPointerException | DuplicatePaymentException e) {
+                results.add(BatchItemResult.failure(e));
+            }
+        }
 
-        Payment payment = Payment.createPendingPayment(invoiceId, paymentMethodId, amount);
-        Payment savedPayment = paymentRepository.save(payment);
+        List<PaymentAttemptOutcome> outcomes = candidates.isEmpty()
+                ? List.of()
+                : paymentRepository.insertAttempts(candidates, MAX_PAYMENT_ATTEMPTS);
+
+        int created = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            Payment payment = candidates.get(i);
+            int index = candidateIndexes.get(i);
+            switch (outcomes.get(i)) {
+                case ATTEMPTS_EXHAUSTED -> results.set(index, BatchItemResult.failure(tooManyAttempts()));
+                case ACTIVE_PAYMENT_EXISTS -> results.set(index,
+                        BatchItemResult.failure(duplicatePayment(payment.getInvoiceId())));
+                case RECORDED -> {
+                    recorded(payment);
+                    created++;
+                }
+            }
+        }
 
-        publishDomainEvents(savedPayment);
+        log.info("Created {} pending payments out of {} requested", created, commands.size());
+        return results;
+    }
 
-        log.info("Successfully created pending payment with ID: {}", savedPayment.getId());
-        return savedPayment;
+    private TooManyPaymentAttemptsException tooManyAttempts() {
+        return new TooManyPaymentAttemptsException(
+                "Invoice has exceeded maximum payment attempts. Please contact support.");
     }
 
-    private void validatePaymentAttempts(InvoiceId invoiceId) {
-        int attempts = paymentRepository.countByInvoiceId(invoiceId);
-        if (attempts >= MAX_PAYMENT_ATTEMPTS) {
-            throw new TooManyPaymentAttemptsException(
-                    "Invoice has exceeded maximum payment attempts. Please contact support.");
-        }
+    private DuplicatePaymentException duplicatePayment(InvoiceId invoiceId) {
+        return new DuplicatePaymentException(
+                String.format("An active payment already exists for invoice ID: %s", invoiceId.getValue()));
     }
 
-    private void ensureNoActivePayment(InvoiceId invoiceId) {
-        List<PaymentStatus> activeStatuses = PaymentStatus.getActiveStatuses();
-        if (paymentRepository.existsByInvoiceIdAndStatusIn(invoiceId, activeStatuses)) {
-            throw new DuplicatePaymentException(
-                    String.format("An active payment already exists for invoice ID: %s", invoiceId.getValue()));
-        }
+    private void recorded(Payment payment) {
+        // A new PENDING payment raises no domain event, so the cached list of its invoice is evicted here
+        paymentCacheEvictor.evictInvoicePayments(payment.getInvoiceId().getValue());
+        publishDomainEvents(payment);
     }
 
     private void publishDomainEvents(Payment payment) {
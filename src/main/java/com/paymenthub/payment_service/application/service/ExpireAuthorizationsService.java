@@ -0,0 +1,130 @@
+package com.paymenthub.payment_service.application.service;
+
+import com.paymenthub.payment_service.application.dto.result.ExpirySweepResult;
+import com.paymenthub.payment_service.application.port.in.usecase.ExpireAuthorizationsUseCase;
+import com.paymenthub.payment_service.application.port.out.AsyncPaymentGateway;
+import com.paymenthub.payment_service.application.port.out.EventBus;
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.events.DomainEvent;
+import com.paymenthub.payment_service.domain.repository.PaymentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Leases expired authorizations chunk by chunk, voids them at the gateway
+ * with bounded concurrency and applies the VOIDED transitions with batched
+ * versioned updates. A payment whose void failed keeps its lease until it
+ * runs out and is retried by a later sweep.
+ */
+@Service
+@Slf4j
+public class ExpireAuthorizationsService implements ExpireAuthorizationsUseCase {
+
+    private final PaymentRepository paymentRepository;
+    private final AsyncPaymentGateway paymentGateway;
+    private final EventBus eventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final Duration lease;
+
+    public ExpireAuthorizationsService(
+            PaymentRepository paymentRepository,
+            AsyncPaymentGateway paymentGateway,
+            EventBus eventBus,
+            TransactionTemplate transactionTemplate,
+            @Value("${AUTHORIZATION_EXPIRY_PARALLELISM:16}") int parallelism,
+            @Value("${AUTHORIZATION_EXPIRY_LEASE_SECONDS:300}") long leaseSeconds) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.eventBus = eventBus;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = parallelism;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Override
+    public ExpirySweepResult sweepExpiredAuthorizations(int chunkSize, int maxChunks) {
+        int voided = 0;
+        int failed = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Payment> leased = paymentRepository.leaseExpiredAuthorizations(now, now.plus(lease), chunkSize);
+            if (leased.isEmpty()) {
+                break;
+            }
+
+            int chunkVoided = voidChunk(leased);
+            voided += chunkVoided;
+            failed += leased.size() - chunkVoided;
+
+            if (leased.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (voided + failed > 0) {
+            log.info("Expired {} authorizations, {} could not be voided", voided, failed);
+        }
+        return new ExpirySweepResult(voided, failed);
+    }
+
+    @Override
+    public long countExpiredAuthorizations() {
+        return paymentRepository.countExpiredAuthorizations(LocalDateTime.now());
+    }
+
+    private int voidChunk(List<Payment> payments) {
+        List<Payment> expired = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            if (payment.isAuthorizationExpired() && payment.getStatus().canBeVoided()) {
+                expired.add(payment);
+            }
+        }
+
+        List<Payment> voided = Collections.synchronizedList(new ArrayList<>(expired.size()));
+        BoundedParallelCalls.run(expired, parallelism,
+                payment -> paymentGateway.voidAuthorizationAsync(payment.getPaymentGatewayReferenceId()),
+                (payment, error) -> {
+                    if (error == null) {
+                        voided.add(payment);
+                    } else {
+                        log.warn("Failed to void expired authorization of payment {}: {}", payment.getId(),
+                                error.getMessage());
+                    }
+                });
+        voided.forEach(Payment::voidAuthorization);
+
+        AtomicInteger applied = new AtomicInteger();
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Payment> stale = new HashSet<>(paymentRepository.updateAll(voided));
+
+            List<DomainEvent> events = new ArrayList<>();
+            for (Payment payment : voided) {
+                if (stale.contains(payment)) {
+                    log.warn("Expired payment {} was changed concurrently while being voided", payment.getId());
+                } else {
+                    events.addAll(payment.getDomainEvents());
+                    applied.incrementAndGet();
+                }
+            }
+            if (!events.isEmpty()) {
+                eventBus.publish(events);
+            }
+        });
+        voided.forEach(Payment::clearDomainEvents);
+        return applied.get();
+    }
+}
@@ -1,7 +1,9 @@
 package com.paymenthub.payment_service.application.service;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.paymenthub.payment_service.application.cache.PaymentCacheNames;
 import com.paymenthub.payment_service.application.dto.result.PaymentResult;
 import com.paymenthub.payment_service.application.port.in.usecase.GetPaymentUseCase;
 import com.paymenthub.payment_service.domain.exception.PaymentNotFoundException;
@@ -16,6 +18,7 @@ public class GetPaymentService implements GetPaymentUseCase {
     private final PaymentRepository paymentRepository;
 
     @Override
+    @Cacheable(cacheNames = PaymentCacheNames.PAYMENTS, key = "#paymentId")
     public PaymentResult getPaymentById(String paymentId) {
         return paymentRepository.findById(paymentId)
                 .map(PaymentResult::fromDomain)
@@ -1,5 +1,6 @@
 package com.paymenthub.payment_service.application.service;
 
+import com.paymenthub.payment_service.application.cache.PaymentCacheNames;
 import com.paymenthub.payment_service.application.dto.result.PaymentResult;
 import com.paymenthub.payment_service.application.port.in.usecase.GetPaymentsByInvoiceUseCase;
 import com.paymenthub.payment_service.domain.repository.PaymentRepository;
@@ -9,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,6 +20,7 @@ public class GetPaymentsByInvoiceService implements GetPaymentsByInvoiceUseCase
     private final PaymentRepository paymentRepository;
 
     @Override
+    @Cacheable(cacheNames = PaymentCacheNames.INVOICE_PAYMENTS, key = "#invoiceId")
     public List<PaymentResult> getPaymentsByInvoice(String invoiceId) {
 
         return paymentRepository.findAllByInvoiceId(new InvoiceId(invoiceId)).stream().map(PaymentResult::fromDomain)
@@ -0,0 +1,111 @@
+package com.paymenthub.payment_service.application.service;
+
+import com.paymenthub.payment_service.application.port.in.usecase.RecoverPendingPaymentsUseCase;
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.enums.GatewayOperation;
+import com.paymenthub.payment_service.domain.repository.PaymentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Re-drives authorization for orphaned PENDING payments. Payments are leased
+ * the same way the authorization expiry sweeper leases its rows, so each one
+ * is re-driven by a single node; a payment that is still unresolved keeps
+ * its lease until it runs out and is retried by a later run. The gateway
+ * call is keyed by the payment id, so re-issuing an authorization whose
+ * result was lost returns the original hold instead of placing a second one.
+ *
+ * Captures and voids still recorded on an AUTHORIZED payment after their
+ * lease ran out are completed the same way: the gateway call is re-issued,
+ * which the gateway treats as a no-op if the first one went through, and the
+ * transition is applied. Until then the expiry sweeper leaves the payment
+ * alone, so it never voids an authorization whose capture went through.
+ */
+@Service
+@Slf4j
+public class RecoverPendingPaymentsService implements RecoverPendingPaymentsUseCase {
+
+    private final PaymentRepository paymentRepository;
+    private final AuthorizePaymentService authorizePaymentService;
+    private final CapturePaymentService capturePaymentService;
+    private final VoidPaymentService voidPaymentService;
+    private final Duration lease;
+
+    public RecoverPendingPaymentsService(
+            PaymentRepository paymentRepository,
+            AuthorizePaymentService authorizePaymentService,
+            CapturePaymentService capturePaymentService,
+            VoidPaymentService voidPaymentService,
+            @Value("${PAYMENT_RECOVERY_LEASE_SECONDS:600}") long leaseSeconds) {
+        this.paymentRepository = paymentRepository;
+        this.authorizePaymentService = authorizePaymentService;
+        this.capturePaymentService = capturePaymentService;
+        this.voidPaymentService = voidPaymentService;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Override
+    public int recoverOrphanedPayments(Duration olderThan, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Payment> orphaned = paymentRepository.leaseOrphanedPayments(
+                now.minus(olderThan), now, now.plus(lease), limit);
+
+        if (orphaned.isEmpty()) {
+            return 0;
+        }
+
+        log.warn("Recovering {} orphaned pending payments", orphaned.size());
+
+        int authorized = 0;
+        for (Payment payment : orphaned) {
+            try {
+                authorizePaymentService.authorize(payment);
+                authorized++;
+            } catch (RuntimeException e) {
+                log.warn("Recovery of pending payment ID: {} ended with: {}", payment.getId(), e.getMessage());
+            }
+        }
+
+        log.info("Recovered {} of {} orphaned pending payments", authorized, orphaned.size());
+        return authorized;
+    }
+
+    @Override
+    public int completeInterruptedOperations(int limit) {
+        return complete(GatewayOperation.CAPTURE, capturePaymentService::resume, limit)
+                + complete(GatewayOperation.VOID, voidPaymentService::resume, limit);
+    }
+
+    private int complete(GatewayOperation operation, Consumer<Payment> resume, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Payment> interrupted = paymentRepository.leaseInterruptedOperations(
+                operation, now, now.plus(lease), limit);
+
+        if (interrupted.isEmpty()) {
+            return 0;
+        }
+
+        log.warn("Completing {} interrupted {} operations", interrupted.size(), operation);
+
+        int completed = 0;
+        for (Payment payment : interrupted) {
+            try {
+                resume.accept(payment);
+                completed++;
+            } catch (RuntimeException e) {
+                log.warn("Completing {} of payment ID: {} ended with: {}", operation, payment.getId(), e.getMessage());
+            }
+        }
+
+        log.info("Completed {} of {} interrupted {} operations", completed, interrupted.size(), operation);
+        return completed;
+    }
+}
@@ -0,0 +1,81 @@
+package com.paymenthub.payment_service.application.service;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.stereotype.Service;
+
+import com.paymenthub.payment_service.application.dto.result.PaymentPage;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+import com.paymenthub.payment_service.application.port.in.command.SearchPaymentsCommand;
+import com.paymenthub.payment_service.application.port.in.usecase.SearchPaymentsUseCase;
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.repository.PaymentRepository;
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCriteria;
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCursor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keyset-paginated payment search. One row past the page is fetched to tell
+ * whether another page exists, so no COUNT query is needed and every page
+ * costs the same regardless of its position.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchPaymentsService implements SearchPaymentsUseCase {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private final PaymentRepository paymentRepository;
+
+    @Override
+    public PaymentPage search(SearchPaymentsCommand command) {
+        int pageSize = pageSize(command.pageSize());
+        PaymentSearchCriteria criteria = normalize(command.criteria());
+
+        List<Payment> payments = paymentRepository.search(criteria, command.after(), pageSize + 1);
+
+        PaymentSearchCursor nextCursor = null;
+        if (payments.size() > pageSize) {
+            payments = payments.subList(0, pageSize);
+            nextCursor = PaymentSearchCursor.of(payments.get(pageSize - 1));
+        }
+
+        return new PaymentPage(
+                payments.stream().map(PaymentResult::fromDomain).toList(),
+                nextCursor);
+    }
+
+    private static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    private static PaymentSearchCriteria normalize(PaymentSearchCriteria criteria) {
+        if (criteria.createdFrom() != null && criteria.createdTo() != null
+                && !criteria.createdFrom().isBefore(criteria.createdTo())) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+        if (criteria.expiresFrom() != null && criteria.expiresTo() != null
+                && !criteria.expiresFrom().isBefore(criteria.expiresTo())) {
+            throw new IllegalArgumentException("expiresFrom must be before expiresTo");
+        }
+        if (criteria.currency() == null) {
+            return criteria;
+        }
+        return new PaymentSearchCriteria(
+                criteria.status(),
+                criteria.currency().toUpperCase(Locale.ROOT),
+                criteria.createdFrom(),
+                criteria.createdTo(),
+                criteria.expiresFrom(),
+                criteria.expiresTo());
+    }
+}
@@ -1,59 +1,184 @@
 package com.paymenthub.payment_service.application.service;
 
 import com.paymenthub.payment_service.application.exception.PaymentGatewayException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayOverloadedException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayUnavailableException;
+import com.paymenthub.payment_service.application.exception.PaymentOperationNotStartedException;
 import com.paymenthub.payment_service.application.port.in.command.VoidPaymentCommand;
 import com.paymenthub.payment_service.application.port.in.usecase.VoidPaymentUseCase;
 import com.paymenthub.payment_service.application.port.out.EventBus;
 import com.paymenthub.payment_service.application.port.out.PaymentGateway;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Operation;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Phase;
 import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.enums.GatewayOperation;
 import com.paymenthub.payment_service.domain.exception.IllegalPaymentStateException;
 import com.paymenthub.payment_service.domain.exception.PaymentNotFoundException;
 import com.paymenthub.payment_service.domain.repository.PaymentRepository;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class VoidPaymentService implements VoidPaymentUseCase {
 
     private final PaymentRepository paymentRepository;
     private final PaymentGateway paymentGateway;
     private final EventBus eventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration operationLease;
+
+    public VoidPaymentService(
+            PaymentRepository paymentRepository,
+            PaymentGateway paymentGateway,
+            EventBus eventBus,
+            TransactionTemplate transactionTemplate,
+            @Value("${PAYMENT_OPERATION_LEASE_SECONDS:60}") long operationLeaseSeconds) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.eventBus = eventBus;
+        this.transactionTemplate = transactionTemplate;
+        this.operationLease = Duration.ofSeconds(operationLeaseSeconds);
+    }
 
+    /**
+     * The gateway call runs between two short phases and never inside a
+     * transaction: the state is checked and the void recorded on the
+     * payment up front, and the transition is applied afterwards on a freshly
+     * locked row. A void interrupted in between is completed by
+     * {@link #resume} once its lease runs out.
+     */
     @Override
-    @Transactional
     public void voidPayment(VoidPaymentCommand command) {
-        log.info("Voiding payment: {}", command.paymentId());
+        log.debug("Voiding payment: {}", command.paymentId());
+
+        try (PaymentTrace trace = PaymentTrace.begin(Operation.VOID, command.paymentId(), null)) {
+            Payment payment = load(command.paymentId(), trace)
+                    .orElseThrow(() -> new PaymentNotFoundException(command.paymentId()));
+            trace.payment(payment);
+
+            try {
+                payment.validateVoidOperation();
+            } catch (IllegalPaymentStateException e) {
+                log.error("Invalid payment state for void: {}", payment.getId());
+                trace.failed(e);
+                throw e;
+            }
+
+            start(payment, trace);
+            voidAtGateway(payment, trace);
+            complete(payment, trace);
+
+            log.info("Successfully voided payment: {}", payment.getId());
+            trace.succeeded();
+        }
+    }
+
+    /**
+     * Completes a void recorded by an earlier call that did not finish,
+     * e.g. because its node stopped during the gateway call. The caller holds
+     * the payment's lease; the void is re-issued, which the gateway treats
+     * as a no-op if the first one went through.
+     */
+    public void resume(Payment payment) {
+        try (PaymentTrace trace = PaymentTrace.begin(Operation.VOID, payment.getId(), null)) {
+            trace.payment(payment);
 
-        Payment payment = paymentRepository.findById(command.paymentId())
-                .orElseThrow(() -> new PaymentNotFoundException(command.paymentId()));
+            voidAtGateway(payment, trace);
+            complete(payment, trace);
 
+            log.info("Completed interrupted void of payment: {}", payment.getId());
+            trace.succeeded();
+        }
+    }
+
+    private Optional<Payment> load(String paymentId, PaymentTrace trace) {
         try {
-            paymentGateway.voidAuthorization(payment.getPaymentGatewayReferenceId());
+            return trace.phase(Phase.CHECK, () -> paymentRepository.findById(paymentId));
+        } catch (RuntimeException e) {
+            throw new PaymentOperationNotStartedException("Could not load payment " + paymentId + " for void", e);
+        }
+    }
 
-            payment.voidAuthorization();
+    private void start(Payment payment, PaymentTrace trace) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean started;
+        try {
+            started = trace.phase(Phase.CHECK, () -> paymentRepository.startGatewayOperation(
+                    payment.getId(), GatewayOperation.VOID, now, now.plus(operationLease)));
+        } catch (RuntimeException e) {
+            throw new PaymentOperationNotStartedException("Could not record void of payment " + payment.getId(), e);
+        }
+        if (!started) {
+            throw new PaymentOperationNotStartedException(
+                    "Payment " + payment.getId() + " is no longer authorized or is held by another operation");
+        }
+    }
 
-            paymentRepository.save(payment);
+    private void voidAtGateway(Payment payment, PaymentTrace trace) {
+        try {
+            trace.phase(Phase.GATEWAY,
+                    () -> paymentGateway.voidAuthorization(payment.getPaymentGatewayReferenceId()));
 
-            if (!payment.getDomainEvents().isEmpty()) {
-                eventBus.publish(payment.getDomainEvents());
-                payment.clearDomainEvents();
-            }
+        } catch (PaymentGatewayOverloadedException e) {
+            log.warn("Void of payment {} was shed before reaching the gateway", payment.getId());
+            release(payment);
+            trace.failed(e);
+            throw e;
 
-            log.info("Successfully voided payment: {}", payment.getId());
+        } catch (PaymentGatewayUnavailableException e) {
+            // the void may have gone through, so the payment stays held until recovery re-issues it
+            log.error("Payment gateway void of payment {} got no answer - Error: {}, Code: {}",
+                    payment.getId(), e.getMessage(), e.getErrorCode());
+            trace.failed(e);
+            throw e;
 
         } catch (PaymentGatewayException e) {
             log.error("Payment gateway void failed - Error: {}, Code: {}, Gateway Message: {}",
                     e.getMessage(), e.getErrorCode(), e.getGatewayMessage());
+            release(payment);
+            trace.failed(e);
             throw e;
+        }
+    }
+
+    private void complete(Payment payment, PaymentTrace trace) {
+        try {
+            trace.phase(Phase.UPDATE, () -> transactionTemplate.executeWithoutResult(status -> {
+                Payment current = paymentRepository.findByIdForUpdate(payment.getId())
+                        .orElseThrow(() -> new PaymentNotFoundException(payment.getId()));
+
+                current.voidAuthorization();
+
+                paymentRepository.save(current);
 
-        } catch (IllegalPaymentStateException e) {
-            log.error("Invalid payment state for void: {}", payment.getId());
+                if (!current.getDomainEvents().isEmpty()) {
+                    trace.phase(Phase.PUBLISH, () -> eventBus.publish(current.getDomainEvents()));
+                    current.clearDomainEvents();
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.error("Payment {} was voided at the gateway but could not be marked voided locally"
+                    + " - recovery retries once its lease runs out", payment.getId(), e);
+            trace.failed(e);
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    private void release(Payment payment) {
+        try {
+            paymentRepository.releaseGatewayOperation(payment.getId());
+        } catch (RuntimeException e) {
+            log.warn("Could not release void of payment {} - recovery retries it once its lease runs out",
+                    payment.getId(), e);
+        }
+    }
+}
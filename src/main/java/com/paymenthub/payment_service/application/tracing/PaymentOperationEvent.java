@@ -0,0 +1,39 @@
+package com.paymenthub.payment_service.application.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event spanning one whole create, authorize, capture or
+ * void. Emitted through {@link PaymentTrace}.
+ */
+@Name(PaymentOperationEvent.NAME)
+@Label("Payment Operation")
+@Category("Payment Service")
+@Description("A payment create, authorize, capture or void that took longer than the threshold")
+@StackTrace(false)
+@Threshold("200 ms")
+public class PaymentOperationEvent extends Event {
+
+    public static final String NAME = "com.paymenthub.payment.Operation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Payment Id")
+    String paymentId;
+
+    @Label("Invoice Id")
+    String invoiceId;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,43 @@
+package com.paymenthub.payment_service.application.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one phase of a payment operation: the database
+ * check, the insert, the gateway call, the state update or the event
+ * publish. Emitted through {@link PaymentTrace}.
+ */
+@Name(PaymentPhaseEvent.NAME)
+@Label("Payment Phase")
+@Category("Payment Service")
+@Description("A phase of a payment operation that took longer than the threshold")
+@StackTrace(false)
+@Threshold("50 ms")
+public class PaymentPhaseEvent extends Event {
+
+    public static final String NAME = "com.paymenthub.payment.Phase";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Payment Id")
+    String paymentId;
+
+    @Label("Invoice Id")
+    String invoiceId;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,110 @@
+package com.paymenthub.payment_service.application.tracing;
+
+import com.paymenthub.payment_service.domain.entity.Payment;
+
+import java.util.function.Supplier;
+
+/**
+ * Emits JDK Flight Recorder events for one payment operation and its
+ * phases. Open it in a try-with-resources block and call
+ * {@link #succeeded()} as the last statement; closing it without doing so
+ * records the operation as failed.
+ *
+ * Without a recording that enables the events, every call reduces to an
+ * enabled check. With one, each event costs two timestamps, and fields are
+ * only filled in for events slower than the recording's threshold.
+ */
+public final class PaymentTrace implements AutoCloseable {
+
+    public enum Operation { CREATE, AUTHORIZE, CAPTURE, VOID }
+
+    public enum Phase { CHECK, INSERT, GATEWAY, UPDATE, PUBLISH }
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final Operation operation;
+    private final PaymentOperationEvent event = new PaymentOperationEvent();
+    private String paymentId;
+    private String invoiceId;
+    private String error;
+    private boolean succeeded;
+
+    private PaymentTrace(Operation operation, String paymentId, String invoiceId) {
+        this.operation = operation;
+        this.paymentId = paymentId;
+        this.invoiceId = invoiceId;
+    }
+
+    public static PaymentTrace begin(Operation operation, String paymentId, String invoiceId) {
+        PaymentTrace trace = new PaymentTrace(operation, paymentId, invoiceId);
+        trace.event.begin();
+        return trace;
+    }
+
+    /**
+     * Tags this operation and its later phases with the payment's ids.
+     */
+    public void payment(Payment payment) {
+        this.paymentId = payment.getId();
+        this.invoiceId = payment.getInvoiceId().getValue();
+    }
+
+    public <T> T phase(Phase phase, Supplier<T> action) {
+        PaymentPhaseEvent phaseEvent = new PaymentPhaseEvent();
+        phaseEvent.begin();
+        String phaseError = null;
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            phaseError = e.getClass().getSimpleName();
+            failed(e);
+            throw e;
+        } finally {
+            phaseEvent.end();
+            if (phaseEvent.shouldCommit()) {
+                phaseEvent.operation = operation.name();
+                phaseEvent.phase = phase.name();
+                phaseEvent.paymentId = paymentId;
+                phaseEvent.invoiceId = invoiceId;
+                phaseEvent.outcome = phaseError == null ? SUCCESS : FAILURE;
+                phaseEvent.error = phaseError;
+                phaseEvent.commit();
+            }
+        }
+    }
+
+    public void phase(Phase phase, Runnable action) {
+        phase(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records the cause of a failure that did not happen inside a phase.
+     * Only the first cause is kept.
+     */
+    public void failed(RuntimeException cause) {
+        if (error == null) {
+            error = cause.getClass().getSimpleName();
+        }
+    }
+
+    public void succeeded() {
+        succeeded = true;
+    }
+
+    @Override
+    public void close() {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.paymentId = paymentId;
+            event.invoiceId = invoiceId;
+            event.outcome = succeeded ? SUCCESS : FAILURE;
+            event.error = succeeded ? null : error;
+            event.commit();
+        }
+    }
+}
@@ -1,10 +1,8 @@
 package com.paymenthub.payment_service.domain.entity;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import com.paymenthub.payment_service.domain.enums.PaymentStatus;
 import com.paymenthub.payment_service.domain.events.DomainEvent;
@@ -14,6 +12,7 @@ import com.paymenthub.payment_service.domain.events.PaymentCapturedEvent;
 import com.paymenthub.payment_service.domain.events.PaymentFailedEvent;
 import com.paymenthub.payment_service.domain.exception.IllegalPaymentStateException;
 import com.paymenthub.payment_service.domain.exception.PaymentExpiredException;
+import com.paymenthub.payment_service.domain.identity.Ids;
 import com.paymenthub.payment_service.domain.valueobject.InvoiceId;
 import com.paymenthub.payment_service.domain.valueobject.PaymentMethodId;
 import com.paymenthub.payment_service.domain.valueobject.Money;
@@ -32,6 +31,7 @@ public class Payment {
     private LocalDateTime authorizedAt;
     private LocalDateTime capturedAt;
     private LocalDateTime expiresAt;
+    private Long version;
 
     private List<DomainEvent> domainEvents = new ArrayList<>();
 
@@ -42,11 +42,11 @@ public class Payment {
 
     public static Payment createPendingPayment(InvoiceId invoiceId, PaymentMethodId paymentMethodId, Money amount) {
         Payment payment = new Payment();
-        payment.id = UUID.randomUUID().toString();
+        payment.id = Ids.next();
         payment.invoiceId = invoiceId;
         payment.requestedAmount = amount;
-        payment.authorizedAmount = new Money(BigDecimal.ZERO, amount.getCurrencyCode());
-        payment.capturedAmount = new Money(BigDecimal.ZERO, amount.getCurrencyCode());
+        payment.authorizedAmount = Money.zero(amount.getCurrency());
+        payment.capturedAmount = Money.zero(amount.getCurrency());
         payment.paymentMethodId = paymentMethodId;
         payment.status = PaymentStatus.PENDING;
         payment.createdAt = LocalDateTime.now();
@@ -70,8 +70,17 @@ public class Payment {
                 this.invoiceId.getValue()));
     }
 
+    /**
+     * Records a capture the gateway has accepted. Expiry is checked by
+     * {@link #validateCaptureOperation()} before the capture is sent, so an
+     * authorization that expires during the call is still recorded as
+     * captured.
+     */
     public void capture() {
-        validateCaptureOperation();
+        if (!status.canBeCaptured()) {
+            throw new IllegalPaymentStateException(
+                    String.format("Cannot capture payment in status: %s", status));
+        }
 
         this.capturedAmount = this.authorizedAmount;
         this.capturedAt = LocalDateTime.now();
@@ -85,10 +94,7 @@ public class Payment {
     }
 
     public void voidAuthorization() {
-        if (!status.canBeVoided()) {
-            throw new IllegalPaymentStateException(
-                    String.format("Cannot void payment in status: %s", status));
-        }
+        validateVoidOperation();
 
         this.status = PaymentStatus.VOIDED;
         addDomainEvent(new PaymentVoidedEvent(this.id, this.invoiceId.getValue()));
@@ -107,6 +113,17 @@ public class Payment {
                 reason));
     }
 
+    public boolean isNew() {
+        return version == null;
+    }
+
+    /**
+     * Called by the repository once the payment's current state is stored.
+     */
+    public void markPersisted(long version) {
+        this.version = version;
+    }
+
     public boolean isAuthorizationExpired() {
         return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
     }
@@ -124,7 +141,7 @@ public class Payment {
         this.domainEvents.add(event);
     }
 
-    private void validateCaptureOperation() {
+    public void validateCaptureOperation() {
         if (!status.canBeCaptured()) {
             throw new IllegalPaymentStateException(
                     String.format("Cannot capture payment in status: %s", status));
@@ -136,6 +153,13 @@ public class Payment {
 
     }
 
+    public void validateVoidOperation() {
+        if (!status.canBeVoided()) {
+            throw new IllegalPaymentStateException(
+                    String.format("Cannot void payment in status: %s", status));
+        }
+    }
+
     // Getters
     public String getId() {
         return id;
@@ -185,6 +209,10 @@ public class Payment {
         return expiresAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public static class Builder {
         private String id;
         private InvoiceId invoiceId;
@@ -198,6 +226,7 @@ public class Payment {
         private LocalDateTime authorizedAt;
         private LocalDateTime capturedAt;
         private LocalDateTime expiresAt;
+        private Long version;
 
         public Builder id(String id) {
             this.id = id;
@@ -259,6 +288,11 @@ public class Payment {
             return this;
         }
 
+        public Builder version(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public Payment build() {
             Payment payment = new Payment();
             payment.id = this.id;
@@ -267,13 +301,14 @@ public class Payment {
             payment.requestedAmount = this.requestedAmount;
             payment.authorizedAmount = this.authorizedAmount;
             payment.capturedAmount = this.capturedAmount != null ? this.capturedAmount
-                    : new Money(BigDecimal.ZERO, this.authorizedAmount.getCurrencyCode());
+                    : Money.zero(this.authorizedAmount.getCurrency());
             payment.status = this.status;
             payment.paymentGatewayReferenceId = this.paymentGatewayReferenceId;
             payment.createdAt = this.createdAt;
             payment.authorizedAt = this.authorizedAt;
             payment.capturedAt = this.capturedAt;
             payment.expiresAt = this.expiresAt;
+            payment.version = this.version;
             payment.domainEvents = new ArrayList<>();
             return payment;
         }
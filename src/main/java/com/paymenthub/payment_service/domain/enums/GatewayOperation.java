@@ -0,0 +1,11 @@
+package com.paymenthub.payment_service.domain.enums;
+
+/**
+ * A gateway call on an authorized payment that is recorded on the payment
+ * before it is sent, so a call interrupted by a crash can be completed by
+ * recovery.
+ */
+public enum GatewayOperation {
+    CAPTURE,
+    VOID
+}
@@ -0,0 +1,17 @@
+package com.paymenthub.payment_service.domain.enums;
+
+public enum PaymentAttemptOutcome {
+    RECORDED("Payment attempt was recorded"),
+    ATTEMPTS_EXHAUSTED("Invoice has no payment attempts left"),
+    ACTIVE_PAYMENT_EXISTS("Invoice already has an active payment");
+
+    private final String description;
+
+    PaymentAttemptOutcome(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
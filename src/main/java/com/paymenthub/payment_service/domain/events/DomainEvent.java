@@ -1,7 +1,8 @@
 package com.paymenthub.payment_service.domain.events;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+import com.paymenthub.payment_service.domain.identity.Ids;
+
 import lombok.Getter;
 
 @Getter
@@ -10,7 +11,7 @@ public abstract class DomainEvent {
     private final LocalDateTime occurredOn;
 
     protected DomainEvent() {
-        this.eventId = UUID.randomUUID().toString();
+        this.eventId = Ids.next();
         this.occurredOn = LocalDateTime.now();
     }
 
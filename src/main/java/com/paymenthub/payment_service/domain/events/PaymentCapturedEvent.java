@@ -6,12 +6,10 @@ import lombok.Getter;
 @Getter
 @EventType("payment.captured")
 public class PaymentCapturedEvent extends PaymentEvent {
-    private final String invoiceId;
     private final LocalDateTime capturedAt;
 
     public PaymentCapturedEvent(String paymentId, String invoiceId, LocalDateTime capturedAt) {
-        super(paymentId);
-        this.invoiceId = invoiceId;
+        super(paymentId, invoiceId);
         this.capturedAt = capturedAt;
     }
 }
@@ -5,9 +5,11 @@ import lombok.Getter;
 @Getter
 public abstract class PaymentEvent extends DomainEvent {
     private final String paymentId;
+    private final String invoiceId;
 
-    public PaymentEvent(String paymentId) {
+    public PaymentEvent(String paymentId, String invoiceId) {
         this.paymentId = paymentId;
+        this.invoiceId = invoiceId;
     }
 
 }
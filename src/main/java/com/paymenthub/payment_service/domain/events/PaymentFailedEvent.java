@@ -5,11 +5,9 @@ import lombok.Getter;
 @EventType("payment.failed")
 public class PaymentFailedEvent extends PaymentEvent {
     private final String reason;
-    private final String invoiceId;
 
     public PaymentFailedEvent(String paymentId, String invoiceId, String reason) {
-        super(paymentId);
+        super(paymentId, invoiceId);
         this.reason = reason;
-        this.invoiceId = invoiceId;
     }
 }
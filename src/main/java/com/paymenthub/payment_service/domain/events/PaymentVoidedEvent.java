@@ -6,10 +6,7 @@ import lombok.Getter;
 @EventType("payment.voided")
 public class PaymentVoidedEvent extends PaymentEvent {
 
-    private final String invoiceId;
-
     public PaymentVoidedEvent(String paymentId, String invoiceId) {
-        super(paymentId);
-        this.invoiceId = invoiceId;
+        super(paymentId, invoiceId);
     }
 }
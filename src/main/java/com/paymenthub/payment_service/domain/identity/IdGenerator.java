@@ -0,0 +1,10 @@
+package com.paymenthub.payment_service.domain.identity;
+
+/**
+ * Source of identifiers for payments, domain events and jobs.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    String nextId();
+}
@@ -0,0 +1,22 @@
+package com.paymenthub.payment_service.domain.identity;
+
+/**
+ * Process-wide {@link IdGenerator} used where the domain mints identifiers
+ * itself, such as new payments and domain events. Defaults to UUIDv7;
+ * infrastructure may swap it at startup.
+ */
+public final class Ids {
+
+    private static volatile IdGenerator generator = new UuidV7Generator();
+
+    private Ids() {
+    }
+
+    public static String next() {
+        return generator.nextId();
+    }
+
+    public static void use(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+}
@@ -0,0 +1,14 @@
+package com.paymenthub.payment_service.domain.identity;
+
+import java.util.UUID;
+
+/**
+ * Random version 4 UUIDs from the JDK's shared SecureRandom.
+ */
+public final class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.paymenthub.payment_service.domain.identity;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered version 7 UUIDs (RFC 9562): a 48-bit millisecond timestamp,
+ * a 12-bit counter that keeps ids strictly increasing within and across
+ * threads, and 62 random bits from ThreadLocalRandom.
+ *
+ * Consecutive ids land next to each other in B-tree indexes, and their
+ * string form sorts in creation order. The random bits are not
+ * cryptographically strong, so ids must not be used as secrets.
+ */
+public final class UuidV7Generator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+
+    /** Millisecond timestamp shifted left by COUNTER_BITS, plus the counter. */
+    private final AtomicLong lastStamp = new AtomicLong();
+
+    @Override
+    public String nextId() {
+        return nextUuid().toString();
+    }
+
+    public UUID nextUuid() {
+        long stamp = nextStamp();
+        long msb = (stamp >>> COUNTER_BITS) << 16 | VERSION | (stamp & 0xFFFL);
+        long lsb = ThreadLocalRandom.current().nextLong() >>> 2 | VARIANT;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Current time, or one past the last stamp when the clock has not moved
+     * on or went backwards. Running out of counter within a millisecond
+     * borrows from the next one.
+     */
+    private long nextStamp() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        while (true) {
+            long last = lastStamp.get();
+            long next = now > last ? now : last + 1;
+            if (lastStamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
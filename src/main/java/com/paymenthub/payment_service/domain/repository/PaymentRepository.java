@@ -1,16 +1,111 @@
 package com.paymenthub.payment_service.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.enums.GatewayOperation;
+import com.paymenthub.payment_service.domain.enums.PaymentAttemptOutcome;
 import com.paymenthub.payment_service.domain.enums.PaymentStatus;
 import com.paymenthub.payment_service.domain.valueobject.InvoiceId;
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCriteria;
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCursor;
 
 public interface PaymentRepository {
     Payment save(Payment payment);
 
+    /**
+     * Records a payment attempt for the invoice and inserts the new payment in
+     * one atomic statement. Nothing is inserted unless the outcome is
+     * {@link PaymentAttemptOutcome#RECORDED}, and only then does the attempt
+     * count against {@code maxAttempts}.
+     */
+    PaymentAttemptOutcome insertAttempt(Payment payment, int maxAttempts);
+
+    /**
+     * Batch form of {@link #insertAttempt} for payments of distinct invoices,
+     * issued as one statement. Returns one outcome per payment in the given
+     * order; an invoice that is exhausted or already has an active payment
+     * only fails its own entry.
+     */
+    List<PaymentAttemptOutcome> insertAttempts(List<Payment> payments, int maxAttempts);
+
+    /**
+     * Writes the state of existing payments with batched versioned UPDATEs.
+     * Payments that were changed concurrently are left untouched.
+     *
+     * @return the payments whose update did not apply
+     */
+    List<Payment> updateAll(List<Payment> payments);
+
     Optional<Payment> findById(String id);
 
+    List<Payment> findAllById(Collection<String> ids);
+
+    /**
+     * Loads the payment and locks its row until the current transaction ends.
+     */
+    Optional<Payment> findByIdForUpdate(String id);
+
+    /**
+     * Leases up to {@code limit} PENDING payments created before
+     * {@code createdBefore} that are not leased already, oldest first. Like
+     * {@link #leaseExpiredAuthorizations}, rows locked by a concurrent caller
+     * are skipped so several nodes never lease the same payment.
+     */
+    List<Payment> leaseOrphanedPayments(LocalDateTime createdBefore, LocalDateTime now, LocalDateTime leaseUntil,
+            int limit);
+
+    /**
+     * Leases up to {@code limit} AUTHORIZED payments that expired before
+     * {@code now} and are not leased already, oldest expiry first. Rows
+     * locked by a concurrent caller are skipped, so several nodes can lease
+     * in parallel without overlap.
+     */
+    List<Payment> leaseExpiredAuthorizations(LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    long countExpiredAuthorizations(LocalDateTime now);
+
+    /**
+     * Records that {@code operation} is about to be sent to the gateway for
+     * an AUTHORIZED payment and leases the payment until {@code leaseUntil}.
+     * While the lease is held, neither the expiry sweeper nor another
+     * operation takes the payment; the next state transition written by
+     * {@link #save} or {@link #updateAll} clears the record.
+     *
+     * @return false if the payment is no longer AUTHORIZED, is leased, or
+     *         already has an operation in flight
+     */
+    boolean startGatewayOperation(String id, GatewayOperation operation, LocalDateTime now,
+            LocalDateTime leaseUntil);
+
+    /**
+     * Batch form of {@link #startGatewayOperation}, issued as one statement.
+     *
+     * @return the ids of the payments the operation was started for
+     */
+    Set<String> startGatewayOperations(Collection<String> ids, GatewayOperation operation, LocalDateTime now,
+            LocalDateTime leaseUntil);
+
+    /**
+     * Clears the operation recorded by {@link #startGatewayOperation} and its
+     * lease, for a call the gateway definitely did not carry out.
+     */
+    void releaseGatewayOperation(String id);
+
+    void releaseGatewayOperations(Collection<String> ids);
+
+    /**
+     * Leases up to {@code limit} payments whose recorded {@code operation}
+     * was not completed before its lease ran out, oldest lease first. Rows
+     * locked by a concurrent caller are skipped, as in
+     * {@link #leaseExpiredAuthorizations}.
+     */
+    List<Payment> leaseInterruptedOperations(GatewayOperation operation, LocalDateTime now,
+            LocalDateTime leaseUntil, int limit);
+
     boolean existsByInvoiceId(InvoiceId invoiceId);
 
     Optional<Payment> findByInvoiceId(InvoiceId invoiceId);
@@ -21,4 +116,10 @@ public interface PaymentRepository {
 
     boolean existsByInvoiceIdAndStatusIn(InvoiceId invoiceId, List<PaymentStatus> statuses);
 
+    /**
+     * Returns up to {@code limit} matching payments, newest first by
+     * (createdAt, id), starting strictly after {@code after} when it is set.
+     */
+    List<Payment> search(PaymentSearchCriteria criteria, PaymentSearchCursor after, int limit);
+
 }
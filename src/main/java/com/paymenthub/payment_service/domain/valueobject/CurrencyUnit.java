@@ -0,0 +1,60 @@
+package com.paymenthub.payment_service.domain.valueobject;
+
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ISO 4217 currency with its minor-unit exponent (2 for USD, 0 for JPY,
+ * 3 for KWD). One instance per currency, built once from the JDK's
+ * currency table so lookups never allocate.
+ */
+public final class CurrencyUnit {
+
+    /** Exponent used for ISO pseudo-currencies (XAU, XXX, ...) that define none. */
+    private static final int DEFAULT_EXPONENT = 2;
+
+    private static final Map<String, CurrencyUnit> UNITS = loadUnits();
+
+    private final String code;
+    private final int exponent;
+
+    private CurrencyUnit(String code, int exponent) {
+        this.code = code;
+        this.exponent = exponent;
+    }
+
+    public static CurrencyUnit of(String currencyCode) {
+        CurrencyUnit unit = currencyCode != null ? UNITS.get(currencyCode) : null;
+        if (unit == null) {
+            throw new IllegalArgumentException("Unknown currency: " + currencyCode);
+        }
+        return unit;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Number of decimal places of the minor unit.
+     */
+    public int getExponent() {
+        return exponent;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+
+    private static Map<String, CurrencyUnit> loadUnits() {
+        Map<String, CurrencyUnit> units = new HashMap<>();
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int digits = currency.getDefaultFractionDigits();
+            units.put(currency.getCurrencyCode(),
+                    new CurrencyUnit(currency.getCurrencyCode(), digits >= 0 ? digits : DEFAULT_EXPONENT));
+        }
+        return Map.copyOf(units);
+    }
+}
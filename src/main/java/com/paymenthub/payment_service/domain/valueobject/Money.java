@@ -2,44 +2,99 @@ package com.paymenthub.payment_service.domain.valueobject;
 
 import lombok.Value;
 import java.math.BigDecimal;
-import java.util.Currency;
 import java.math.RoundingMode;
 
+/**
+ * Non-negative amount held as a count of the currency's minor units
+ * (cents, yen, fils). Arithmetic is exact and fails on long overflow;
+ * {@link #getAmount()} converts back to a decimal at the currency's scale.
+ * Amounts that cannot be held exactly are rejected with
+ * {@link IllegalArgumentException}.
+ */
 @Value
 public class Money {
-    BigDecimal amount;
-    Currency currency;
+    private static final int MAX_DIGITS = 19;
+
+    long minorUnits;
+    CurrencyUnit currency;
 
     public Money(BigDecimal amount, String currencyCode) {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) < 0) {
+        this(amount, CurrencyUnit.of(currencyCode));
+    }
+
+    public Money(BigDecimal amount, CurrencyUnit currency) {
+        if (amount == null || amount.signum() < 0) {
+            throw new IllegalArgumentException("Amount cannot be null or negative");
+        }
+        this.minorUnits = toMinorUnits(amount, currency.getExponent());
+        this.currency = currency;
+    }
+
+    private Money(long minorUnits, CurrencyUnit currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money ofMinor(long minorUnits, CurrencyUnit currency) {
+        if (minorUnits < 0) {
             throw new IllegalArgumentException("Amount cannot be null or negative");
         }
-        this.amount = amount.setScale(2, RoundingMode.HALF_UP);
-        this.currency = Currency.getInstance(currencyCode);
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money zero(CurrencyUnit currency) {
+        return new Money(0L, currency);
     }
 
     public Money add(Money other) {
-        if (!this.currency.equals(other.currency)) {
+        if (this.currency != other.currency) {
             throw new IllegalArgumentException("Cannot add different currencies");
         }
-        return new Money(this.amount.add(other.amount), this.currency.getCurrencyCode());
+        return new Money(Math.addExact(this.minorUnits, other.minorUnits), currency);
     }
 
     public Money subtract(Money other) {
-        if (!this.currency.equals(other.currency)) {
+        if (this.currency != other.currency) {
             throw new IllegalArgumentException("Cannot subtract different currencies");
         }
-        return new Money(this.amount.subtract(other.amount), this.currency.getCurrencyCode());
+        return ofMinor(Math.subtractExact(this.minorUnits, other.minorUnits), currency);
     }
 
     public boolean isGreaterThan(Money other) {
-        if (!this.currency.equals(other.currency)) {
+        if (this.currency != other.currency) {
             throw new IllegalArgumentException("Cannot compare different currencies");
         }
-        return this.amount.compareTo(other.amount) > 0;
+        return this.minorUnits > other.minorUnits;
+    }
+
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(minorUnits, currency.getExponent());
     }
 
     public String getCurrencyCode() {
-        return currency.getCurrencyCode();
+        return currency.getCode();
+    }
+
+    /**
+     * Amounts are never rounded: a fraction finer than the currency's minor
+     * unit, or a value beyond a long count of minor units, is rejected.
+     */
+    private static long toMinorUnits(BigDecimal amount, int exponent) {
+        // Integer digits beyond what a long holds; checked first so huge exponents are never expanded
+        if (amount.signum() != 0 && amount.precision() - amount.scale() + exponent > MAX_DIGITS) {
+            throw new IllegalArgumentException("Amount " + amount + " is too large");
+        }
+        BigDecimal scaled;
+        try {
+            scaled = amount.setScale(exponent, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount
+                    + " has more than " + exponent + " decimal places");
+        }
+        try {
+            return scaled.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " is too large");
+        }
     }
 }
@@ -0,0 +1,18 @@
+package com.paymenthub.payment_service.domain.valueobject;
+
+import java.time.LocalDateTime;
+
+import com.paymenthub.payment_service.domain.enums.PaymentStatus;
+
+/**
+ * Filters for a payment search. Null fields are not applied, lower bounds are
+ * inclusive and upper bounds exclusive.
+ */
+public record PaymentSearchCriteria(
+        PaymentStatus status,
+        String currency,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo,
+        LocalDateTime expiresFrom,
+        LocalDateTime expiresTo) {
+}
@@ -0,0 +1,18 @@
+package com.paymenthub.payment_service.domain.valueobject;
+
+import java.time.LocalDateTime;
+
+import com.paymenthub.payment_service.domain.entity.Payment;
+
+/**
+ * Position of the last payment returned by a search, in (createdAt, id)
+ * order. The next page starts strictly after it.
+ */
+public record PaymentSearchCursor(
+        LocalDateTime createdAt,
+        String paymentId) {
+
+    public static PaymentSearchCursor of(Payment payment) {
+        return new PaymentSearchCursor(payment.getCreatedAt(), payment.getId());
+    }
+}
@@ -0,0 +1,61 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.consumer;
+
+import com.rabbitmq.client.Channel;
+import org.springframework.amqp.core.Message;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Settles a batch of manually acknowledged deliveries on one channel. Single
+ * messages can be rejected or requeued first; the rest is then settled with
+ * one multiple ack or nack up to the highest tag still outstanding.
+ *
+ * A multiple ack must never name a tag that was already settled, since the
+ * broker answers with PRECONDITION_FAILED ("unknown delivery tag") and
+ * closes the channel, which redelivers the whole batch.
+ */
+public final class BatchSettlement {
+
+    private final Channel channel;
+    private final TreeSet<Long> outstanding = new TreeSet<>();
+
+    public BatchSettlement(Channel channel, List<Message> messages) {
+        this.channel = channel;
+        messages.forEach(message -> outstanding.add(deliveryTag(message)));
+    }
+
+    /**
+     * Dead-letters or drops the message without requeueing it.
+     */
+    public void reject(Message message) throws IOException {
+        if (outstanding.remove(deliveryTag(message))) {
+            channel.basicReject(deliveryTag(message), false);
+        }
+    }
+
+    public void requeue(Message message) throws IOException {
+        if (outstanding.remove(deliveryTag(message))) {
+            channel.basicNack(deliveryTag(message), false, true);
+        }
+    }
+
+    public void ackRemaining() throws IOException {
+        if (!outstanding.isEmpty()) {
+            channel.basicAck(outstanding.last(), true);
+            outstanding.clear();
+        }
+    }
+
+    public void requeueRemaining() throws IOException {
+        if (!outstanding.isEmpty()) {
+            channel.basicNack(outstanding.last(), true, true);
+            outstanding.clear();
+        }
+    }
+
+    private static long deliveryTag(Message message) {
+        return message.getMessageProperties().getDeliveryTag();
+    }
+}
@@ -0,0 +1,47 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.consumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.amqp.core.Message;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers shared by the invoice consumers, tagged by routing key. Unknown
+ * routing keys share one tag value so a misrouted publisher cannot create
+ * unbounded series.
+ *
+ * payments.invoice.processing: time spent handling one invoice event.
+ * payments.invoice.lag: time from the publisher's timestamp property to
+ * delivery, recorded only for messages that carry one.
+ */
+final class InvoiceConsumerMetrics {
+
+    private InvoiceConsumerMetrics() {
+    }
+
+    static Timer processing(MeterRegistry meterRegistry, String routingKey) {
+        return Timer.builder("payments.invoice.processing")
+                .tag("routing_key", routingKeyTag(routingKey))
+                .register(meterRegistry);
+    }
+
+    static void recordLag(MeterRegistry meterRegistry, Message message) {
+        Date publishedAt = message.getMessageProperties().getTimestamp();
+        if (publishedAt == null) {
+            return;
+        }
+        Timer.builder("payments.invoice.lag")
+                .tag("routing_key", routingKeyTag(message.getMessageProperties().getReceivedRoutingKey()))
+                .register(meterRegistry)
+                .record(Math.max(0, System.currentTimeMillis() - publishedAt.getTime()), TimeUnit.MILLISECONDS);
+    }
+
+    private static String routingKeyTag(String routingKey) {
+        return "invoice.created".equals(routingKey) || "invoice.retried".equals(routingKey)
+                ? routingKey
+                : "unknown";
+    }
+}
@@ -0,0 +1,190 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.consumer;
+
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayUnavailableException;
+import com.paymenthub.payment_service.application.port.in.command.CreatePaymentCommand;
+import com.paymenthub.payment_service.application.port.in.usecase.CreateAndAuthorizePaymentBatchUseCase;
+import com.paymenthub.payment_service.domain.exception.DuplicatePaymentException;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceCreatedEvent;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceEventCodec;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceRetriedEvent;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.inbox.InvoiceInbox;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning.InvoiceListenerTuner;
+import com.rabbitmq.client.Channel;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch counterpart of {@link RabbitInvoiceEventConsumer}, enabled with
+ * INVOICE_CONSUMER_BATCH_ENABLED=true.
+ *
+ * Messages that cannot be parsed are rejected individually without requeue,
+ * messages that failed with an unexpected error are requeued individually,
+ * and everything else is settled with a single multi-ack through
+ * {@link BatchSettlement}. Events the
+ * {@link InvoiceInbox} has already seen processed are acknowledged without
+ * being passed on.
+ *
+ * The batch's handling time is recorded in payments.invoice.processing as an
+ * equal share per message, so latency stays comparable with the
+ * single-message consumer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "INVOICE_CONSUMER_BATCH_ENABLED", havingValue = "true")
+public class RabbitInvoiceBatchEventConsumer {
+
+    private static final String INVOICE_CREATED = "invoice.created";
+    private static final String INVOICE_RETRIED = "invoice.retried";
+
+    private final CreateAndAuthorizePaymentBatchUseCase createAndAuthorizePaymentBatchUseCase;
+    private final InvoiceEventCodec invoiceEventCodec;
+    private final InvoiceInbox invoiceInbox;
+    private final MeterRegistry meterRegistry;
+
+    @RabbitListener(id = InvoiceListenerTuner.LISTENER_ID, queues = "invoice_events",
+            containerFactory = "invoiceBatchListenerContainerFactory")
+    public void handleBatch(List<Message> messages, Channel channel) throws IOException {
+        long startedAt = System.nanoTime();
+        messages.forEach(message -> InvoiceConsumerMetrics.recordLag(meterRegistry, message));
+        try {
+            settleBatch(messages, channel);
+        } finally {
+            long share = (System.nanoTime() - startedAt) / messages.size();
+            for (Message message : messages) {
+                InvoiceConsumerMetrics.processing(meterRegistry, message.getMessageProperties().getReceivedRoutingKey())
+                        .record(share, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void settleBatch(List<Message> messages, Channel channel) throws IOException {
+        BatchSettlement settlement = new BatchSettlement(channel, messages);
+        List<Message> accepted = new ArrayList<>(messages.size());
+        List<String> eventIds = new ArrayList<>(messages.size());
+        List<CreatePaymentCommand> commands = new ArrayList<>(messages.size());
+
+        for (Message message : messages) {
+            String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+            try {
+                InvoiceEvent event = read(message, routingKey);
+                if (event == null) {
+                    log.warn("Received unknown routing key: {}", routingKey);
+                    continue;
+                }
+                if (invoiceInbox.isDuplicate(event.eventId(), InvoiceInbox.isRedelivered(message))) {
+                    log.info("Dropping already processed event: eventId={}, invoiceId={}",
+                            event.eventId(), event.command().invoiceId());
+                    continue;
+                }
+                accepted.add(message);
+                eventIds.add(event.eventId());
+                commands.add(event.command());
+            } catch (IOException e) {
+                log.error("Rejecting unreadable message for routing key: {}", routingKey, e);
+                settlement.reject(message);
+            }
+        }
+
+        if (commands.isEmpty()) {
+            settlement.ackRemaining();
+            return;
+        }
+
+        List<BatchItemResult<PaymentResult>> results;
+        try {
+            results = createAndAuthorizePaymentBatchUseCase.createAndAuthorizeAll(commands);
+        } catch (Exception e) {
+            log.error("Failed to process batch of {} invoice events - requeueing", commands.size(), e);
+            settlement.requeueRemaining();
+            return;
+        }
+
+        int succeeded = 0;
+        List<String> settled = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BatchItemResult<PaymentResult> result = results.get(i);
+            if (result.isSuccess()) {
+                succeeded++;
+            } else if (!isSettled(commands.get(i), result.failure())) {
+                settlement.requeue(accepted.get(i));
+                continue;
+            }
+            if (eventIds.get(i) != null) {
+                settled.add(eventIds.get(i));
+            }
+        }
+
+        settlement.ackRemaining();
+        invoiceInbox.markProcessed(settled);
+        log.info("Processed batch of {} invoice events: {} payments created", messages.size(), succeeded);
+    }
+
+    private InvoiceEvent read(Message message, String routingKey) throws IOException {
+        if (INVOICE_CREATED.equals(routingKey)) {
+            InvoiceCreatedEvent event = invoiceEventCodec.readCreated(message);
+            return new InvoiceEvent(event.eventId(), new CreatePaymentCommand(
+                    event.invoiceId(),
+                    event.customerId(),
+                    event.amount(),
+                    event.currency(),
+                    event.paymentMethodId()));
+        }
+        if (INVOICE_RETRIED.equals(routingKey)) {
+            InvoiceRetriedEvent event = invoiceEventCodec.readRetried(message);
+            return new InvoiceEvent(event.eventId(), new CreatePaymentCommand(
+                    event.invoiceId(),
+                    event.customerId(),
+                    event.amount(),
+                    event.currency(),
+                    event.paymentMethodId()));
+        }
+        return null;
+    }
+
+    /**
+     * Mirrors the single-message consumer: business rejections are logged and
+     * acknowledged, anything else is requeued.
+     */
+    private boolean isSettled(CreatePaymentCommand command, RuntimeException failure) {
+        if (failure instanceof DuplicatePaymentException) {
+            log.warn("Duplicate payment detected for invoice: {} - skipping processing", command.invoiceId());
+            return true;
+        }
+        if (failure instanceof IllegalArgumentException || failure instanceof NullPointerException) {
+            log.error("Invalid data in event for invoice: {}", command.invoiceId(), failure);
+            return true;
+        }
+        if (failure instanceof PaymentGatewayUnavailableException unavailable) {
+            log.warn("Payment gateway unavailable for invoice: {} - payment left PENDING for recovery ({})",
+                    command.invoiceId(), unavailable.getErrorCode());
+            return true;
+        }
+        if (failure instanceof PaymentGatewayException) {
+            log.error("Payment gateway error while processing event for invoice: {}", command.invoiceId(), failure);
+            return true;
+        }
+        log.error("Unexpected failure while processing event for invoice: {} - requeueing",
+                command.invoiceId(), failure);
+        return false;
+    }
+
+    private record InvoiceEvent(String eventId, CreatePaymentCommand command) {
+    }
+}
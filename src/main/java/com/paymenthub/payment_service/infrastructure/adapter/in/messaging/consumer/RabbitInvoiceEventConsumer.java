@@ -1,36 +1,55 @@
 package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
 import com.paymenthub.payment_service.application.exception.PaymentGatewayException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayUnavailableException;
 import com.paymenthub.payment_service.application.port.in.command.CreatePaymentCommand;
 import com.paymenthub.payment_service.application.port.in.usecase.CreateAndAuthorizePaymentUseCase;
 import com.paymenthub.payment_service.domain.exception.DuplicatePaymentException;
 import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceCreatedEvent;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceEventCodec;
 import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceRetriedEvent;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.inbox.InvoiceInbox;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning.InvoiceListenerTuner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "INVOICE_CONSUMER_BATCH_ENABLED", havingValue = "false", matchIfMissing = true)
 public class RabbitInvoiceEventConsumer {
 
     private static final String INVOICE_CREATED = "invoice.created";
     private static final String INVOICE_RETRIED = "invoice.retried";
 
     private final CreateAndAuthorizePaymentUseCase createAndAuthorizePaymentUseCase;
-    private final ObjectMapper objectMapper;
-
-    @RabbitListener(queues = "invoice_events")
+    private final InvoiceEventCodec invoiceEventCodec;
+    private final InvoiceInbox invoiceInbox;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Consumes the shared invoice queue directly unless sharding is enabled,
+     * in which case the shard listeners call this method instead.
+     */
+    @RabbitListener(id = InvoiceListenerTuner.LISTENER_ID, queues = "invoice_events",
+            autoStartup = "#{!${INVOICE_SHARDING_ENABLED:false}}")
     public void handleMessage(Message message, @Header("amqp_receivedRoutingKey") String routingKey) {
+        InvoiceConsumerMetrics.recordLag(meterRegistry, message);
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             switch (routingKey) {
                 case INVOICE_CREATED -> handleInvoiceCreated(message);
@@ -40,12 +59,17 @@ public class RabbitInvoiceEventConsumer {
         } catch (Exception e) {
             log.error("Failed to handle message for routing key: {}", routingKey, e);
             throw new RuntimeException("Message handling failed for routing key: " + routingKey, e);
+        } finally {
+            sample.stop(InvoiceConsumerMetrics.processing(meterRegistry, routingKey));
         }
     }
 
     private void handleInvoiceCreated(Message message) throws Exception {
-        InvoiceCreatedEvent event = objectMapper.readValue(message.getBody(), InvoiceCreatedEvent.class);
-        log.info("Received InvoiceCreatedEvent: invoiceId={}, amount={} {}, paymentMethodId={}",
+        InvoiceCreatedEvent event = invoiceEventCodec.readCreated(message);
+        if (isDuplicate(message, event.eventId(), event.invoiceId())) {
+            return;
+        }
+        log.debug("Received InvoiceCreatedEvent: invoiceId={}, amount={} {}, paymentMethodId={}",
                 event.invoiceId(), event.amount(), event.currency(), event.paymentMethodId());
 
         processCreateAndAuthorize(
@@ -55,11 +79,15 @@ public class RabbitInvoiceEventConsumer {
                 event.currency(),
                 event.paymentMethodId(),
                 INVOICE_CREATED);
+        invoiceInbox.markProcessed(event.eventId());
     }
 
     private void handleInvoiceRetried(Message message) throws Exception {
-        InvoiceRetriedEvent event = objectMapper.readValue(message.getBody(), InvoiceRetriedEvent.class);
-        log.info("Received InvoiceRetriedEvent: invoiceId={}, amount={} {}, paymentMethodId={}",
+        InvoiceRetriedEvent event = invoiceEventCodec.readRetried(message);
+        if (isDuplicate(message, event.eventId(), event.invoiceId())) {
+            return;
+        }
+        log.debug("Received InvoiceRetriedEvent: invoiceId={}, amount={} {}, paymentMethodId={}",
                 event.invoiceId(), event.amount(), event.currency(), event.paymentMethodId());
 
         processCreateAndAuthorize(
@@ -69,6 +97,15 @@ public class RabbitInvoiceEventConsumer {
                 event.currency(),
                 event.paymentMethodId(),
                 INVOICE_RETRIED);
+        invoiceInbox.markProcessed(event.eventId());
+    }
+
+    private boolean isDuplicate(Message message, String eventId, String invoiceId) {
+        if (!invoiceInbox.isDuplicate(eventId, InvoiceInbox.isRedelivered(message))) {
+            return false;
+        }
+        log.info("Dropping already processed event: eventId={}, invoiceId={}", eventId, invoiceId);
+        return true;
     }
 
     private void processCreateAndAuthorize(
@@ -78,20 +115,26 @@ public class RabbitInvoiceEventConsumer {
             String currency,
             String paymentMethodId,
             String eventType) {
+        long startedAt = System.nanoTime();
         try {
 
-            createAndAuthorizePaymentUseCase.createAndAuthorize(new CreatePaymentCommand(
+            PaymentResult result = createAndAuthorizePaymentUseCase.createAndAuthorize(new CreatePaymentCommand(
                     invoiceId,
                     customerId,
                     amount,
                     currency,
                     paymentMethodId));
-            log.info("Successfully processed {} payment for invoice: {}", eventType, invoiceId);
+            log.info("Payment lifecycle completed: eventType={}, invoiceId={}, paymentId={}, status={}, durationMs={}",
+                    eventType, invoiceId, result.paymentId(), result.status(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
 
         } catch (DuplicatePaymentException e) {
             log.warn("Duplicate payment detected for invoice: {} - skipping processing", invoiceId);
         } catch (IllegalArgumentException e) {
             log.error("Invalid data in {} event for invoice: {}", eventType, invoiceId, e);
+        } catch (PaymentGatewayUnavailableException e) {
+            log.warn("Payment gateway unavailable while processing {} event for invoice: {} - payment left PENDING "
+                    + "for recovery ({})", eventType, invoiceId, e.getErrorCode());
         } catch (PaymentGatewayException e) {
             log.error("Payment gateway error while processing {} event for invoice: {}", eventType, invoiceId, e);
 
@@ -0,0 +1,53 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Decodes invoice events with readers bound once at startup. The encoding
+ * follows the message's content type: {@code application/x-jackson-smile}
+ * selects the binary Smile readers, anything else is read as JSON.
+ *
+ * Readers share the application ObjectMapper's configuration, plus a
+ * faster ISO-8601 parser for {@link LocalDateTime} fields.
+ */
+@Component
+public class InvoiceEventCodec {
+
+    private static final String CONTENT_TYPE_SMILE = "application/x-jackson-smile";
+
+    private final ObjectReader createdJson;
+    private final ObjectReader retriedJson;
+    private final ObjectReader createdSmile;
+    private final ObjectReader retriedSmile;
+
+    public InvoiceEventCodec(ObjectMapper objectMapper) {
+        ObjectMapper jsonMapper = objectMapper.copy().registerModule(new SimpleModule()
+                .addDeserializer(LocalDateTime.class, new IsoLocalDateTimeDeserializer()));
+        ObjectMapper smileMapper = jsonMapper.copyWith(new SmileFactory());
+        this.createdJson = jsonMapper.readerFor(InvoiceCreatedEvent.class);
+        this.retriedJson = jsonMapper.readerFor(InvoiceRetriedEvent.class);
+        this.createdSmile = smileMapper.readerFor(InvoiceCreatedEvent.class);
+        this.retriedSmile = smileMapper.readerFor(InvoiceRetriedEvent.class);
+    }
+
+    public InvoiceCreatedEvent readCreated(Message message) throws IOException {
+        return (isSmile(message) ? createdSmile : createdJson).readValue(message.getBody());
+    }
+
+    public InvoiceRetriedEvent readRetried(Message message) throws IOException {
+        return (isSmile(message) ? retriedSmile : retriedJson).readValue(message.getBody());
+    }
+
+    private static boolean isSmile(Message message) {
+        return CONTENT_TYPE_SMILE.equals(message.getMessageProperties().getContentType());
+    }
+}
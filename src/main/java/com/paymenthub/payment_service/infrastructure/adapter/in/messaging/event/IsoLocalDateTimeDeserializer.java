@@ -0,0 +1,93 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Reads {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]} strings straight from the
+ * parser's character buffer. DateTimeFormatter-based parsing accounted for
+ * most of the time and garbage of decoding an invoice event. Anything else
+ * (offsets, arrays, numbers) goes to the standard JSR-310 deserializer.
+ */
+class IsoLocalDateTimeDeserializer extends StdDeserializer<LocalDateTime> {
+
+    private final LocalDateTimeDeserializer fallback = LocalDateTimeDeserializer.INSTANCE;
+
+    IsoLocalDateTimeDeserializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            LocalDateTime parsed = parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        return fallback.deserialize(parser, context);
+    }
+
+    /**
+     * Returns null when the text does not have the plain ISO layout.
+     */
+    private static LocalDateTime parse(char[] text, int offset, int length) {
+        if (length < 16 || text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+                || text[offset + 13] != ':') {
+            return null;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = 0;
+        int nanos = 0;
+
+        int position = 16;
+        if (position < length) {
+            if (text[offset + position] != ':' || length < 19) {
+                return null;
+            }
+            second = digits(text, offset + 17, 2);
+            position = 19;
+        }
+        if (position < length) {
+            int fractionDigits = length - position - 1;
+            if (text[offset + position] != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                return null;
+            }
+            nanos = digits(text, offset + position + 1, fractionDigits);
+            for (int i = fractionDigits; i < 9 && nanos >= 0; i++) {
+                nanos *= 10;
+            }
+        }
+
+        if ((year | month | day | hour | minute | second | nanos) < 0) {
+            return null;
+        }
+        // out-of-range fields still fail in LocalDateTime.of
+        return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+    }
+
+    /**
+     * Value of {@code count} ASCII digits, or -1 if any is not a digit.
+     */
+    private static int digits(char[] text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
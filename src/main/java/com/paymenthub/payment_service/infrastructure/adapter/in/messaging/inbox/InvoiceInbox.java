@@ -0,0 +1,163 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.inbox;
+
+import com.paymenthub.payment_service.application.port.out.InboxStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drops invoice events that were already processed, before any domain work.
+ *
+ * Processed event ids are kept in the inbox_messages table and in a
+ * {@link RotatingBloomFilter} of the ids recently seen by this node. The
+ * filter only knows what this node processed, so by default every event is
+ * checked against the table. When the filter is authoritative, i.e. every
+ * event of an invoice reaches this node, a first delivery the filter has
+ * not seen is treated as new and skips the database. This is the default
+ * when INVOICE_SHARDING_ENABLED pins invoices to nodes and can be set with
+ * INVOICE_INBOX_FILTER_AUTHORITATIVE. Redeliveries are never trusted to the
+ * filter, because the original delivery may have been processed by the
+ * node that owned the shard before. Ids are recorded once their event has
+ * been settled, so a failed event can still be retried.
+ *
+ * Disabled with INVOICE_INBOX_ENABLED=false.
+ *
+ * Metrics: payments.inbox.messages tagged by result (new, duplicate), whose
+ * ratio is the duplicate rate; payments.inbox.filter tagged by result
+ * (negative, positive, false_positive) and
+ * payments.inbox.filter.false_positive_rate, the share of new ids the
+ * filter reported as possibly seen.
+ */
+@Slf4j
+@Component
+public class InvoiceInbox {
+
+    /** Set on messages forwarded from a redelivery, which the broker reports as new deliveries. */
+    public static final String REDELIVERED_HEADER = "x-redelivered";
+
+    private final InboxStore inboxStore;
+    private final boolean enabled;
+    private final boolean filterAuthoritative;
+    private final int capacity;
+    private final RotatingBloomFilter filter;
+
+    private final Counter newCounter;
+    private final Counter duplicateCounter;
+    private final AtomicLong filterNegatives = new AtomicLong();
+    private final AtomicLong filterPositives = new AtomicLong();
+    private final AtomicLong filterFalsePositives = new AtomicLong();
+
+    public InvoiceInbox(
+            InboxStore inboxStore,
+            MeterRegistry meterRegistry,
+            @Value("${INVOICE_INBOX_ENABLED:true}") boolean enabled,
+            @Value("${INVOICE_INBOX_FILTER_AUTHORITATIVE:${INVOICE_SHARDING_ENABLED:false}}")
+            boolean filterAuthoritative,
+            @Value("${INVOICE_INBOX_FILTER_CAPACITY:200000}") int capacity,
+            @Value("${INVOICE_INBOX_FILTER_FALSE_POSITIVE_RATE:0.01}") double falsePositiveRate) {
+        this.inboxStore = inboxStore;
+        this.enabled = enabled;
+        this.filterAuthoritative = filterAuthoritative;
+        this.capacity = capacity;
+        this.filter = new RotatingBloomFilter(capacity, falsePositiveRate);
+
+        this.newCounter = Counter.builder("payments.inbox.messages")
+                .tag("result", "new")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("payments.inbox.messages")
+                .tag("result", "duplicate")
+                .register(meterRegistry);
+        filterCounter(meterRegistry, "negative", filterNegatives);
+        filterCounter(meterRegistry, "positive", filterPositives);
+        filterCounter(meterRegistry, "false_positive", filterFalsePositives);
+        Gauge.builder("payments.inbox.filter.false_positive_rate", this, InvoiceInbox::falsePositiveRate)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Seeds the filter with the most recently processed ids, so events
+     * republished shortly before a restart are still caught without a
+     * database lookup.
+     */
+    @PostConstruct
+    void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<String> recent = inboxStore.findRecent(capacity);
+            recent.forEach(filter::put);
+            log.info("Seeded invoice inbox filter with {} processed event ids", recent.size());
+        } catch (Exception e) {
+            log.warn("Could not seed invoice inbox filter; starting empty", e);
+        }
+    }
+
+    public static boolean isRedelivered(Message message) {
+        return Boolean.TRUE.equals(message.getMessageProperties().getRedelivered())
+                || Boolean.TRUE.equals(message.getMessageProperties().getHeader(REDELIVERED_HEADER));
+    }
+
+    public boolean isDuplicate(String eventId, boolean redelivered) {
+        if (!enabled || eventId == null) {
+            return false;
+        }
+
+        boolean duplicate;
+        if (redelivered || !filterAuthoritative) {
+            duplicate = inboxStore.contains(eventId);
+        } else if (!filter.mightContain(eventId)) {
+            filterNegatives.incrementAndGet();
+            duplicate = false;
+        } else {
+            duplicate = inboxStore.contains(eventId);
+            (duplicate ? filterPositives : filterFalsePositives).incrementAndGet();
+        }
+
+        (duplicate ? duplicateCounter : newCounter).increment();
+        return duplicate;
+    }
+
+    public void markProcessed(String eventId) {
+        if (enabled && eventId != null) {
+            markProcessed(List.of(eventId));
+        }
+    }
+
+    public void markProcessed(Collection<String> eventIds) {
+        if (!enabled || eventIds.isEmpty()) {
+            return;
+        }
+        try {
+            inboxStore.record(eventIds);
+            eventIds.forEach(filter::put);
+        } catch (Exception e) {
+            // the events are settled either way; a redelivery falls back to the domain checks
+            log.warn("Failed to record {} processed invoice events in the inbox", eventIds.size(), e);
+        }
+    }
+
+    private double falsePositiveRate() {
+        long falsePositives = filterFalsePositives.get();
+        long newIds = falsePositives + filterNegatives.get();
+        return newIds == 0 ? 0 : (double) falsePositives / newIds;
+    }
+
+    private static void filterCounter(MeterRegistry meterRegistry, String result, AtomicLong count) {
+        FunctionCounter.builder("payments.inbox.filter", count, AtomicLong::get)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
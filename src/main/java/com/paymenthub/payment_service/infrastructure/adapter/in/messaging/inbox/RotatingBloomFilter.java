@@ -0,0 +1,108 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.inbox;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over the most recent keys, built from two generations of
+ * {@code capacity} keys each. Keys go into the current generation; once it
+ * is full it becomes the previous one and the old previous generation is
+ * dropped, so memory stays fixed while the filter always remembers at least
+ * the last {@code capacity} keys.
+ *
+ * Lookups and inserts are lock-free; only rotation synchronizes.
+ */
+public class RotatingBloomFilter {
+
+    private final int capacity;
+    private final int bits;
+    private final int hashes;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public RotatingBloomFilter(int capacity, double falsePositiveRate) {
+        if (capacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Capacity must be positive and the false positive rate in (0, 1)");
+        }
+        this.capacity = capacity;
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63,
+                Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        this.current = new Generation(bits);
+        this.previous = new Generation(bits);
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        return current.contains(hash, bits, hashes) || previous.contains(hash, bits, hashes);
+    }
+
+    public void put(String key) {
+        long hash = hash(key);
+        Generation generation = current;
+        generation.add(hash, bits, hashes);
+        if (generation.size.incrementAndGet() >= capacity) {
+            rotate(generation);
+        }
+    }
+
+    private synchronized void rotate(Generation full) {
+        if (current == full) {
+            previous = full;
+            current = new Generation(bits);
+        }
+    }
+
+    /**
+     * FNV-1a followed by the SplitMix64 finalizer; the two halves seed the
+     * double hashing in {@link Generation}.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Generation(int bits) {
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        private void add(long hash, int bits, int hashes) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                int index = bit >>> 6;
+                long word;
+                while (((word = words.get(index)) & mask) == 0
+                        && !words.compareAndSet(index, word, word | mask)) {
+                    // retry until the bit is set
+                }
+            }
+        }
+
+        private boolean contains(long hash, int bits, int hashes) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
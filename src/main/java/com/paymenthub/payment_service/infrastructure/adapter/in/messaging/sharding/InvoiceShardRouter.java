@@ -0,0 +1,154 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.sharding;
+
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.consumer.BatchSettlement;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceEventCodec;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.inbox.InvoiceInbox;
+import com.rabbitmq.client.Channel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards invoice events from the shared invoice queue to their shard
+ * queue, enabled with INVOICE_SHARDING_ENABLED=true.
+ *
+ * The router is an exclusive consumer, so exactly one node routes at a time
+ * and events keep their publish order; the other nodes retry the
+ * subscription and take over when that node goes away. A batch is forwarded
+ * on one channel and acknowledged only after the broker has confirmed every
+ * forwarded message; otherwise the whole batch is requeued and forwarded
+ * again, which the duplicate checks downstream absorb. Unreadable messages
+ * are rejected on their own and left out of that settlement.
+ *
+ * Metrics: payments.invoice.shard.routed tagged by shard.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "INVOICE_SHARDING_ENABLED", havingValue = "true")
+public class InvoiceShardRouter {
+
+    public static final String LISTENER_ID = "invoiceShardRouter";
+
+    private static final String INVOICE_CREATED = "invoice.created";
+    private static final String INVOICE_RETRIED = "invoice.retried";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final InvoiceEventCodec invoiceEventCodec;
+    private final InvoiceShards shards;
+    private final String shardExchange;
+    private final long confirmTimeoutMs;
+    private final Counter[] routedCounters;
+
+    public InvoiceShardRouter(
+            RabbitTemplate rabbitTemplate,
+            InvoiceEventCodec invoiceEventCodec,
+            InvoiceShards shards,
+            MeterRegistry meterRegistry,
+            @Value("${INVOICE_SHARD_EXCHANGE:invoice_events.shards}") String shardExchange,
+            @Value("${INVOICE_SHARD_ROUTER_CONFIRM_TIMEOUT_MS:10000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.invoiceEventCodec = invoiceEventCodec;
+        this.shards = shards;
+        this.shardExchange = shardExchange;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.routedCounters = new Counter[shards.count()];
+        for (int shard = 0; shard < shards.count(); shard++) {
+            routedCounters[shard] = Counter.builder("payments.invoice.shard.routed")
+                    .tag("shard", Integer.toString(shard))
+                    .register(meterRegistry);
+        }
+    }
+
+    @RabbitListener(id = LISTENER_ID, queues = "invoice_events", exclusive = true, concurrency = "1",
+            containerFactory = "invoiceShardRouterContainerFactory")
+    public void route(List<Message> messages, Channel channel) throws IOException {
+        BatchSettlement settlement = new BatchSettlement(channel, messages);
+        List<Message> forwarded = new ArrayList<>(messages.size());
+        List<Integer> targets = new ArrayList<>(messages.size());
+
+        for (Message message : messages) {
+            String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+            try {
+                String invoiceId = invoiceId(message, routingKey);
+                if (invoiceId == null) {
+                    log.warn("Received unknown routing key: {}", routingKey);
+                    continue;
+                }
+                forwarded.add(MessageBuilder.fromMessage(message)
+                        .setHeader(InvoiceShards.ORIGINAL_ROUTING_KEY_HEADER, routingKey)
+                        .setHeader(InvoiceInbox.REDELIVERED_HEADER, InvoiceInbox.isRedelivered(message))
+                        .build());
+                targets.add(shards.shardOf(invoiceId));
+            } catch (IOException e) {
+                log.error("Rejecting unreadable message for routing key: {}", routingKey, e);
+                settlement.reject(message);
+            }
+        }
+
+        if (forwarded.isEmpty() || forwardAll(forwarded, targets)) {
+            settlement.ackRemaining();
+        } else {
+            settlement.requeueRemaining();
+        }
+    }
+
+    private boolean forwardAll(List<Message> forwarded, List<Integer> targets) {
+        List<CorrelationData> correlations = new ArrayList<>(forwarded.size());
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (int i = 0; i < forwarded.size(); i++) {
+                    CorrelationData correlation = new CorrelationData();
+                    correlations.add(correlation);
+                    operations.send(shardExchange, shards.routingKey(targets.get(i)), forwarded.get(i), correlation);
+                }
+                return null;
+            });
+            CompletableFuture.allOf(correlations.stream()
+                    .map(CorrelationData::getFuture)
+                    .toArray(CompletableFuture[]::new))
+                    .get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.error("Failed to forward {} invoice events to their shards - requeueing", forwarded.size(), e);
+            return false;
+        }
+
+        for (int i = 0; i < correlations.size(); i++) {
+            CorrelationData correlation = correlations.get(i);
+            if (correlation.getReturned() != null || !correlation.getFuture().join().isAck()) {
+                log.error("Shard {} did not accept a forwarded invoice event - requeueing batch", targets.get(i));
+                return false;
+            }
+        }
+        targets.forEach(shard -> routedCounters[shard].increment());
+        return true;
+    }
+
+    private String invoiceId(Message message, String routingKey) throws IOException {
+        if (INVOICE_CREATED.equals(routingKey)) {
+            return invoiceEventCodec.readCreated(message).invoiceId();
+        }
+        if (INVOICE_RETRIED.equals(routingKey)) {
+            return invoiceEventCodec.readRetried(message).invoiceId();
+        }
+        return null;
+    }
+}
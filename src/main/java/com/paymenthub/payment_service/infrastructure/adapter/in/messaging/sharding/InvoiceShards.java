@@ -0,0 +1,63 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.sharding;
+
+/**
+ * Maps invoice ids onto a fixed number of shard queues with jump consistent
+ * hashing (Lamport and Veach), so every event of an invoice lands on the same
+ * shard and growing from N to N + 1 shards moves only 1 / (N + 1) of the
+ * invoices.
+ */
+public final class InvoiceShards {
+
+    /** Routing key the event was originally published with. */
+    public static final String ORIGINAL_ROUTING_KEY_HEADER = "x-invoice-routing-key";
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int count;
+    private final String queuePrefix;
+
+    public InvoiceShards(int count, String queuePrefix) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.count = count;
+        this.queuePrefix = queuePrefix;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int shardOf(String invoiceId) {
+        return jump(fnv1a(invoiceId), count);
+    }
+
+    public String queueName(int shard) {
+        return queuePrefix + ".shard-" + shard;
+    }
+
+    public String routingKey(int shard) {
+        return Integer.toString(shard);
+    }
+
+    static int jump(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
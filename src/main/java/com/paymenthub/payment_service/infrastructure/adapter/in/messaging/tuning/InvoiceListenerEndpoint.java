@@ -0,0 +1,41 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint at /actuator/invoicelistener showing the adaptive
+ * listener's current settings and bounds, the last sampled signals and its recent
+ * decisions, oldest first.
+ *
+ * Absent when INVOICE_SHARDING_ENABLED=true, as the listener is not tuned
+ * then; shard consumers are fixed at one per owned shard queue.
+ */
+@Component
+@Endpoint(id = "invoicelistener")
+@ConditionalOnExpression("${INVOICE_LISTENER_ADAPTIVE_ENABLED:false} and !${INVOICE_SHARDING_ENABLED:false}")
+@RequiredArgsConstructor
+public class InvoiceListenerEndpoint {
+
+    private final InvoiceListenerTuner tuner;
+
+    @ReadOperation
+    public Status status() {
+        return new Status(tuner.current(), tuner.policy().lowerBound(), tuner.policy().upperBound(),
+                tuner.lastSignals(), tuner.decisions());
+    }
+
+    public record Status(
+            ListenerSettings settings,
+            ListenerSettings lowerBound,
+            ListenerSettings upperBound,
+            ListenerSignals lastSignals,
+            List<ListenerDecision> decisions) {
+    }
+}
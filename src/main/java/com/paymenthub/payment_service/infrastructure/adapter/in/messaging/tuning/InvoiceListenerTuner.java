@@ -0,0 +1,247 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adjusts the invoice listener's consumer count and prefetch at runtime,
+ * enabled with INVOICE_LISTENER_ADAPTIVE_ENABLED=true. Every
+ * INVOICE_LISTENER_TUNING_INTERVAL_MS it samples the listener's processing
+ * latency, the invoice queue depth, database pool utilization and the payment
+ * gateway error rate, and applies what {@link ListenerScalingPolicy} decides.
+ *
+ * Consumer changes take effect immediately. A new prefetch only applies to
+ * newly started consumers, so the container is restarted for it, and only
+ * when the prefetch changes by at least half and no sooner than
+ * INVOICE_LISTENER_PREFETCH_RESTART_MIN_INTERVAL_MS after the last restart.
+ *
+ * Current settings and recent decisions are served by
+ * {@link InvoiceListenerEndpoint}.
+ *
+ * Not created when INVOICE_SHARDING_ENABLED=true: the tuned container is then
+ * never started and the shard queues run one consumer each by design.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${INVOICE_LISTENER_ADAPTIVE_ENABLED:false} and !${INVOICE_SHARDING_ENABLED:false}")
+public class InvoiceListenerTuner {
+
+    public static final String LISTENER_ID = "invoiceListener";
+
+    private static final int HISTORY_SIZE = 50;
+
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final AmqpAdmin amqpAdmin;
+    private final MeterRegistry meterRegistry;
+    private final ListenerScalingPolicy policy;
+    private final String queueName;
+    private final long prefetchRestartMinIntervalMs;
+    private final Clock clock;
+
+    private final Deque<ListenerDecision> history = new ArrayDeque<>(HISTORY_SIZE);
+    private ListenerSettings settings;
+    private ListenerSignals lastSignals;
+    private Instant lastRestart = Instant.EPOCH;
+
+    private long lastProcessed;
+    private double lastProcessingMs;
+    private long lastGatewayCalls;
+    private long lastGatewayErrors;
+
+    public InvoiceListenerTuner(
+            RabbitListenerEndpointRegistry listenerRegistry,
+            AmqpAdmin amqpAdmin,
+            MeterRegistry meterRegistry,
+            @Value("${INVOICE_QUEUE:invoice_events}") String queueName,
+            @Value("${INVOICE_LISTENER_MIN_CONSUMERS:1}") int minConsumers,
+            @Value("${INVOICE_LISTENER_MAX_CONSUMERS:8}") int maxConsumers,
+            @Value("${INVOICE_LISTENER_MIN_PREFETCH:10}") int minPrefetch,
+            @Value("${INVOICE_LISTENER_MAX_PREFETCH:250}") int maxPrefetch,
+            @Value("${INVOICE_LISTENER_TARGET_LATENCY_MS:500}") long targetLatencyMs,
+            @Value("${INVOICE_LISTENER_PREFETCH_BUFFER_MS:2000}") long prefetchBufferMs,
+            @Value("${INVOICE_LISTENER_MAX_DB_POOL_UTILIZATION:0.85}") double maxDbPoolUtilization,
+            @Value("${INVOICE_LISTENER_MAX_GATEWAY_ERROR_RATE:0.2}") double maxGatewayErrorRate,
+            @Value("${INVOICE_LISTENER_PREFETCH_RESTART_MIN_INTERVAL_MS:60000}") long prefetchRestartMinIntervalMs) {
+        this.listenerRegistry = listenerRegistry;
+        this.amqpAdmin = amqpAdmin;
+        this.meterRegistry = meterRegistry;
+        this.queueName = queueName;
+        this.policy = new ListenerScalingPolicy(minConsumers, maxConsumers, minPrefetch, maxPrefetch,
+                targetLatencyMs, prefetchBufferMs, maxDbPoolUtilization, maxGatewayErrorRate);
+        this.prefetchRestartMinIntervalMs = prefetchRestartMinIntervalMs;
+        this.clock = Clock.systemUTC();
+
+        Gauge.builder("payments.invoice.listener.consumers", this, tuner -> tuner.current().consumers())
+                .register(meterRegistry);
+        Gauge.builder("payments.invoice.listener.prefetch", this, tuner -> tuner.current().prefetch())
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${INVOICE_LISTENER_TUNING_INTERVAL_MS:10000}")
+    public void tune() {
+        MessageListenerContainer listener = listenerRegistry.getListenerContainer(LISTENER_ID);
+        if (!(listener instanceof SimpleMessageListenerContainer container) || !container.isRunning()) {
+            return;
+        }
+
+        try {
+            ListenerSignals signals = sample();
+            Instant now = clock.instant();
+            ListenerDecision decision;
+            synchronized (this) {
+                if (settings == null) {
+                    ListenerSettings initial = policy.initial();
+                    decision = new ListenerDecision(now, signals, initial, initial, "initial settings");
+                    apply(container, initial, true);
+                    lastRestart = now;
+                } else {
+                    decision = restrictRestarts(policy.decide(signals, settings, now));
+                    apply(container, decision.to(), decision.to().prefetch() != settings.prefetch());
+                    if (decision.to().prefetch() != settings.prefetch()) {
+                        lastRestart = now;
+                    }
+                }
+                settings = decision.to();
+                lastSignals = signals;
+                record(decision);
+            }
+
+            if (decision.changed()) {
+                log.info("Invoice listener {} -> {}: {}", decision.from(), decision.to(), decision.reason());
+            }
+        } catch (Exception e) {
+            log.error("Invoice listener tuning failed", e);
+        }
+    }
+
+    public synchronized ListenerSettings current() {
+        return settings != null ? settings : policy.initial();
+    }
+
+    public synchronized ListenerSignals lastSignals() {
+        return lastSignals;
+    }
+
+    public synchronized List<ListenerDecision> decisions() {
+        return new ArrayList<>(history);
+    }
+
+    public ListenerScalingPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * Keeps the current prefetch unless it changes by at least half and the
+     * restart interval has passed, so prefetch does not cause restart churn.
+     */
+    private ListenerDecision restrictRestarts(ListenerDecision decision) {
+        int from = decision.from().prefetch();
+        int to = decision.to().prefetch();
+        boolean significant = to >= from * 2 || to * 2 <= from;
+        boolean due = decision.decidedAt().isAfter(lastRestart.plusMillis(prefetchRestartMinIntervalMs));
+        if (to == from || (significant && due)) {
+            return decision;
+        }
+        return new ListenerDecision(decision.decidedAt(), decision.signals(), decision.from(),
+                new ListenerSettings(decision.to().consumers(), from), decision.reason());
+    }
+
+    /**
+     * Pins the container's minimum and maximum consumers to the same value so
+     * its own scaling does not fight the policy. The order of the two calls
+     * keeps minimum <= maximum at every step.
+     */
+    private void apply(SimpleMessageListenerContainer container, ListenerSettings target, boolean restart) {
+        if (settings == null || target.consumers() > settings.consumers()) {
+            container.setMaxConcurrentConsumers(target.consumers());
+            container.setConcurrentConsumers(target.consumers());
+        } else if (target.consumers() < settings.consumers()) {
+            container.setConcurrentConsumers(target.consumers());
+            container.setMaxConcurrentConsumers(target.consumers());
+        }
+        if (restart) {
+            container.setPrefetchCount(target.prefetch());
+            container.stop();
+            container.start();
+        }
+    }
+
+    private ListenerSignals sample() {
+        Collection<Timer> processing = meterRegistry.find("payments.invoice.processing").timers();
+        long processed = processing.stream().mapToLong(Timer::count).sum();
+        double processingMs = processing.stream().mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+
+        long gatewayCalls = meterRegistry.find("payments.gateway.call").timers().stream()
+                .mapToLong(Timer::count).sum();
+        long gatewayErrors = meterRegistry.find("payments.gateway.call").tag("outcome", "error").timers().stream()
+                .mapToLong(Timer::count).sum();
+
+        long processedDelta = Math.max(0, processed - lastProcessed);
+        double processingDelta = Math.max(0, processingMs - lastProcessingMs);
+        long callsDelta = Math.max(0, gatewayCalls - lastGatewayCalls);
+        long errorsDelta = Math.max(0, gatewayErrors - lastGatewayErrors);
+        lastProcessed = processed;
+        lastProcessingMs = processingMs;
+        lastGatewayCalls = gatewayCalls;
+        lastGatewayErrors = gatewayErrors;
+
+        return new ListenerSignals(
+                processedDelta,
+                processedDelta > 0 ? processingDelta / processedDelta : 0,
+                queueDepth(),
+                dbPoolUtilization(),
+                callsDelta > 0 ? (double) errorsDelta / callsDelta : 0);
+    }
+
+    /**
+     * -1 when the broker cannot be asked, so the policy neither grows nor
+     * idles the listener on a depth it does not know.
+     */
+    private long queueDepth() {
+        try {
+            QueueInformation info = amqpAdmin.getQueueInfo(queueName);
+            return info != null ? info.getMessageCount() : -1;
+        } catch (AmqpException e) {
+            log.debug("Could not read depth of queue {}: {}", queueName, e.getMessage());
+            return -1;
+        }
+    }
+
+    private double dbPoolUtilization() {
+        Gauge active = meterRegistry.find("hikaricp.connections.active").gauge();
+        Gauge max = meterRegistry.find("hikaricp.connections.max").gauge();
+        if (active == null || max == null || max.value() <= 0) {
+            return 0;
+        }
+        return active.value() / max.value();
+    }
+
+    private void record(ListenerDecision decision) {
+        if (history.size() == HISTORY_SIZE) {
+            history.removeFirst();
+        }
+        history.addLast(decision);
+    }
+}
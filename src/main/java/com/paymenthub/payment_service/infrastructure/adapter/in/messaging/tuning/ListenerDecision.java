@@ -0,0 +1,15 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning;
+
+import java.time.Instant;
+
+public record ListenerDecision(
+        Instant decidedAt,
+        ListenerSignals signals,
+        ListenerSettings from,
+        ListenerSettings to,
+        String reason) {
+
+    public boolean changed() {
+        return !from.equals(to);
+    }
+}
@@ -0,0 +1,97 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning;
+
+import java.time.Instant;
+
+/**
+ * Decides listener concurrency and prefetch from one interval's signals.
+ *
+ * Consumers follow AIMD: halved when the gateway error rate, database pool
+ * utilization or processing latency is above its limit, increased by one
+ * while the queue holds more than the consumers have prefetched, and
+ * decreased by one once the queue is idle.
+ *
+ * Prefetch is sized so that one consumer's buffer takes about
+ * {@code prefetchBufferMs} to work through at the observed latency: fast
+ * processing fetches more, slow processing stops hoarding messages.
+ */
+public class ListenerScalingPolicy {
+
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final int minPrefetch;
+    private final int maxPrefetch;
+    private final double targetLatencyMs;
+    private final double prefetchBufferMs;
+    private final double maxDbPoolUtilization;
+    private final double maxGatewayErrorRate;
+
+    public ListenerScalingPolicy(int minConsumers, int maxConsumers, int minPrefetch, int maxPrefetch,
+            double targetLatencyMs, double prefetchBufferMs, double maxDbPoolUtilization,
+            double maxGatewayErrorRate) {
+        if (minConsumers < 1 || maxConsumers < minConsumers || minPrefetch < 1 || maxPrefetch < minPrefetch) {
+            throw new IllegalArgumentException("Bounds must satisfy 1 <= min <= max");
+        }
+        this.minConsumers = minConsumers;
+        this.maxConsumers = maxConsumers;
+        this.minPrefetch = minPrefetch;
+        this.maxPrefetch = maxPrefetch;
+        this.targetLatencyMs = targetLatencyMs;
+        this.prefetchBufferMs = prefetchBufferMs;
+        this.maxDbPoolUtilization = maxDbPoolUtilization;
+        this.maxGatewayErrorRate = maxGatewayErrorRate;
+    }
+
+    public ListenerSettings initial() {
+        return new ListenerSettings(minConsumers, maxPrefetch);
+    }
+
+    public ListenerSettings lowerBound() {
+        return new ListenerSettings(minConsumers, minPrefetch);
+    }
+
+    public ListenerSettings upperBound() {
+        return new ListenerSettings(maxConsumers, maxPrefetch);
+    }
+
+    public ListenerDecision decide(ListenerSignals signals, ListenerSettings current, Instant now) {
+        int consumers = current.consumers();
+        String reason;
+
+        if (signals.gatewayErrorRate() > maxGatewayErrorRate) {
+            consumers = halve(consumers);
+            reason = String.format("gateway error rate %.2f above %.2f", signals.gatewayErrorRate(),
+                    maxGatewayErrorRate);
+        } else if (signals.dbPoolUtilization() > maxDbPoolUtilization) {
+            consumers = halve(consumers);
+            reason = String.format("database pool utilization %.2f above %.2f", signals.dbPoolUtilization(),
+                    maxDbPoolUtilization);
+        } else if (signals.latencyMs() > targetLatencyMs) {
+            consumers = halve(consumers);
+            reason = String.format("processing latency %.0f ms above %.0f ms", signals.latencyMs(),
+                    targetLatencyMs);
+        } else if (signals.queueDepth() > (long) current.consumers() * current.prefetch()) {
+            consumers = Math.min(maxConsumers, consumers + 1);
+            reason = String.format("backlog of %d messages", signals.queueDepth());
+        } else if (signals.queueDepth() == 0 && signals.processed() == 0) {
+            consumers = Math.max(minConsumers, consumers - 1);
+            reason = "queue idle";
+        } else {
+            reason = "within limits";
+        }
+
+        ListenerSettings next = new ListenerSettings(consumers, prefetch(signals, current.prefetch()));
+        return new ListenerDecision(now, signals, current, next, reason);
+    }
+
+    private int halve(int consumers) {
+        return Math.max(minConsumers, consumers / 2);
+    }
+
+    private int prefetch(ListenerSignals signals, int current) {
+        if (signals.processed() == 0 || signals.latencyMs() <= 0) {
+            return current;
+        }
+        long target = Math.round(prefetchBufferMs / signals.latencyMs());
+        return (int) Math.max(minPrefetch, Math.min(maxPrefetch, target));
+    }
+}
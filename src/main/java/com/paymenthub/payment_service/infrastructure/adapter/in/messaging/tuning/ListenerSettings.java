@@ -0,0 +1,4 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning;
+
+public record ListenerSettings(int consumers, int prefetch) {
+}
@@ -0,0 +1,18 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning;
+
+/**
+ * Load observed over one tuning interval.
+ *
+ * @param processed         messages processed during the interval
+ * @param latencyMs         mean processing time per message, 0 if none
+ * @param queueDepth        messages ready in the queue, -1 if unknown
+ * @param dbPoolUtilization active / maximum database connections
+ * @param gatewayErrorRate  failed / total payment gateway calls
+ */
+public record ListenerSignals(
+        long processed,
+        double latencyMs,
+        long queueDepth,
+        double dbPoolUtilization,
+        double gatewayErrorRate) {
+}
@@ -0,0 +1,9 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+public record BulkPaymentRequest(
+        @NotEmpty List<String> paymentIds) {
+}
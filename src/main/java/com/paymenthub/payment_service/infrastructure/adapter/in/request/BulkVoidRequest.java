@@ -0,0 +1,11 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.request;
+
+import java.util.List;
+
+/**
+ * Selects payments either by their ids or by invoice ids, not both.
+ */
+public record BulkVoidRequest(
+        List<String> paymentIds,
+        List<String> invoiceIds) {
+}
@@ -0,0 +1,36 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.paymenthub.payment_service.application.dto.result.BulkItemFailure;
+import com.paymenthub.payment_service.application.dto.result.BulkJobStatus;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BulkJobResponse {
+    String jobId;
+    String state;
+    int total;
+    int processed;
+    int succeeded;
+    List<BulkItemFailure> failures;
+    LocalDateTime submittedAt;
+    LocalDateTime completedAt;
+
+    public static BulkJobResponse fromStatus(BulkJobStatus status) {
+        return BulkJobResponse.builder()
+                .jobId(status.jobId())
+                .state(status.state().name())
+                .total(status.total())
+                .processed(status.processed())
+                .succeeded(status.succeeded())
+                .failures(status.failures())
+                .submittedAt(status.submittedAt())
+                .completedAt(status.completedAt())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BulkPaymentItemResponse {
+    String paymentId;
+    boolean success;
+    String status;
+    String error;
+}
@@ -0,0 +1,49 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BulkPaymentResponse {
+    int succeeded;
+    int failed;
+    List<BulkPaymentItemResponse> results;
+
+    /**
+     * Pairs each result with the payment id at the same position.
+     */
+    public static BulkPaymentResponse fromResults(List<String> paymentIds,
+            List<BatchItemResult<PaymentResult>> results) {
+        List<BulkPaymentItemResponse> items = new ArrayList<>(results.size());
+        int succeeded = 0;
+        for (int i = 0; i < results.size(); i++) {
+            BatchItemResult<PaymentResult> result = results.get(i);
+            if (result.isSuccess()) {
+                succeeded++;
+                items.add(BulkPaymentItemResponse.builder()
+                        .paymentId(paymentIds.get(i))
+                        .success(true)
+                        .status(result.value().status().name())
+                        .build());
+            } else {
+                items.add(BulkPaymentItemResponse.builder()
+                        .paymentId(paymentIds.get(i))
+                        .success(false)
+                        .error(result.failure().getMessage())
+                        .build());
+            }
+        }
+        return BulkPaymentResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(items)
+                .build();
+    }
+}
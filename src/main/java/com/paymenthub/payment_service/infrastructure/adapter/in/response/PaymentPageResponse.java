@@ -0,0 +1,13 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.response;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class PaymentPageResponse {
+    List<PaymentResponse> payments;
+    String nextCursor;
+}
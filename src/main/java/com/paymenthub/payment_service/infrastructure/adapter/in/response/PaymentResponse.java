@@ -28,6 +28,7 @@ public class PaymentResponse {
                 .authorizedAmount(result.amount())
                 .currency(result.currency())
                 .status(result.status().name())
+                .expiresAt(result.expiresAt())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.rest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paymenthub.payment_service.application.port.out.IdempotencyRecord;
+import com.paymenthub.payment_service.application.port.out.IdempotencyStore;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes a mutating request at most once per Idempotency-Key and answers
+ * repeats with the stored response, marked with {@value #REPLAYED_HEADER}.
+ *
+ * Completed responses are looked up in a bounded in-memory cache first and
+ * in {@link IdempotencyStore} after that, so a replay touches neither the
+ * gateway nor the payments table. Requests for a key that is executing on
+ * this node wait for that execution; a key executing on another node is
+ * answered with 409 Conflict. Reusing a key for a different request is
+ * answered with 422.
+ *
+ * Once a request has run, its response is stored whatever its status,
+ * server errors included: a 500 may follow a gateway call that took effect,
+ * and repeating it could charge or release funds twice. Only a 503 Service
+ * Unavailable, which the request returns when it failed before any side
+ * effect, releases the key so the client can retry with it.
+ */
+@Slf4j
+@Component
+public class IdempotencyGuard {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final ConcurrentMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration lock;
+
+    public IdempotencyGuard(
+            IdempotencyStore store,
+            @Value("${IDEMPOTENCY_KEY_TTL_HOURS:24}") long ttlHours,
+            @Value("${IDEMPOTENCY_KEY_LOCK_MS:30000}") long lockMs,
+            @Value("${IDEMPOTENCY_CACHE_MAX_SIZE:10000}") long cacheMaxSize) {
+        this.store = store;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lock = Duration.ofMillis(lockMs);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @param key         the request's Idempotency-Key, or null to execute
+     *                    without idempotency
+     * @param fingerprint identifies the request, e.g. operation and payment id
+     */
+    public ResponseEntity<String> execute(String key, String fingerprint, Supplier<ResponseEntity<String>> request) {
+        if (key == null) {
+            return request.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        while (true) {
+            IdempotencyRecord hot = completed.getIfPresent(key);
+            if (hot != null) {
+                return replay(hot, fingerprint);
+            }
+
+            CompletableFuture<IdempotencyRecord> execution = new CompletableFuture<>();
+            CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, execution);
+            if (running == null) {
+                return executeOnce(key, fingerprint, request, execution);
+            }
+
+            IdempotencyRecord result;
+            try {
+                result = running.get(lock.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                return inProgress();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return inProgress();
+            } catch (ExecutionException e) {
+                result = null;
+            }
+            if (result != null) {
+                return replay(result, fingerprint);
+            }
+            // the running execution stored nothing; try to execute it ourselves
+        }
+    }
+
+    private ResponseEntity<String> executeOnce(String key, String fingerprint,
+            Supplier<ResponseEntity<String>> request, CompletableFuture<IdempotencyRecord> execution) {
+        IdempotencyRecord stored = null;
+        boolean claimed = false;
+        try {
+            Optional<IdempotencyRecord> existing = store.claim(key, fingerprint, lock, ttl);
+            if (existing.isPresent()) {
+                if (!existing.get().completed()) {
+                    return inProgress();
+                }
+                stored = existing.get();
+                completed.put(key, stored);
+                return replay(stored, fingerprint);
+            }
+            claimed = true;
+
+            ResponseEntity<String> response = request.get();
+            if (response.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                return response;
+            }
+            store.complete(key, response.getStatusCode().value(), response.getBody());
+            claimed = false;
+            stored = new IdempotencyRecord(fingerprint, response.getStatusCode().value(), response.getBody());
+            completed.put(key, stored);
+            return response;
+        } finally {
+            if (claimed) {
+                releaseQuietly(key);
+            }
+            inFlight.remove(key, execution);
+            execution.complete(stored);
+        }
+    }
+
+    private void releaseQuietly(String key) {
+        try {
+            store.release(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency key {}; it frees up when its lock expires", key, e);
+        }
+    }
+
+    private static ResponseEntity<String> inProgress() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("A request with this " + HEADER + " is already in progress");
+    }
+
+    private static ResponseEntity<String> replay(IdempotencyRecord record, String fingerprint) {
+        if (!record.fingerprint().equals(fingerprint)) {
+            return ResponseEntity.unprocessableEntity()
+                    .body(HEADER + " was already used for a different request");
+        }
+        return ResponseEntity.status(record.responseStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(record.responseBody());
+    }
+}
@@ -1,24 +1,52 @@
 package com.paymenthub.payment_service.infrastructure.adapter.in.rest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
+import com.paymenthub.payment_service.application.dto.result.BulkJobStatus;
+import com.paymenthub.payment_service.application.dto.result.PaymentPage;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayOverloadedException;
+import com.paymenthub.payment_service.application.exception.PaymentOperationNotStartedException;
+import com.paymenthub.payment_service.application.port.in.command.BulkJobTarget;
+import com.paymenthub.payment_service.application.port.in.command.BulkVoidPaymentsCommand;
 import com.paymenthub.payment_service.application.port.in.command.CapturePaymentCommand;
+import com.paymenthub.payment_service.application.port.in.command.SearchPaymentsCommand;
 import com.paymenthub.payment_service.application.port.in.command.VoidPaymentCommand;
+import com.paymenthub.payment_service.application.port.in.usecase.BulkCaptureJobUseCase;
+import com.paymenthub.payment_service.application.port.in.usecase.BulkCapturePaymentsUseCase;
+import com.paymenthub.payment_service.application.port.in.usecase.BulkVoidPaymentsUseCase;
 import com.paymenthub.payment_service.application.port.in.usecase.CapturePaymentUseCase;
 import com.paymenthub.payment_service.application.port.in.usecase.GetPaymentUseCase;
 import com.paymenthub.payment_service.application.port.in.usecase.GetPaymentsByInvoiceUseCase;
+import com.paymenthub.payment_service.application.port.in.usecase.SearchPaymentsUseCase;
 import com.paymenthub.payment_service.application.port.in.usecase.VoidPaymentUseCase;
+import com.paymenthub.payment_service.domain.enums.PaymentStatus;
 import com.paymenthub.payment_service.domain.exception.IllegalPaymentStateException;
 import com.paymenthub.payment_service.domain.exception.PaymentNotFoundException;
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCriteria;
+import com.paymenthub.payment_service.infrastructure.adapter.in.request.BulkPaymentRequest;
+import com.paymenthub.payment_service.infrastructure.adapter.in.request.BulkVoidRequest;
+import com.paymenthub.payment_service.infrastructure.adapter.in.response.BulkJobResponse;
+import com.paymenthub.payment_service.infrastructure.adapter.in.response.BulkPaymentResponse;
+import com.paymenthub.payment_service.infrastructure.adapter.in.response.PaymentPageResponse;
 import com.paymenthub.payment_service.infrastructure.adapter.in.response.PaymentResponse;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +60,39 @@ public class PaymentController {
     private final GetPaymentUseCase getPaymentUseCase;
     private final CapturePaymentUseCase capturePaymentUseCase;
     private final VoidPaymentUseCase voidPaymentUseCase;
+    private final SearchPaymentsUseCase searchPaymentsUseCase;
+    private final BulkCapturePaymentsUseCase bulkCapturePaymentsUseCase;
+    private final BulkCaptureJobUseCase bulkCaptureJobUseCase;
+    private final BulkVoidPaymentsUseCase bulkVoidPaymentsUseCase;
+    private final IdempotencyGuard idempotencyGuard;
+
+    @GetMapping
+    public ResponseEntity<PaymentPageResponse> searchPayments(
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiresFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiresTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PaymentPage page = searchPaymentsUseCase.search(new SearchPaymentsCommand(
+                    new PaymentSearchCriteria(status, currency, createdFrom, createdTo, expiresFrom, expiresTo),
+                    PaymentCursorCodec.decode(cursor),
+                    limit));
+
+            return ResponseEntity.ok(PaymentPageResponse.builder()
+                    .payments(page.payments().stream().map(PaymentResponse::fromResult).toList())
+                    .nextCursor(PaymentCursorCodec.encode(page.nextCursor()))
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error searching payments", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
     @GetMapping("/invoice/{invoiceId}")
     public ResponseEntity<List<PaymentResponse>> getPaymentsByInvoice(@PathVariable String invoiceId) {
@@ -58,9 +119,15 @@ public class PaymentController {
     }
 
     @PatchMapping("capture/{paymentId}")
-    public ResponseEntity<String> capturePayment(@PathVariable String paymentId) {
+    public ResponseEntity<String> capturePayment(
+            @PathVariable String paymentId,
+            @RequestHeader(name = IdempotencyGuard.HEADER, required = false) String idempotencyKey) {
+        return idempotencyGuard.execute(idempotencyKey, "capture:" + paymentId, () -> capture(paymentId));
+    }
+
+    private ResponseEntity<String> capture(String paymentId) {
         try {
-            log.info("Capturing payment with ID: {}", paymentId);
+            log.debug("Capturing payment with ID: {}", paymentId);
 
             capturePaymentUseCase.capture(new CapturePaymentCommand(paymentId));
 
@@ -68,6 +135,9 @@ public class PaymentController {
 
         } catch (PaymentNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (PaymentOperationNotStartedException | PaymentGatewayOverloadedException e) {
+            log.warn("Capture of payment ID: {} not started: {}", paymentId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             log.error("Error capturing payment with ID: {}", paymentId, e);
             return ResponseEntity.status(500).build();
@@ -76,9 +146,14 @@ public class PaymentController {
 
     @PatchMapping("void/{paymentId}")
     public ResponseEntity<String> voidPayment(
-            @PathVariable String paymentId) {
+            @PathVariable String paymentId,
+            @RequestHeader(name = IdempotencyGuard.HEADER, required = false) String idempotencyKey) {
+        return idempotencyGuard.execute(idempotencyKey, "void:" + paymentId, () -> voidPayment(paymentId));
+    }
+
+    private ResponseEntity<String> voidPayment(String paymentId) {
         try {
-            log.info("Voiding payment with ID: {}", paymentId);
+            log.debug("Voiding payment with ID: {}", paymentId);
 
             voidPaymentUseCase.voidPayment(new VoidPaymentCommand(paymentId));
 
@@ -88,9 +163,88 @@ public class PaymentController {
             return ResponseEntity.notFound().build();
         } catch (IllegalPaymentStateException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (PaymentOperationNotStartedException | PaymentGatewayOverloadedException e) {
+            log.warn("Void of payment ID: {} not started: {}", paymentId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             log.error("Error voiding payment with ID: {}", paymentId, e);
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @PostMapping("capture")
+    public ResponseEntity<BulkPaymentResponse> capturePayments(@Valid @RequestBody BulkPaymentRequest request) {
+        try {
+            log.info("Capturing {} payments", request.paymentIds().size());
+
+            List<BatchItemResult<PaymentResult>> results =
+                    bulkCapturePaymentsUseCase.captureAll(request.paymentIds());
+
+            return ResponseEntity.ok(BulkPaymentResponse.fromResults(request.paymentIds(), results));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error capturing {} payments", request.paymentIds().size(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("capture/jobs")
+    public ResponseEntity<BulkJobResponse> submitCaptureJob(@Valid @RequestBody BulkPaymentRequest request) {
+        try {
+            BulkJobStatus job = bulkCaptureJobUseCase.submit(request.paymentIds());
+
+            return ResponseEntity.accepted()
+                    .header("Location", "/api/payments/capture/jobs/" + job.jobId())
+                    .body(BulkJobResponse.fromStatus(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error submitting bulk capture job", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("capture/jobs/{jobId}")
+    public ResponseEntity<BulkJobResponse> getCaptureJob(@PathVariable String jobId) {
+        return bulkCaptureJobUseCase.getStatus(jobId)
+                .map(BulkJobResponse::fromStatus)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("void/jobs")
+    public ResponseEntity<BulkJobResponse> submitVoidJob(@RequestBody BulkVoidRequest request) {
+        try {
+            BulkJobStatus job = bulkVoidPaymentsUseCase.submit(toCommand(request));
+
+            return ResponseEntity.accepted()
+                    .header("Location", "/api/payments/void/jobs/" + job.jobId())
+                    .body(BulkJobResponse.fromStatus(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error submitting bulk void job", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("void/jobs/{jobId}")
+    public ResponseEntity<BulkJobResponse> getVoidJob(@PathVariable String jobId) {
+        return bulkVoidPaymentsUseCase.getStatus(jobId)
+                .map(BulkJobResponse::fromStatus)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static BulkVoidPaymentsCommand toCommand(BulkVoidRequest request) {
+        boolean byPayment = request.paymentIds() != null && !request.paymentIds().isEmpty();
+        boolean byInvoice = request.invoiceIds() != null && !request.invoiceIds().isEmpty();
+        if (byPayment == byInvoice) {
+            throw new IllegalArgumentException("Exactly one of paymentIds and invoiceIds is required");
+        }
+        return byPayment
+                ? new BulkVoidPaymentsCommand(BulkJobTarget.PAYMENTS, request.paymentIds())
+                : new BulkVoidPaymentsCommand(BulkJobTarget.INVOICES, request.invoiceIds());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.rest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCursor;
+
+/**
+ * Encodes search cursors as opaque URL-safe tokens. Clients must pass them
+ * back unchanged; the format may change between releases.
+ */
+final class PaymentCursorCodec {
+
+    private static final char SEPARATOR = '|';
+
+    private PaymentCursorCodec() {
+    }
+
+    static String encode(PaymentSearchCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw = cursor.createdAt().toString() + SEPARATOR + cursor.paymentId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PaymentSearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PaymentSearchCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.scheduler;
+
+import com.paymenthub.payment_service.application.dto.result.ExpirySweepResult;
+import com.paymenthub.payment_service.application.port.in.usecase.ExpireAuthorizationsUseCase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the authorization expiry sweep on every node; leasing keeps the nodes
+ * from voiding the same payment twice.
+ *
+ * Metrics: payments.expiry.backlog (expired authorizations not yet voided,
+ * sampled after each run), payments.expiry.swept tagged by outcome (its rate
+ * is the sweep rate) and payments.expiry.sweep for run durations.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "AUTHORIZATION_EXPIRY_SWEEP_ENABLED", havingValue = "true", matchIfMissing = true)
+public class AuthorizationExpirySweeper {
+
+    private final ExpireAuthorizationsUseCase expireAuthorizationsUseCase;
+    private final int chunkSize;
+    private final int maxChunks;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter voidedCounter;
+    private final Counter failedCounter;
+    private final Timer sweepTimer;
+
+    public AuthorizationExpirySweeper(
+            ExpireAuthorizationsUseCase expireAuthorizationsUseCase,
+            MeterRegistry meterRegistry,
+            @Value("${AUTHORIZATION_EXPIRY_CHUNK_SIZE:200}") int chunkSize,
+            @Value("${AUTHORIZATION_EXPIRY_MAX_CHUNKS_PER_RUN:50}") int maxChunks) {
+        this.expireAuthorizationsUseCase = expireAuthorizationsUseCase;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+
+        Gauge.builder("payments.expiry.backlog", backlog, AtomicLong::get)
+                .description("Expired authorizations that have not been voided yet")
+                .register(meterRegistry);
+        this.voidedCounter = Counter.builder("payments.expiry.swept")
+                .tag("outcome", "voided")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("payments.expiry.swept")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("payments.expiry.sweep")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${AUTHORIZATION_EXPIRY_SWEEP_INTERVAL_MS:60000}")
+    public void sweep() {
+        try {
+            ExpirySweepResult result = sweepTimer.record(
+                    () -> expireAuthorizationsUseCase.sweepExpiredAuthorizations(chunkSize, maxChunks));
+            voidedCounter.increment(result.voided());
+            failedCounter.increment(result.failed());
+
+            backlog.set(expireAuthorizationsUseCase.countExpiredAuthorizations());
+        } catch (Exception e) {
+            log.error("Authorization expiry sweep failed", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.scheduler;
+
+import com.paymenthub.payment_service.application.port.in.usecase.BulkCaptureJobUseCase;
+import com.paymenthub.payment_service.application.port.in.usecase.BulkVoidPaymentsUseCase;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts bulk capture and void jobs that were submitted while this node was
+ * busy or whose previous owner died.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkJobScheduler {
+
+    private final BulkCaptureJobUseCase bulkCaptureJobUseCase;
+    private final BulkVoidPaymentsUseCase bulkVoidPaymentsUseCase;
+
+    @Scheduled(fixedDelayString = "${BULK_JOB_POLL_INTERVAL_MS:15000}")
+    public void runPendingJobs() {
+        try {
+            int started = bulkCaptureJobUseCase.runPendingJobs();
+            if (started > 0) {
+                log.info("Started {} pending bulk capture jobs", started);
+            }
+        } catch (Exception e) {
+            log.error("Bulk capture job poll failed", e);
+        }
+        try {
+            int started = bulkVoidPaymentsUseCase.runPendingJobs();
+            if (started > 0) {
+                log.info("Started {} pending bulk void jobs", started);
+            }
+        } catch (Exception e) {
+            log.error("Bulk void job poll failed", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.scheduler;
+
+import com.paymenthub.payment_service.application.port.out.IdempotencyStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes stored Idempotency-Key responses older than IDEMPOTENCY_KEY_TTL_HOURS.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyPurgeScheduler {
+
+    private final IdempotencyStore idempotencyStore;
+
+    @Scheduled(fixedDelayString = "${IDEMPOTENCY_KEY_PURGE_INTERVAL_MS:600000}")
+    public void purgeExpiredKeys() {
+        try {
+            int purged = idempotencyStore.purgeExpired();
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (Exception e) {
+            log.error("Idempotency key purge failed", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.scheduler;
+
+import com.paymenthub.payment_service.application.port.out.InboxStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Deletes inbox entries older than INVOICE_INBOX_RETENTION_HOURS, which must
+ * outlast any redelivery or republish of an invoice event.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "INVOICE_INBOX_ENABLED", havingValue = "true", matchIfMissing = true)
+public class InboxPurgeScheduler {
+
+    private final InboxStore inboxStore;
+
+    @Value("${INVOICE_INBOX_RETENTION_HOURS:72}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${INVOICE_INBOX_PURGE_INTERVAL_MS:600000}")
+    public void purgeExpiredEntries() {
+        try {
+            int purged = inboxStore.purgeOlderThan(Duration.ofHours(retentionHours));
+            if (purged > 0) {
+                log.info("Purged {} invoice inbox entries", purged);
+            }
+        } catch (Exception e) {
+            log.error("Invoice inbox purge failed", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.paymenthub.payment_service.infrastructure.adapter.in.scheduler;
+
+import com.paymenthub.payment_service.application.port.in.usecase.RecoverPendingPaymentsUseCase;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "PAYMENT_RECOVERY_ENABLED", havingValue = "true", matchIfMissing = true)
+public class PendingPaymentRecoveryScheduler {
+
+    private final RecoverPendingPaymentsUseCase recoverPendingPaymentsUseCase;
+
+    @Value("${PAYMENT_RECOVERY_PENDING_THRESHOLD_SECONDS:300}")
+    private long pendingThresholdSeconds;
+
+    @Value("${PAYMENT_RECOVERY_BATCH_SIZE:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${PAYMENT_RECOVERY_INTERVAL_MS:60000}")
+    public void recoverPendingPayments() {
+        try {
+            recoverPendingPaymentsUseCase.recoverOrphanedPayments(
+                    Duration.ofSeconds(pendingThresholdSeconds), batchSize);
+        } catch (Exception e) {
+            log.error("Pending payment recovery run failed", e);
+        }
+
+        try {
+            recoverPendingPaymentsUseCase.completeInterruptedOperations(batchSize);
+        } catch (Exception e) {
+            log.error("Interrupted capture and void recovery run failed", e);
+        }
+    }
+}
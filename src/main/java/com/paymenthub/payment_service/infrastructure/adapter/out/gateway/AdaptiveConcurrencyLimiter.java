@@ -0,0 +1,172 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.gateway;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * AIMD concurrency limiter for outbound calls.
+ *
+ * The limit grows by one for every window of successful calls that complete
+ * under the latency threshold, and is multiplied by the backoff ratio when a
+ * call is slow or times out. Calls above the limit wait in a bounded FIFO
+ * queue without holding a thread; once the queue is full they are rejected.
+ *
+ * A call keeps its slot until the future it returned settles, even when the
+ * caller's view of it has already timed out, so calls still in flight at
+ * the provider always count against the limit. Callers that give up while
+ * queued complete or cancel their future, and the call is then never
+ * started.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> waiting = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueueSize,
+            long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueueSize = maxQueueSize;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Runs the call once a slot is available. The returned future fails with
+     * a {@link TimeoutException} when the call has not answered within
+     * {@code timeout} of starting; time spent queued does not count.
+     *
+     * @return the call's result, or {@code null} if the call was rejected
+     *         because both the limit and the queue are exhausted
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Waiter waiter = new Waiter(() -> start(call, timeout, result), result);
+
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+            } else if (waiting.size() < maxQueueSize) {
+                waiting.addLast(waiter);
+                return result;
+            } else {
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        waiter.start().run();
+        return result;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> call, Duration timeout, CompletableFuture<T> result) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((value, error) -> onComplete(System.nanoTime() - startedAt, error));
+        future.copy()
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((value, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+    }
+
+    private void onComplete(long latencyNanos, Throwable error) {
+        Waiter next = null;
+
+        lock.lock();
+        try {
+            inFlight--;
+            if (latencyNanos > latencyThresholdNanos || isTimeout(error)) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+
+            while (!waiting.isEmpty() && inFlight < (int) limit) {
+                Waiter waiter = waiting.pollFirst();
+                if (!waiter.result().isDone()) {
+                    inFlight++;
+                    next = waiter;
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (next != null) {
+            next.start().run();
+        }
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        return cause instanceof TimeoutException;
+    }
+
+    private record Waiter(Runnable start, CompletableFuture<?> result) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.gateway;
+
+import com.paymenthub.payment_service.application.exception.PaymentGatewayException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayOverloadedException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayUnavailableException;
+import com.paymenthub.payment_service.application.port.out.AsyncPaymentGateway;
+import com.paymenthub.payment_service.application.port.out.PaymentGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Puts every call to the payment provider, blocking or not, behind a shared
+ * {@link AdaptiveConcurrencyLimiter} and a call timeout. Calls the limiter
+ * cannot admit fail fast with GATEWAY_OVERLOADED instead of piling up.
+ *
+ * Overloaded and timed-out calls, and calls that failed without a gateway
+ * error, raise {@link PaymentGatewayUnavailableException}: the provider gave
+ * no definitive answer, so callers leave the payment as it is. A timed-out
+ * call keeps its limiter slot until the provider adapter settles it, so
+ * adapters must bound their own requests. Blocking calls wait at most
+ * GATEWAY_MAX_WAIT_MS in total, queueing included; a call still queued when
+ * the caller gives up is never sent.
+ *
+ * The provider adapter is selected with {@link #PROVIDER}.
+ *
+ * Metrics: payments.gateway.call tagged by operation, outcome (success or
+ * error, rejected calls included) and error_code, the gateway error code of
+ * a failed call.
+ */
+@Slf4j
+@Component
+@Primary
+public class ConcurrencyLimitedPaymentGateway implements PaymentGateway, AsyncPaymentGateway {
+
+    public static final String PROVIDER = "paymentProvider";
+
+    private final AsyncPaymentGateway provider;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Duration callTimeout;
+    private final Duration maxWait;
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitedPaymentGateway(
+            @Qualifier(PROVIDER) AsyncPaymentGateway provider,
+            MeterRegistry meterRegistry,
+            @Value("${GATEWAY_LIMIT_INITIAL:20}") int initialLimit,
+            @Value("${GATEWAY_LIMIT_MIN:1}") int minLimit,
+            @Value("${GATEWAY_LIMIT_MAX:200}") int maxLimit,
+            @Value("${GATEWAY_LIMIT_QUEUE_SIZE:1000}") int maxQueueSize,
+            @Value("${GATEWAY_LIMIT_LATENCY_THRESHOLD_MS:1000}") long latencyThresholdMs,
+            @Value("${GATEWAY_LIMIT_BACKOFF_RATIO:0.9}") double backoffRatio,
+            @Value("${GATEWAY_CALL_TIMEOUT_MS:10000}") long callTimeoutMs,
+            @Value("${GATEWAY_MAX_WAIT_MS:15000}") long maxWaitMs) {
+        this.provider = provider;
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, maxQueueSize,
+                TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs), backoffRatio);
+        this.callTimeout = Duration.ofMillis(callTimeoutMs);
+        this.maxWait = Duration.ofMillis(maxWaitMs);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public CompletableFuture<String> authorizeAsync(String idempotencyKey, String paymentId, String customerId,
+            String paymentMethodId, BigDecimal amount, String currency) {
+        return limited("authorize", () -> provider.authorizeAsync(idempotencyKey, paymentId, customerId,
+                paymentMethodId, amount, currency));
+    }
+
+    @Override
+    public CompletableFuture<Void> captureAsync(String gatewayReferenceId) {
+        return limited("capture", () -> provider.captureAsync(gatewayReferenceId));
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorizationAsync(String gatewayReferenceId) {
+        return limited("void", () -> provider.voidAuthorizationAsync(gatewayReferenceId));
+    }
+
+    @Override
+    public String authorize(String idempotencyKey, String paymentId, String customerId, String paymentMethodId,
+            BigDecimal amount, String currency) throws PaymentGatewayException {
+        return await("authorize",
+                authorizeAsync(idempotencyKey, paymentId, customerId, paymentMethodId, amount, currency));
+    }
+
+    @Override
+    public void capture(String gatewayReferenceId) throws PaymentGatewayException {
+        await("capture", captureAsync(gatewayReferenceId));
+    }
+
+    @Override
+    public void voidAuthorization(String gatewayReferenceId) throws PaymentGatewayException {
+        await("void", voidAuthorizationAsync(gatewayReferenceId));
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    private <T> CompletableFuture<T> limited(String operation, Supplier<CompletableFuture<T>> call) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<T> result = limiter.submit(call, callTimeout);
+
+        if (result == null) {
+            log.warn("Gateway {} rejected - concurrency limit {} reached with full queue",
+                    operation, limiter.getLimit());
+            recordCall(operation, "GATEWAY_OVERLOADED", startedAt);
+            return CompletableFuture.failedFuture(new PaymentGatewayOverloadedException(
+                    "Payment gateway is overloaded", "GATEWAY_OVERLOADED",
+                    "concurrency limit reached"));
+        }
+
+        CompletableFuture<T> mapped = result
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(toGatewayException(operation, error)))
+                .whenComplete((value, error) -> recordCall(operation, errorCode(error), startedAt));
+        // A caller giving up on the returned future withdraws the call if it is still queued
+        mapped.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                result.cancel(false);
+            }
+        });
+        return mapped;
+    }
+
+    private void recordCall(String operation, String errorCode, long startedAt) {
+        Timer.builder("payments.gateway.call")
+                .tag("operation", operation)
+                .tag("outcome", errorCode == null ? "success" : "error")
+                .tag("error_code", errorCode == null ? "none" : errorCode)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private static String errorCode(Throwable error) {
+        if (error == null) {
+            return null;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause instanceof PaymentGatewayException gatewayException && gatewayException.getErrorCode() != null) {
+            return gatewayException.getErrorCode();
+        }
+        return "UNKNOWN";
+    }
+
+    private static PaymentGatewayException toGatewayException(String operation, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause instanceof PaymentGatewayException gatewayException) {
+            return gatewayException;
+        }
+        if (cause instanceof TimeoutException || cause instanceof CancellationException) {
+            return timeout(operation, cause);
+        }
+        return new PaymentGatewayUnavailableException("Payment gateway " + operation + " failed", "GATEWAY_ERROR",
+                String.valueOf(cause.getMessage()), cause);
+    }
+
+    private static PaymentGatewayUnavailableException timeout(String operation, Throwable cause) {
+        return new PaymentGatewayUnavailableException("Payment gateway " + operation + " timed out",
+                "GATEWAY_TIMEOUT", "no response within timeout", cause);
+    }
+
+    private <T> T await(String operation, CompletableFuture<T> future) {
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw timeout(operation, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new PaymentGatewayUnavailableException("Interrupted while waiting for payment gateway " + operation,
+                    "GATEWAY_INTERRUPTED", "caller interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PaymentGatewayException gatewayException) {
+                throw gatewayException;
+            }
+            throw toGatewayException(operation, e.getCause());
+        }
+    }
+}
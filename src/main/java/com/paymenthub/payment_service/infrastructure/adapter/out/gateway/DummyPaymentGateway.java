@@ -1,29 +1,72 @@
 package com.paymenthub.payment_service.infrastructure.adapter.out.gateway;
 
+import com.paymenthub.payment_service.application.port.out.AsyncPaymentGateway;
 import com.paymenthub.payment_service.application.port.out.PaymentGateway;
 import com.paymenthub.payment_service.application.exception.PaymentGatewayException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.annotation.Primary;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@Primary
+@Qualifier(ConcurrencyLimitedPaymentGateway.PROVIDER)
 @Profile("dev")
 @Slf4j
-public class DummyPaymentGateway implements PaymentGateway {
+public class DummyPaymentGateway implements PaymentGateway, AsyncPaymentGateway {
+
+    private final Executor delayedExecutor;
+    // Intents by idempotency key, kept for the life of the process
+    private final Map<String, String> intents = new ConcurrentHashMap<>();
+
+    /**
+     * @param latencyMs simulated provider latency applied to the async calls,
+     *                  used to load-test the concurrency limiter locally
+     */
+    public DummyPaymentGateway(@Value("${DUMMY_GATEWAY_LATENCY_MS:0}") long latencyMs) {
+        this.delayedExecutor = CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public CompletableFuture<String> authorizeAsync(
+            String idempotencyKey,
+            String paymentId,
+            String customerId,
+            String paymentMethodId,
+            BigDecimal amount,
+            String currency) {
+        return CompletableFuture.supplyAsync(
+                () -> authorize(idempotencyKey, paymentId, customerId, paymentMethodId, amount, currency),
+                delayedExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> captureAsync(String gatewayReferenceId) {
+        return CompletableFuture.runAsync(() -> capture(gatewayReferenceId), delayedExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorizationAsync(String gatewayReferenceId) {
+        return CompletableFuture.runAsync(() -> voidAuthorization(gatewayReferenceId), delayedExecutor);
+    }
 
     @Override
     public String authorize(
+            String idempotencyKey,
             String paymentId,
             String customerId,
             String paymentMethodId,
             BigDecimal amount,
             String currency) throws PaymentGatewayException {
-        log.info("Dummy authorize called: paymentId={}, customerId={}, method={}, amount={}, currency={}",
+        log.debug("Dummy authorize called: paymentId={}, customerId={}, method={}, amount={}, currency={}",
                 paymentId, customerId, paymentMethodId, amount, currency);
 
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
@@ -37,14 +80,15 @@ public class DummyPaymentGateway implements PaymentGateway {
                     "card declined by dummy gateway");
         }
 
-        String intentId = "dummy_pi_" + UUID.randomUUID().toString().replace("-", "");
-        log.info("Dummy authorization succeeded, intentId={}", intentId);
+        String intentId = intents.computeIfAbsent(idempotencyKey,
+                key -> "dummy_pi_" + UUID.randomUUID().toString().replace("-", ""));
+        log.debug("Dummy authorization succeeded, intentId={}", intentId);
         return intentId;
     }
 
     @Override
     public void capture(String gatewayReferenceId) throws PaymentGatewayException {
-        log.info("Dummy capture called: gatewayReferenceId={}, amount={}", gatewayReferenceId);
+        log.debug("Dummy capture called: gatewayReferenceId={}", gatewayReferenceId);
 
         if (gatewayReferenceId == null || gatewayReferenceId.isBlank()) {
             throw new PaymentGatewayException("Invalid gatewayReferenceId for capture", "INVALID_ID",
@@ -57,12 +101,12 @@ public class DummyPaymentGateway implements PaymentGateway {
         }
 
         // no-op (simulated success)
-        log.info("Dummy capture completed for {}", gatewayReferenceId);
+        log.debug("Dummy capture completed for {}", gatewayReferenceId);
     }
 
     @Override
     public void voidAuthorization(String gatewayReferenceId) throws PaymentGatewayException {
-        log.info("Dummy void called: gatewayReferenceId={}", gatewayReferenceId);
+        log.debug("Dummy void called: gatewayReferenceId={}", gatewayReferenceId);
 
         if (gatewayReferenceId == null || gatewayReferenceId.isBlank()) {
             throw new PaymentGatewayException("Invalid gatewayReferenceId for void", "INVALID_ID",
@@ -75,6 +119,6 @@ public class DummyPaymentGateway implements PaymentGateway {
         }
 
         // no-op (simulated success)
-        log.info("Dummy void completed for {}", gatewayReferenceId);
+        log.debug("Dummy void completed for {}", gatewayReferenceId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.messaging;
+
+/**
+ * An already serialized domain event ready to be sent to the broker.
+ */
+public record OutboundMessage(
+        String eventId,
+        String routingKey,
+        String payloadType,
+        String payload) {
+}
@@ -0,0 +1,55 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.messaging;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.paymenthub.payment_service.domain.events.DomainEvent;
+
+import org.springframework.amqp.support.converter.JacksonUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serializes domain events with one pre-built {@link ObjectWriter} per event
+ * class. Output is byte-for-byte what {@code Jackson2JsonMessageConverter}
+ * produced, since both start from the same mapper configuration.
+ *
+ * Stored payloads are always JSON; {@link #toSmile(String)} streams one into
+ * the binary Smile encoding at publish time without building a tree.
+ */
+@Component
+public class PaymentEventCodec {
+
+    public static final String CONTENT_TYPE_SMILE = "application/x-jackson-smile";
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public String toJson(DomainEvent event) {
+        try {
+            return writers.computeIfAbsent(event.getClass(), objectMapper::writerFor).writeValueAsString(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize " + event.getEventType(), e);
+        }
+    }
+
+    public byte[] toSmile(String json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length());
+        try (JsonParser parser = objectMapper.getFactory().createParser(json);
+                JsonGenerator generator = smileFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to transcode event payload to Smile", e);
+        }
+        return out.toByteArray();
+    }
+}
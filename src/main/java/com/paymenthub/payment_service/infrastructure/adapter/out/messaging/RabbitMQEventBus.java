@@ -1,39 +1,218 @@
 package com.paymenthub.payment_service.infrastructure.adapter.out.messaging;
 
-import com.paymenthub.payment_service.application.port.out.EventBus;
-import com.paymenthub.payment_service.domain.events.DomainEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Broker sink for the outbox relay. Domain events are no longer published
+ * from the request path; they are written to the outbox by
+ * {@code OutboxEventBus} and forwarded here once committed.
+ *
+ * Every message is sent with correlated publisher confirms and the mandatory
+ * flag, and {@link #publish(OutboundMessage)} returns without waiting for
+ * the broker. The returned future completes once the broker has confirmed
+ * the message, or exceptionally after PAYMENT_PUBLISH_MAX_ATTEMPTS nacked,
+ * returned (unroutable) or failed sends. Retries run on a separate thread,
+ * never on the connection thread that delivers confirms.
+ *
+ * At most PAYMENT_PUBLISH_MAX_IN_FLIGHT messages await a confirm at once;
+ * callers block while the window is full. Sends use channels from the
+ * connection factory's channel cache, configured in application.properties.
+ *
+ * Payloads are stored as JSON. Setting PAYMENT_EVENT_CONTENT_TYPE to
+ * {@value PaymentEventCodec#CONTENT_TYPE_SMILE} publishes them in the binary
+ * Smile encoding instead, announced through the content-type property.
+ *
+ * Metrics: payments.events.published tagged by outcome (confirmed, nacked,
+ * returned, failed), payments.events.publish.retries,
+ * payments.events.publish.confirm for send-to-confirm latency of each attempt,
+ * payments.events.publish for the latency of the whole publish, including
+ * waiting for the window and retries, tagged by outcome (confirmed, failed),
+ * and payments.events.publish.in_flight.
+ */
 @Component
 @Slf4j
-@RequiredArgsConstructor
-public class RabbitMQEventBus implements EventBus {
+public class RabbitMQEventBus {
 
     private final RabbitTemplate rabbitTemplate;
+    private final PaymentEventCodec paymentEventCodec;
+    private final String paymentEventsExchange;
+    private final String contentType;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Semaphore window;
+    private final ScheduledExecutorService retryExecutor;
 
-    @Value("${INVOICE_EXCHANGE:invoice_events}")
-    private String paymentEventsExchange;
-
-    @Override
-    public void publish(List<DomainEvent> events) {
-        for (DomainEvent event : events) {
-            try {
-                rabbitTemplate.convertAndSend(
-                        paymentEventsExchange,
-                        event.getEventType(),
-                        event);
-                log.info("Published event: {} with ID: {}",
-                        event.getEventType(), event.getEventId());
-            } catch (Exception e) {
-                log.error("Failed to publish event: {}", event.getEventType(), e);
-                throw e;
+    private final Counter confirmedCounter;
+    private final Counter nackedCounter;
+    private final Counter returnedCounter;
+    private final Counter failedCounter;
+    private final Counter retryCounter;
+    private final Timer confirmTimer;
+    private final Timer publishConfirmedTimer;
+    private final Timer publishFailedTimer;
+
+    public RabbitMQEventBus(
+            RabbitTemplate rabbitTemplate,
+            PaymentEventCodec paymentEventCodec,
+            MeterRegistry meterRegistry,
+            @Value("${INVOICE_EXCHANGE:invoice_events}") String paymentEventsExchange,
+            @Value("${PAYMENT_EVENT_CONTENT_TYPE:application/json}") String contentType,
+            @Value("${PAYMENT_PUBLISH_MAX_IN_FLIGHT:1000}") int maxInFlight,
+            @Value("${PAYMENT_PUBLISH_MAX_ATTEMPTS:3}") int maxAttempts,
+            @Value("${PAYMENT_PUBLISH_RETRY_BACKOFF_MS:200}") long retryBackoffMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.paymentEventCodec = paymentEventCodec;
+        this.paymentEventsExchange = paymentEventsExchange;
+        this.contentType = contentType;
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.window = new Semaphore(maxInFlight);
+        this.retryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-publish-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.confirmedCounter = outcomeCounter(meterRegistry, "confirmed");
+        this.nackedCounter = outcomeCounter(meterRegistry, "nacked");
+        this.returnedCounter = outcomeCounter(meterRegistry, "returned");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.retryCounter = Counter.builder("payments.events.publish.retries")
+                .register(meterRegistry);
+        this.confirmTimer = Timer.builder("payments.events.publish.confirm")
+                .description("Time from send until the broker confirmed or rejected the message")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publishConfirmedTimer = publishTimer(meterRegistry, "confirmed");
+        this.publishFailedTimer = publishTimer(meterRegistry, "failed");
+        Gauge.builder("payments.events.publish.in_flight", window, w -> maxInFlight - w.availablePermits())
+                .description("Messages sent and awaiting a publisher confirm")
+                .register(meterRegistry);
+    }
+
+    public List<CompletableFuture<Void>> publish(List<OutboundMessage> messages) {
+        return messages.stream()
+                .map(this::publish)
+                .toList();
+    }
+
+    public CompletableFuture<Void> publish(OutboundMessage outbound) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        result.whenComplete((ignored, error) -> (error == null ? publishConfirmedTimer : publishFailedTimer)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        try {
+            window.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return result;
+        }
+        send(outbound, 1, result);
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryExecutor.shutdownNow();
+    }
+
+    private void send(OutboundMessage outbound, int attempt, CompletableFuture<Void> result) {
+        CorrelationData correlation = new CorrelationData(outbound.eventId());
+        long startedAt = System.nanoTime();
+        try {
+            rabbitTemplate.send(paymentEventsExchange, outbound.routingKey(), toAmqpMessage(outbound), correlation);
+        } catch (Exception e) {
+            retryOrFail(outbound, attempt, result, e);
+            return;
+        }
+
+        correlation.getFuture().whenComplete((confirm, error) -> {
+            confirmTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (error != null) {
+                retryOrFail(outbound, attempt, result, error);
+            } else if (correlation.getReturned() != null) {
+                returnedCounter.increment();
+                retryOrFail(outbound, attempt, result, new AmqpException(
+                        "Unroutable: " + correlation.getReturned().getReplyText()));
+            } else if (!confirm.isAck()) {
+                nackedCounter.increment();
+                retryOrFail(outbound, attempt, result, new AmqpException("Nacked: " + confirm.getReason()));
+            } else {
+                confirmedCounter.increment();
+                window.release();
+                result.complete(null);
+                log.debug("Published event: {} with ID: {}", outbound.routingKey(), outbound.eventId());
             }
+        });
+    }
+
+    private void retryOrFail(OutboundMessage outbound, int attempt, CompletableFuture<Void> result, Throwable cause) {
+        if (attempt >= maxAttempts || retryExecutor.isShutdown()) {
+            failedCounter.increment();
+            window.release();
+            result.completeExceptionally(cause);
+            log.error("Failed to publish event: {} with ID: {} after {} attempts",
+                    outbound.routingKey(), outbound.eventId(), attempt, cause);
+            return;
         }
+
+        retryCounter.increment();
+        log.warn("Retrying event: {} with ID: {} (attempt {} failed: {})",
+                outbound.routingKey(), outbound.eventId(), attempt, cause.getMessage());
+        retryExecutor.schedule(() -> send(outbound, attempt + 1, result),
+                retryBackoffMs * attempt, TimeUnit.MILLISECONDS);
+    }
+
+    private Message toAmqpMessage(OutboundMessage outbound) {
+        if (PaymentEventCodec.CONTENT_TYPE_SMILE.equals(contentType)) {
+            return MessageBuilder.withBody(paymentEventCodec.toSmile(outbound.payload()))
+                    .setContentType(PaymentEventCodec.CONTENT_TYPE_SMILE)
+                    .setMessageId(outbound.eventId())
+                    .setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, outbound.payloadType())
+                    .build();
+        }
+        return MessageBuilder.withBody(outbound.payload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(outbound.eventId())
+                .setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, outbound.payloadType())
+                .build();
+    }
+
+    private static Timer publishTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("payments.events.publish")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("payments.events.published")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,21 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.outbox;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+interface JpaOutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Locks the oldest pending events. Rows already locked by another relay
+     * are skipped, so several nodes can drain the outbox in parallel.
+     */
+    @Query(value = """
+            select * from outbox_events
+            order by id
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<OutboxEventEntity> lockNextBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,53 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.outbox;
+
+import com.paymenthub.payment_service.application.port.out.EventBus;
+import com.paymenthub.payment_service.domain.events.DomainEvent;
+import com.paymenthub.payment_service.domain.events.PaymentEvent;
+import com.paymenthub.payment_service.infrastructure.adapter.out.messaging.PaymentEventCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes domain events to the outbox table in the caller's transaction.
+ * Events only become visible to {@link OutboxRelay} once the state change
+ * that raised them has committed.
+ *
+ * Events are also dispatched to in-process listeners, which should use
+ * transactional listeners to react only after commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventBus implements EventBus {
+
+    private final JpaOutboxEventRepository outboxEventRepository;
+    private final PaymentEventCodec paymentEventCodec;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(List<DomainEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.saveAll(events.stream()
+                .map(event -> toOutboxEntity(event, now))
+                .toList());
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+
+    private OutboxEventEntity toOutboxEntity(DomainEvent event, LocalDateTime createdAt) {
+        OutboxEventEntity entity = new OutboxEventEntity();
+        entity.setEventId(event.getEventId());
+        entity.setAggregateId(event instanceof PaymentEvent paymentEvent ? paymentEvent.getPaymentId() : null);
+        entity.setEventType(event.getEventType());
+        entity.setPayloadType(event.getClass().getName());
+        entity.setPayload(paymentEventCodec.toJson(event));
+        entity.setOccurredOn(event.getOccurredOn());
+        entity.setCreatedAt(createdAt);
+        return entity;
+    }
+}
@@ -0,0 +1,36 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.outbox;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+public class OutboxEventEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String eventId;
+
+    private String aggregateId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    private String payloadType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredOn;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
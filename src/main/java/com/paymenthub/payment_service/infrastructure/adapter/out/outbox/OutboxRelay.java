@@ -0,0 +1,116 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.outbox;
+
+import com.paymenthub.payment_service.infrastructure.adapter.out.messaging.OutboundMessage;
+import com.paymenthub.payment_service.infrastructure.adapter.out.messaging.RabbitMQEventBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox table into the broker in id order. Each batch is locked
+ * with FOR UPDATE SKIP LOCKED, published, and deleted in one transaction, so
+ * events are delivered at least once and concurrent relays never publish the
+ * same row twice.
+ *
+ * The whole batch is sent before waiting for publisher confirms, up to
+ * OUTBOX_RELAY_CONFIRM_TIMEOUT_MS. Only confirmed rows are deleted; the rest
+ * stay in the outbox for the next run.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "OUTBOX_RELAY_ENABLED", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final JpaOutboxEventRepository outboxEventRepository;
+    private final RabbitMQEventBus rabbitMQEventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+
+    public OutboxRelay(
+            JpaOutboxEventRepository outboxEventRepository,
+            RabbitMQEventBus rabbitMQEventBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${OUTBOX_RELAY_BATCH_SIZE:500}") int batchSize,
+            @Value("${OUTBOX_RELAY_CONFIRM_TIMEOUT_MS:10000}") long confirmTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitMQEventBus = rabbitMQEventBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${OUTBOX_RELAY_INTERVAL_MS:100}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayNextBatch());
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed - pending events will be retried", e);
+        }
+    }
+
+    private int relayNextBatch() {
+        List<OutboxEventEntity> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> confirms = rabbitMQEventBus.publish(batch.stream()
+                .map(OutboxRelay::toOutboundMessage)
+                .toList());
+        awaitConfirms(confirms);
+
+        List<OutboxEventEntity> published = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<Void> confirm = confirms.get(i);
+            if (confirm.isDone() && !confirm.isCompletedExceptionally()) {
+                published.add(batch.get(i));
+            }
+        }
+        outboxEventRepository.deleteAllInBatch(published);
+
+        if (published.size() < batch.size()) {
+            log.warn("Relayed {} of {} outbox events - the rest will be retried",
+                    published.size(), batch.size());
+        } else {
+            log.debug("Relayed {} outbox events", batch.size());
+        }
+        return published.size();
+    }
+
+    private void awaitConfirms(List<CompletableFuture<Void>> confirms) {
+        try {
+            CompletableFuture.allOf(confirms.toArray(CompletableFuture[]::new))
+                    .get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // individual failures are inspected by the caller
+        } catch (TimeoutException e) {
+            log.warn("Timed out after {} ms waiting for publisher confirms", confirmTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for publisher confirms", e);
+        }
+    }
+
+    private static OutboundMessage toOutboundMessage(OutboxEventEntity entity) {
+        return new OutboundMessage(
+                entity.getEventId(),
+                entity.getEventType(),
+                entity.getPayloadType(),
+                entity.getPayload());
+    }
+}
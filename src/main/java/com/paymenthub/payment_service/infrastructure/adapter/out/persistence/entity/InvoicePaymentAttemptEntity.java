@@ -0,0 +1,21 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-invoice attempt counter. Its row lock serializes concurrent payment
+ * attempts for the same invoice.
+ */
+@Entity
+@Table(name = "invoice_payment_attempts")
+@Data
+@NoArgsConstructor
+public class InvoicePaymentAttemptEntity {
+    @Id
+    private String invoiceId;
+
+    @Column(nullable = false)
+    private int attempts;
+}
@@ -1,5 +1,6 @@
 package com.paymenthub.payment_service.infrastructure.adapter.out.persistence.entity;
 
+import com.paymenthub.payment_service.domain.enums.GatewayOperation;
 import com.paymenthub.payment_service.domain.enums.PaymentStatus;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -47,4 +48,15 @@ public class PaymentEntity {
     private LocalDateTime capturedAt;
 
     private LocalDateTime expiresAt;
+
+    /**
+     * Set by the repository while a capture or void is in flight; never
+     * written from the domain model.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private GatewayOperation pendingOperation;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.paymenthub.payment_service.infrastructure.adapter.out.persistence.mapper;
 
 import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.valueobject.CurrencyUnit;
 import com.paymenthub.payment_service.domain.valueobject.InvoiceId;
 import com.paymenthub.payment_service.domain.valueobject.Money;
 import com.paymenthub.payment_service.domain.valueobject.PaymentMethodId;
@@ -8,14 +9,18 @@ import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.ent
 
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 @Component
 public class PaymentMapper {
 
     public Payment toDomainEntity(PaymentEntity entity) {
-        Money authorized = new Money(entity.getAuthorizedAmount(), entity.getCurrency());
-        Money requestedAmount = new Money(entity.getRequestedAmount(), entity.getCurrency());
+        CurrencyUnit currency = CurrencyUnit.of(entity.getCurrency());
+        Money authorized = toMoney(entity.getAuthorizedAmount(), currency);
+        Money requestedAmount = toMoney(entity.getRequestedAmount(), currency);
         Money captured = entity.getCapturedAmount() != null
-                ? new Money(entity.getCapturedAmount(), entity.getCurrency())
+                ? toMoney(entity.getCapturedAmount(), currency)
                 : null;
 
         return Payment.builder()
@@ -31,9 +36,20 @@ public class PaymentMapper {
                 .capturedAt(entity.getCapturedAt())
                 .expiresAt(entity.getExpiresAt())
                 .paymentMethodId(new PaymentMethodId(entity.getPaymentMethodId()))
+                .version(entity.getVersion())
                 .build();
     }
 
+    /**
+     * Rows written before amounts were validated hold every currency at scale
+     * 2, rounded HALF_UP, so a JPY amount may read as 1000.50. They are rounded
+     * the same way to the currency's scale rather than rejected, which would
+     * make the payment unreadable; inbound amounts stay strictly validated.
+     */
+    private static Money toMoney(BigDecimal amount, CurrencyUnit currency) {
+        return new Money(amount.setScale(currency.getExponent(), RoundingMode.HALF_UP), currency);
+    }
+
     public PaymentEntity toJpaEntity(Payment payment) {
         PaymentEntity entity = new PaymentEntity();
         entity.setId(payment.getId());
@@ -49,6 +65,7 @@ public class PaymentMapper {
         entity.setCapturedAt(payment.getCapturedAt());
         entity.setExpiresAt(payment.getExpiresAt());
         entity.setPaymentMethodId(payment.getPaymentMethodId().getValue());
+        entity.setVersion(payment.getVersion());
         return entity;
     }
 }
\ No newline at end of file
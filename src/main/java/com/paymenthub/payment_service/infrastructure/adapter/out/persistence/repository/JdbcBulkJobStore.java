@@ -0,0 +1,187 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.persistence.repository;
+
+import com.paymenthub.payment_service.application.dto.result.BulkItemFailure;
+import com.paymenthub.payment_service.application.dto.result.BulkJobStatus;
+import com.paymenthub.payment_service.application.port.in.command.BulkJobTarget;
+import com.paymenthub.payment_service.application.port.out.BulkJob;
+import com.paymenthub.payment_service.application.port.out.BulkJobStore;
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.mapper.PaymentMapper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+class JdbcBulkJobStore implements BulkJobStore {
+
+    private static final String INSERT_JOB_SQL = """
+            insert into bulk_jobs (id, action, target, state, total, succeeded, failed, created_at)
+            values (?, ?, ?, ?, 0, 0, 0, ?)
+            """;
+
+    /*
+     * Targets are resolved to payment ids once, so every chunk is a range
+     * scan over the job's primary key instead of a join against all invoices.
+     */
+    private static final String INSERT_PAYMENT_TARGETS_SQL = """
+            insert into bulk_job_targets (job_id, payment_id)
+            select ?, p.id from payments p
+            where p.id = any (?) and p.status = 'AUTHORIZED'
+            on conflict do nothing
+            """;
+
+    private static final String INSERT_INVOICE_TARGETS_SQL = """
+            insert into bulk_job_targets (job_id, payment_id)
+            select ?, p.id from payments p
+            where p.invoice_id = any (?) and p.status = 'AUTHORIZED'
+            on conflict do nothing
+            """;
+
+    private static final String CLAIM_JOB_SQL = """
+            update bulk_jobs
+            set owner = ?, lease_until = localtimestamp + ? * interval '1 second'
+            where id = (
+                select id from bulk_jobs
+                where action = ?
+                  and state = 'RUNNING'
+                  and (lease_until is null or lease_until < localtimestamp)
+                order by created_at
+                limit 1
+                for update skip locked
+            )
+            returning id, action, target, state, total, succeeded, failed, last_payment_id, created_at, completed_at
+            """;
+
+    private static final String RECORD_PROGRESS_SQL = """
+            update bulk_jobs
+            set last_payment_id = ?, succeeded = succeeded + ?, failed = failed + ?,
+                lease_until = localtimestamp + ? * interval '1 second'
+            where id = ? and owner = ?
+            """;
+
+    private static final String RENEW_LEASE_SQL = """
+            update bulk_jobs
+            set lease_until = localtimestamp + ? * interval '1 second'
+            where id = ? and owner = ? and state = 'RUNNING'
+            """;
+
+    private static final String INSERT_FAILURE_SQL = """
+            insert into bulk_job_failures (job_id, payment_id, error)
+            values (?, ?, ?)
+            on conflict (job_id, payment_id) do update set error = excluded.error
+            """;
+
+    private static final String COMPLETE_JOB_SQL = """
+            update bulk_jobs
+            set state = ?, completed_at = localtimestamp, owner = null, lease_until = null
+            where id = ? and owner = ?
+            """;
+
+    private static final RowMapper<BulkJob> JOB_ROW_MAPPER = (rs, rowNum) -> new BulkJob(
+            rs.getString("id"),
+            BulkJob.Action.valueOf(rs.getString("action")),
+            BulkJobTarget.valueOf(rs.getString("target")),
+            BulkJobStatus.State.valueOf(rs.getString("state")),
+            rs.getInt("total"),
+            rs.getInt("succeeded"),
+            rs.getInt("failed"),
+            rs.getString("last_payment_id"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            Optional.ofNullable(rs.getTimestamp("completed_at")).map(Timestamp::toLocalDateTime).orElse(null));
+
+    private static final int FAILURE_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JpaPaymentRepository jpaPaymentRepository;
+    private final PaymentMapper paymentMapper;
+
+    @Override
+    public BulkJob create(BulkJob job, Collection<String> ids) {
+        jdbcTemplate.update(INSERT_JOB_SQL, job.id(), job.action().name(), job.target().name(), job.state().name(),
+                Timestamp.valueOf(job.createdAt()));
+
+        String insertTargets = job.target() == BulkJobTarget.INVOICES
+                ? INSERT_INVOICE_TARGETS_SQL
+                : INSERT_PAYMENT_TARGETS_SQL;
+        int total = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(insertTargets);
+            ps.setString(1, job.id());
+            ps.setArray(2, connection.createArrayOf("varchar", ids.toArray()));
+            return ps;
+        });
+        jdbcTemplate.update("update bulk_jobs set total = ? where id = ?", total, job.id());
+
+        return new BulkJob(job.id(), job.action(), job.target(), job.state(), total, 0, 0, null, job.createdAt(), null);
+    }
+
+    @Override
+    public Optional<BulkJob> findById(String jobId) {
+        return jdbcTemplate.query("select * from bulk_jobs where id = ?", JOB_ROW_MAPPER, jobId)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<BulkItemFailure> findFailures(String jobId, int limit) {
+        return jdbcTemplate.query("""
+                select payment_id, error from bulk_job_failures
+                where job_id = ?
+                order by payment_id
+                limit ?
+                """,
+                (rs, rowNum) -> new BulkItemFailure(rs.getString("payment_id"), rs.getString("error")),
+                jobId, limit);
+    }
+
+    @Override
+    public Optional<BulkJob> claimNext(BulkJob.Action action, String owner, Duration lease) {
+        return jdbcTemplate.query(CLAIM_JOB_SQL, JOB_ROW_MAPPER, owner, lease.toSeconds(), action.name())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean renewLease(String jobId, String owner, Duration lease) {
+        return jdbcTemplate.update(RENEW_LEASE_SQL, lease.toSeconds(), jobId, owner) > 0;
+    }
+
+    @Override
+    public List<Payment> findNextTargets(String jobId, String afterPaymentId, int limit) {
+        return jpaPaymentRepository.findAuthorizedBulkJobTargets(jobId, afterPaymentId, limit)
+                .stream()
+                .map(paymentMapper::toDomainEntity)
+                .toList();
+    }
+
+    @Override
+    public boolean recordProgress(String jobId, String owner, String lastPaymentId, int succeeded,
+            List<BulkItemFailure> failures, Duration lease) {
+        int updated = jdbcTemplate.update(RECORD_PROGRESS_SQL, lastPaymentId, succeeded, failures.size(),
+                lease.toSeconds(), jobId, owner);
+        if (updated == 0) {
+            return false;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_FAILURE_SQL, failures, FAILURE_BATCH_SIZE, (ps, failure) -> {
+            ps.setString(1, jobId);
+            ps.setString(2, failure.paymentId());
+            ps.setString(3, failure.error());
+        });
+        return true;
+    }
+
+    @Override
+    public void complete(String jobId, String owner) {
+        jdbcTemplate.update(COMPLETE_JOB_SQL, BulkJobStatus.State.COMPLETED.name(), jobId, owner);
+    }
+}
@@ -0,0 +1,77 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.persistence.repository;
+
+import com.paymenthub.payment_service.application.port.out.IdempotencyRecord;
+import com.paymenthub.payment_service.application.port.out.IdempotencyStore;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+class JdbcIdempotencyStore implements IdempotencyStore {
+
+    /*
+     * Inserts the key, or takes over an in-progress row whose holder let its
+     * lock expire. Returns a row only if the caller now holds the key.
+     */
+    private static final String CLAIM_SQL = """
+            insert into idempotency_keys (idempotency_key, fingerprint, locked_until, expires_at)
+            values (?, ?, localtimestamp + ? * interval '1 millisecond', localtimestamp + ? * interval '1 second')
+            on conflict (idempotency_key) do update
+            set fingerprint = excluded.fingerprint, locked_until = excluded.locked_until,
+                expires_at = excluded.expires_at
+            where idempotency_keys.response_status is null
+              and idempotency_keys.locked_until < localtimestamp
+            returning idempotency_key
+            """;
+
+    private static final String FIND_SQL = """
+            select fingerprint, response_status, response_body from idempotency_keys
+            where idempotency_key = ?
+            """;
+
+    private static final String COMPLETE_SQL = """
+            update idempotency_keys
+            set response_status = ?, response_body = ?, locked_until = null
+            where idempotency_key = ?
+            """;
+
+    private static final RowMapper<IdempotencyRecord> RECORD_ROW_MAPPER = (rs, rowNum) -> new IdempotencyRecord(
+            rs.getString("fingerprint"),
+            (Integer) rs.getObject("response_status"),
+            rs.getString("response_body"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint, Duration lock, Duration ttl) {
+        boolean claimed = !jdbcTemplate.queryForList(CLAIM_SQL, String.class,
+                key, fingerprint, lock.toMillis(), ttl.toSeconds()).isEmpty();
+        if (claimed) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(FIND_SQL, RECORD_ROW_MAPPER, key).stream()
+                .findFirst()
+                .or(() -> claim(key, fingerprint, lock, ttl));
+    }
+
+    @Override
+    public void complete(String key, int responseStatus, String responseBody) {
+        jdbcTemplate.update(COMPLETE_SQL, responseStatus, responseBody, key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and response_status is null", key);
+    }
+
+    @Override
+    public int purgeExpired() {
+        return jdbcTemplate.update("delete from idempotency_keys where expires_at < localtimestamp");
+    }
+}
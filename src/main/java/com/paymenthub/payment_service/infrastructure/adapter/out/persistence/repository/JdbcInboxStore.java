@@ -0,0 +1,52 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.persistence.repository;
+
+import com.paymenthub.payment_service.application.port.out.InboxStore;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+class JdbcInboxStore implements InboxStore {
+
+    private static final String INSERT_SQL = """
+            insert into inbox_messages (message_id, received_at)
+            values (?, localtimestamp)
+            on conflict (message_id) do nothing
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean contains(String messageId) {
+        return !jdbcTemplate.queryForList("select 1 from inbox_messages where message_id = ?", Integer.class,
+                messageId).isEmpty();
+    }
+
+    @Override
+    public void record(Collection<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, messageIds, messageIds.size(),
+                (ps, messageId) -> ps.setString(1, messageId));
+    }
+
+    @Override
+    public List<String> findRecent(int limit) {
+        return jdbcTemplate.queryForList(
+                "select message_id from inbox_messages order by received_at desc limit ?", String.class, limit);
+    }
+
+    @Override
+    public int purgeOlderThan(Duration retention) {
+        return jdbcTemplate.update(
+                "delete from inbox_messages where received_at < localtimestamp - ? * interval '1 second'",
+                retention.toSeconds());
+    }
+}
@@ -1,12 +1,21 @@
 package com.paymenthub.payment_service.infrastructure.adapter.out.persistence.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.paymenthub.payment_service.domain.enums.PaymentStatus;
 import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.entity.PaymentEntity;
 
-interface JpaPaymentRepository extends JpaRepository<PaymentEntity, String> {
+interface JpaPaymentRepository extends JpaRepository<PaymentEntity, String>, JpaSpecificationExecutor<PaymentEntity> {
     boolean existsByInvoiceId(String invoiceId);
 
     PaymentEntity findByInvoiceId(String invoiceId);
@@ -17,4 +26,52 @@ interface JpaPaymentRepository extends JpaRepository<PaymentEntity, String> {
 
     boolean existsByInvoiceIdAndStatusIn(String invoiceId, List<PaymentStatus> statuses);
 
-}
\ No newline at end of file
+    /**
+     * Writes the mutable state of an existing payment with a single UPDATE,
+     * guarded by its version. A state transition completes any capture or
+     * void that was in flight, so its marker is cleared as well.
+     *
+     * @return 0 if the row was changed concurrently
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update PaymentEntity p
+            set p.authorizedAmount = :#{#payment.authorizedAmount},
+                p.capturedAmount = :#{#payment.capturedAmount},
+                p.status = :#{#payment.status},
+                p.paymentGatewayReferenceId = :#{#payment.paymentGatewayReferenceId},
+                p.authorizedAt = :#{#payment.authorizedAt},
+                p.capturedAt = :#{#payment.capturedAt},
+                p.expiresAt = :#{#payment.expiresAt},
+                p.pendingOperation = null,
+                p.version = p.version + 1
+            where p.id = :#{#payment.id}
+              and p.version = :#{#payment.version}
+            """)
+    int updateState(@Param("payment") PaymentEntity payment);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from PaymentEntity p where p.id = :id")
+    Optional<PaymentEntity> findByIdForUpdate(@Param("id") String id);
+
+    @Query(value = """
+            select p.* from bulk_job_targets t
+            join payments p on p.id = t.payment_id
+            where t.job_id = :jobId
+              and t.payment_id > :afterId
+              and p.status = 'AUTHORIZED'
+            order by t.payment_id
+            limit :limit
+            """, nativeQuery = true)
+    List<PaymentEntity> findAuthorizedBulkJobTargets(
+            @Param("jobId") String jobId,
+            @Param("afterId") String afterId,
+            @Param("limit") int limit);
+
+    @Query(value = """
+            select count(*) from payments
+            where status = 'AUTHORIZED'
+              and expires_at < :now
+            """, nativeQuery = true)
+    long countExpiredAuthorizations(@Param("now") LocalDateTime now);
+}
@@ -1,29 +1,341 @@
 package com.paymenthub.payment_service.infrastructure.adapter.out.persistence.repository;
 
 import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.enums.GatewayOperation;
+import com.paymenthub.payment_service.domain.enums.PaymentAttemptOutcome;
 import com.paymenthub.payment_service.domain.enums.PaymentStatus;
 import com.paymenthub.payment_service.domain.repository.PaymentRepository;
 import com.paymenthub.payment_service.domain.valueobject.InvoiceId;
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCriteria;
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCursor;
 import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.entity.PaymentEntity;
 import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.mapper.PaymentMapper;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Repository
 @RequiredArgsConstructor
 class JpaPaymentRepositoryAdapter implements PaymentRepository {
+
+    /*
+     * Records the attempt and inserts the payment in a single statement. The
+     * upsert on invoice_payment_attempts locks the invoice's counter row, so
+     * concurrent attempts for one invoice are serialized; the partial unique
+     * index ux_payments_active_invoice turns a second active payment into a
+     * no-op insert. Invoices created before the counter existed start from
+     * their current payment count.
+     *
+     * A statement cannot see its own counter upsert, so an attempt whose
+     * payment was not inserted is taken back by UNCOUNT_ATTEMPTS_SQL in the
+     * same transaction, while the counter row is still locked. Redelivered
+     * or duplicate requests therefore do not use up the invoice's attempts.
+     */
+    private static final String INSERT_ATTEMPT_SQL = """
+            with attempt as (
+                insert into invoice_payment_attempts as a (invoice_id, attempts)
+                values (?, 1 + (select count(*) from payments where invoice_id = ?))
+                on conflict (invoice_id) do update set attempts = a.attempts + 1
+                where a.attempts < ?
+                returning a.attempts
+            ),
+            inserted as (
+                insert into payments (id, invoice_id, payment_method_id, requested_amount, authorized_amount,
+                                      captured_amount, currency, status, payment_gateway_reference_id,
+                                      created_at, authorized_at, captured_at, expires_at, version)
+                select ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0
+                from attempt
+                where attempt.attempts <= ?
+                on conflict (invoice_id) where status in ('PENDING', 'AUTHORIZED', 'CAPTURED') do nothing
+                returning id
+            )
+            select (select attempts from attempt) as attempts,
+                   (select count(*) from inserted) as inserted
+            """;
+
+    /*
+     * Set-based form of INSERT_ATTEMPT_SQL for a batch of payments with
+     * distinct invoices, passed as one array per column. Counter rows are
+     * upserted in invoice order so concurrent batches lock them in the same
+     * order. Each input row comes back with its attempt count (null when the
+     * counter was already exhausted) and whether its payment was inserted.
+     */
+    private static final String INSERT_ATTEMPTS_SQL = """
+            with candidate as (
+                select * from unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::numeric[], ?::numeric[],
+                                     ?::numeric[], ?::varchar[], ?::varchar[], ?::varchar[], ?::timestamp[],
+                                     ?::timestamp[], ?::timestamp[], ?::timestamp[])
+                    as c(id, invoice_id, payment_method_id, requested_amount, authorized_amount, captured_amount,
+                         currency, status, payment_gateway_reference_id, created_at, authorized_at, captured_at,
+                         expires_at)
+            ),
+            attempt as (
+                insert into invoice_payment_attempts as a (invoice_id, attempts)
+                select c.invoice_id, 1 + (select count(*) from payments p where p.invoice_id = c.invoice_id)
+                from candidate c
+                order by c.invoice_id
+                on conflict (invoice_id) do update set attempts = a.attempts + 1
+                where a.attempts < ?
+                returning a.invoice_id, a.attempts
+            ),
+            inserted as (
+                insert into payments (id, invoice_id, payment_method_id, requested_amount, authorized_amount,
+                                      captured_amount, currency, status, payment_gateway_reference_id,
+                                      created_at, authorized_at, captured_at, expires_at, version)
+                select c.id, c.invoice_id, c.payment_method_id, c.requested_amount, c.authorized_amount,
+                       c.captured_amount, c.currency, c.status, c.payment_gateway_reference_id,
+                       c.created_at, c.authorized_at, c.captured_at, c.expires_at, 0
+                from candidate c
+                join attempt on attempt.invoice_id = c.invoice_id
+                where attempt.attempts <= ?
+                on conflict (invoice_id) where status in ('PENDING', 'AUTHORIZED', 'CAPTURED') do nothing
+                returning id
+            )
+            select c.id, c.invoice_id, attempt.attempts, inserted.id is not null as inserted
+            from candidate c
+            left join attempt on attempt.invoice_id = c.invoice_id
+            left join inserted on inserted.id = c.id
+            """;
+
+    private static final String UNCOUNT_ATTEMPTS_SQL = """
+            update invoice_payment_attempts set attempts = attempts - 1
+            where invoice_id = any (?)
+            """;
+
+    private static final String UPDATE_STATE_SQL = """
+            update payments
+            set authorized_amount = ?, captured_amount = ?, status = ?, payment_gateway_reference_id = ?,
+                authorized_at = ?, captured_at = ?, expires_at = ?, pending_operation = null,
+                version = version + 1
+            where id = ? and version = ?
+            """;
+
+    /*
+     * The lease is a timestamp rather than a row lock, so the gateway calls
+     * that follow run outside any transaction. SKIP LOCKED only keeps two
+     * concurrent lease statements from blocking on each other.
+     */
+    private static final String LEASE_EXPIRED_SQL = """
+            update payments set sweep_lease_until = ?
+            where id in (
+                select id from payments
+                where status = 'AUTHORIZED'
+                  and expires_at < ?
+                  and pending_operation is null
+                  and (sweep_lease_until is null or sweep_lease_until < ?)
+                order by expires_at
+                limit ?
+                for update skip locked
+            )
+            returning id
+            """;
+
+    private static final String LEASE_ORPHANED_SQL = """
+            update payments set sweep_lease_until = ?
+            where id in (
+                select id from payments
+                where status = 'PENDING'
+                  and created_at < ?
+                  and (sweep_lease_until is null or sweep_lease_until < ?)
+                order by created_at
+                limit ?
+                for update skip locked
+            )
+            returning id
+            """;
+
+    /*
+     * Capture and void share the sweeper's lease column, so an authorization
+     * is only ever in one gateway call at a time. A marked row is left to
+     * recovery even after its lease lapses: the sweeper must not void an
+     * authorization whose capture may have gone through.
+     */
+    private static final String START_OPERATIONS_SQL = """
+            update payments set pending_operation = ?, sweep_lease_until = ?
+            where id = any (?)
+              and status = 'AUTHORIZED'
+              and pending_operation is null
+              and (sweep_lease_until is null or sweep_lease_until < ?)
+            returning id
+            """;
+
+    private static final String RELEASE_OPERATIONS_SQL = """
+            update payments set pending_operation = null, sweep_lease_until = null
+            where id = any (?) and pending_operation is not null
+            """;
+
+    private static final String LEASE_INTERRUPTED_SQL = """
+            update payments set sweep_lease_until = ?
+            where id in (
+                select id from payments
+                where pending_operation = ?
+                  and sweep_lease_until < ?
+                order by sweep_lease_until
+                limit ?
+                for update skip locked
+            )
+            returning id
+            """;
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final Sort SEARCH_ORDER = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final JpaPaymentRepository jpaPaymentRepository;
     private final PaymentMapper paymentMapper;
+    private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * New payments are persisted with a single INSERT and existing ones are
+     * written with a single versioned UPDATE; neither path reads the row
+     * first. The given instance is returned with its new version.
+     */
     @Override
     public Payment save(Payment payment) {
         PaymentEntity paymentJpaEntity = paymentMapper.toJpaEntity(payment);
-        PaymentEntity savedEntity = jpaPaymentRepository.save(paymentJpaEntity);
-        return paymentMapper.toDomainEntity(savedEntity);
+
+        if (payment.isNew()) {
+            jpaPaymentRepository.save(paymentJpaEntity);
+            payment.markPersisted(Objects.requireNonNullElse(paymentJpaEntity.getVersion(), 0L));
+            return payment;
+        }
+
+        if (jpaPaymentRepository.updateState(paymentJpaEntity) == 0) {
+            throw new ObjectOptimisticLockingFailureException(PaymentEntity.class, payment.getId());
+        }
+        payment.markPersisted(payment.getVersion() + 1);
+        return payment;
+    }
+
+    @Override
+    public PaymentAttemptOutcome insertAttempt(Payment payment, int maxAttempts) {
+        PaymentEntity entity = paymentMapper.toJpaEntity(payment);
+
+        PaymentAttemptOutcome outcome = jdbcTemplate.query(INSERT_ATTEMPT_SQL, ps -> {
+            ps.setString(1, entity.getInvoiceId());
+            ps.setString(2, entity.getInvoiceId());
+            ps.setInt(3, maxAttempts);
+            setPaymentColumns(ps, 4, entity);
+            ps.setInt(17, maxAttempts);
+        }, rs -> {
+            rs.next();
+            int attempts = rs.getInt("attempts");
+            boolean counted = !rs.wasNull();
+            if (rs.getInt("inserted") > 0) {
+                return PaymentAttemptOutcome.RECORDED;
+            }
+            if (counted) {
+                uncountAttempts(List.of(entity.getInvoiceId()));
+            }
+            return !counted || attempts > maxAttempts
+                    ? PaymentAttemptOutcome.ATTEMPTS_EXHAUSTED
+                    : PaymentAttemptOutcome.ACTIVE_PAYMENT_EXISTS;
+        });
+
+        if (outcome == PaymentAttemptOutcome.RECORDED) {
+            payment.markPersisted(0L);
+        }
+        return outcome;
+    }
+
+    @Override
+    public List<PaymentAttemptOutcome> insertAttempts(List<Payment> payments, int maxAttempts) {
+        List<PaymentAttemptOutcome> outcomes = new ArrayList<>(payments.size());
+        for (int from = 0; from < payments.size(); from += INSERT_BATCH_SIZE) {
+            outcomes.addAll(insertAttemptChunk(
+                    payments.subList(from, Math.min(from + INSERT_BATCH_SIZE, payments.size())), maxAttempts));
+        }
+        return outcomes;
+    }
+
+    private List<PaymentAttemptOutcome> insertAttemptChunk(List<Payment> payments, int maxAttempts) {
+        List<PaymentEntity> entities = payments.stream()
+                .map(paymentMapper::toJpaEntity)
+                .toList();
+
+        List<String> uncounted = new ArrayList<>();
+        Map<String, PaymentAttemptOutcome> outcomesById = jdbcTemplate.query(INSERT_ATTEMPTS_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            int i = 1;
+            ps.setArray(i++, column(connection, "varchar", entities, PaymentEntity::getId));
+            ps.setArray(i++, column(connection, "varchar", entities, PaymentEntity::getInvoiceId));
+            ps.setArray(i++, column(connection, "varchar", entities, PaymentEntity::getPaymentMethodId));
+            ps.setArray(i++, column(connection, "numeric", entities, PaymentEntity::getRequestedAmount));
+            ps.setArray(i++, column(connection, "numeric", entities, PaymentEntity::getAuthorizedAmount));
+            ps.setArray(i++, column(connection, "numeric", entities, PaymentEntity::getCapturedAmount));
+            ps.setArray(i++, column(connection, "varchar", entities, PaymentEntity::getCurrency));
+            ps.setArray(i++, column(connection, "varchar", entities, entity -> entity.getStatus().name()));
+            ps.setArray(i++, column(connection, "varchar", entities, PaymentEntity::getPaymentGatewayReferenceId));
+            ps.setArray(i++, column(connection, "timestamp", entities, entity -> toTimestamp(entity.getCreatedAt())));
+            ps.setArray(i++, column(connection, "timestamp", entities,
+                    entity -> toTimestamp(entity.getAuthorizedAt())));
+            ps.setArray(i++, column(connection, "timestamp", entities,
+                    entity -> toTimestamp(entity.getCapturedAt())));
+            ps.setArray(i++, column(connection, "timestamp", entities, entity -> toTimestamp(entity.getExpiresAt())));
+            ps.setInt(i++, maxAttempts);
+            ps.setInt(i, maxAttempts);
+        }, rs -> {
+            Map<String, PaymentAttemptOutcome> outcomes = new HashMap<>();
+            while (rs.next()) {
+                int attempts = rs.getInt("attempts");
+                boolean counted = !rs.wasNull();
+                PaymentAttemptOutcome outcome;
+                if (rs.getBoolean("inserted")) {
+                    outcome = PaymentAttemptOutcome.RECORDED;
+                } else {
+                    if (counted) {
+                        uncounted.add(rs.getString("invoice_id"));
+                    }
+                    outcome = !counted || attempts > maxAttempts
+                            ? PaymentAttemptOutcome.ATTEMPTS_EXHAUSTED
+                            : PaymentAttemptOutcome.ACTIVE_PAYMENT_EXISTS;
+                }
+                outcomes.put(rs.getString("id"), outcome);
+            }
+            return outcomes;
+        });
+        uncountAttempts(uncounted);
+
+        List<PaymentAttemptOutcome> outcomes = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            PaymentAttemptOutcome outcome = outcomesById.get(payment.getId());
+            if (outcome == PaymentAttemptOutcome.RECORDED) {
+                payment.markPersisted(0L);
+            }
+            outcomes.add(outcome);
+        }
+        return outcomes;
+    }
+
+    private void uncountAttempts(List<String> invoiceIds) {
+        if (invoiceIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UNCOUNT_ATTEMPTS_SQL);
+            ps.setArray(1, connection.createArrayOf("varchar", invoiceIds.toArray()));
+            return ps;
+        });
     }
 
     @Override
@@ -32,6 +344,132 @@ class JpaPaymentRepositoryAdapter implements PaymentRepository {
                 .map(paymentMapper::toDomainEntity);
     }
 
+    @Override
+    public List<Payment> updateAll(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return List.of();
+        }
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_STATE_SQL, payments, INSERT_BATCH_SIZE,
+                (ps, payment) -> {
+                    PaymentEntity entity = paymentMapper.toJpaEntity(payment);
+                    ps.setBigDecimal(1, entity.getAuthorizedAmount());
+                    ps.setBigDecimal(2, entity.getCapturedAmount());
+                    ps.setString(3, entity.getStatus().name());
+                    ps.setString(4, entity.getPaymentGatewayReferenceId());
+                    ps.setTimestamp(5, toTimestamp(entity.getAuthorizedAt()));
+                    ps.setTimestamp(6, toTimestamp(entity.getCapturedAt()));
+                    ps.setTimestamp(7, toTimestamp(entity.getExpiresAt()));
+                    ps.setString(8, entity.getId());
+                    ps.setLong(9, entity.getVersion());
+                });
+
+        List<Payment> stale = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updateCounts) {
+            for (int updated : batch) {
+                Payment payment = payments.get(index++);
+                if (updated == 0) {
+                    stale.add(payment);
+                } else {
+                    payment.markPersisted(payment.getVersion() + 1);
+                }
+            }
+        }
+        return stale;
+    }
+
+    @Override
+    public List<Payment> findAllById(Collection<String> ids) {
+        return jpaPaymentRepository.findAllById(ids)
+                .stream()
+                .map(paymentMapper::toDomainEntity)
+                .toList();
+    }
+
+    @Override
+    public Optional<Payment> findByIdForUpdate(String id) {
+        return jpaPaymentRepository.findByIdForUpdate(id)
+                .map(paymentMapper::toDomainEntity);
+    }
+
+    @Override
+    public List<Payment> leaseOrphanedPayments(LocalDateTime createdBefore, LocalDateTime now,
+            LocalDateTime leaseUntil, int limit) {
+        List<String> ids = jdbcTemplate.queryForList(LEASE_ORPHANED_SQL, String.class,
+                toTimestamp(leaseUntil), toTimestamp(createdBefore), toTimestamp(now), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return findAllById(ids);
+    }
+
+    @Override
+    public List<Payment> leaseExpiredAuthorizations(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        List<String> ids = jdbcTemplate.queryForList(LEASE_EXPIRED_SQL, String.class,
+                toTimestamp(leaseUntil), toTimestamp(now), toTimestamp(now), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return findAllById(ids);
+    }
+
+    @Override
+    public long countExpiredAuthorizations(LocalDateTime now) {
+        return jpaPaymentRepository.countExpiredAuthorizations(now);
+    }
+
+    @Override
+    public boolean startGatewayOperation(String id, GatewayOperation operation, LocalDateTime now,
+            LocalDateTime leaseUntil) {
+        return startGatewayOperations(List.of(id), operation, now, leaseUntil).contains(id);
+    }
+
+    @Override
+    public Set<String> startGatewayOperations(Collection<String> ids, GatewayOperation operation,
+            LocalDateTime now, LocalDateTime leaseUntil) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        List<String> started = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(START_OPERATIONS_SQL);
+            ps.setString(1, operation.name());
+            ps.setTimestamp(2, toTimestamp(leaseUntil));
+            ps.setArray(3, connection.createArrayOf("varchar", ids.toArray()));
+            ps.setTimestamp(4, toTimestamp(now));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(started);
+    }
+
+    @Override
+    public void releaseGatewayOperation(String id) {
+        releaseGatewayOperations(List.of(id));
+    }
+
+    @Override
+    public void releaseGatewayOperations(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(RELEASE_OPERATIONS_SQL);
+            ps.setArray(1, connection.createArrayOf("varchar", ids.toArray()));
+            return ps;
+        });
+    }
+
+    @Override
+    public List<Payment> leaseInterruptedOperations(GatewayOperation operation, LocalDateTime now,
+            LocalDateTime leaseUntil, int limit) {
+        List<String> ids = jdbcTemplate.queryForList(LEASE_INTERRUPTED_SQL, String.class,
+                toTimestamp(leaseUntil), operation.name(), toTimestamp(now), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return findAllById(ids);
+    }
+
     @Override
     public boolean existsByInvoiceId(InvoiceId invoiceId) {
         return jpaPaymentRepository.existsByInvoiceId(invoiceId.getValue());
@@ -63,4 +501,40 @@ class JpaPaymentRepositoryAdapter implements PaymentRepository {
                 statuses);
     }
 
-}
\ No newline at end of file
+    @Override
+    public List<Payment> search(PaymentSearchCriteria criteria, PaymentSearchCursor after, int limit) {
+        return jpaPaymentRepository.findBy(
+                PaymentSpecifications.matching(criteria, after),
+                query -> query.sortBy(SEARCH_ORDER).limit(limit).all())
+                .stream()
+                .map(paymentMapper::toDomainEntity)
+                .toList();
+    }
+
+    private static void setPaymentColumns(PreparedStatement ps, int firstIndex, PaymentEntity entity)
+            throws SQLException {
+        int i = firstIndex;
+        ps.setString(i++, entity.getId());
+        ps.setString(i++, entity.getInvoiceId());
+        ps.setString(i++, entity.getPaymentMethodId());
+        ps.setBigDecimal(i++, entity.getRequestedAmount());
+        ps.setBigDecimal(i++, entity.getAuthorizedAmount());
+        ps.setBigDecimal(i++, entity.getCapturedAmount());
+        ps.setString(i++, entity.getCurrency());
+        ps.setString(i++, entity.getStatus().name());
+        ps.setString(i++, entity.getPaymentGatewayReferenceId());
+        ps.setTimestamp(i++, toTimestamp(entity.getCreatedAt()));
+        ps.setTimestamp(i++, toTimestamp(entity.getAuthorizedAt()));
+        ps.setTimestamp(i++, toTimestamp(entity.getCapturedAt()));
+        ps.setTimestamp(i, toTimestamp(entity.getExpiresAt()));
+    }
+
+    private static Array column(Connection connection, String sqlType, List<PaymentEntity> entities,
+            Function<PaymentEntity, Object> value) throws SQLException {
+        return connection.createArrayOf(sqlType, entities.stream().map(value).toArray());
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
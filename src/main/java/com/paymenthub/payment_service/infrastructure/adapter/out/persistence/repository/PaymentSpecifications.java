@@ -0,0 +1,54 @@
+package com.paymenthub.payment_service.infrastructure.adapter.out.persistence.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCriteria;
+import com.paymenthub.payment_service.domain.valueobject.PaymentSearchCursor;
+import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.entity.PaymentEntity;
+
+final class PaymentSpecifications {
+
+    private PaymentSpecifications() {
+    }
+
+    static Specification<PaymentEntity> matching(PaymentSearchCriteria criteria, PaymentSearchCursor after) {
+        List<Specification<PaymentEntity>> specifications = new ArrayList<>();
+        if (criteria.status() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get("status"), criteria.status()));
+        }
+        if (criteria.currency() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get("currency"), criteria.currency()));
+        }
+        if (criteria.createdFrom() != null) {
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            specifications.add((root, query, cb) -> cb.lessThan(root.get("createdAt"), criteria.createdTo()));
+        }
+        if (criteria.expiresFrom() != null) {
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("expiresAt"), criteria.expiresFrom()));
+        }
+        if (criteria.expiresTo() != null) {
+            specifications.add((root, query, cb) -> cb.lessThan(root.get("expiresAt"), criteria.expiresTo()));
+        }
+        if (after != null) {
+            specifications.add(before(after));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    /*
+     * (created_at, id) < (:createdAt, :id), spelled out so it can use the
+     * (created_at, id) index when walking it backwards.
+     */
+    private static Specification<PaymentEntity> before(PaymentSearchCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.lessThan(root.get("id"), cursor.paymentId())));
+    }
+}
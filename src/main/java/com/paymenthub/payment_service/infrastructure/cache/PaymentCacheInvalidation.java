@@ -0,0 +1,9 @@
+package com.paymenthub.payment_service.infrastructure.cache;
+
+/**
+ * Broadcast to other nodes when a payment's cached state became stale.
+ */
+public record PaymentCacheInvalidation(
+        String paymentId,
+        String invoiceId) {
+}
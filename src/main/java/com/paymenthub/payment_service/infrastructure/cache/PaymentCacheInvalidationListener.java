@@ -0,0 +1,24 @@
+package com.paymenthub.payment_service.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies cache invalidations broadcast by other nodes. Each node consumes
+ * from its own exclusive queue bound to the fanout exchange.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "PAYMENT_CACHE_FANOUT_ENABLED", havingValue = "true")
+public class PaymentCacheInvalidationListener {
+
+    private final PaymentCacheInvalidator paymentCacheInvalidator;
+
+    @RabbitListener(queues = "#{paymentCacheInvalidationQueue.name}")
+    public void onInvalidation(PaymentCacheInvalidation invalidation) {
+        paymentCacheInvalidator.evict(invalidation.paymentId(), invalidation.invoiceId());
+    }
+}
@@ -0,0 +1,100 @@
+package com.paymenthub.payment_service.infrastructure.cache;
+
+import com.paymenthub.payment_service.application.cache.PaymentCacheNames;
+import com.paymenthub.payment_service.application.port.out.PaymentCacheEvictor;
+import com.paymenthub.payment_service.domain.events.PaymentEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Keeps the payment read caches consistent with the domain events raised by
+ * {@link com.paymenthub.payment_service.domain.entity.Payment}, and with
+ * new PENDING payments, which raise none and are reported through
+ * {@link PaymentCacheEvictor}.
+ *
+ * Entries are evicted both before and after the transition commits: the
+ * first eviction drops the old state, the second one drops anything a
+ * concurrent reader loaded from the database while the transaction was
+ * still open. With PAYMENT_CACHE_FANOUT_ENABLED the eviction is also
+ * broadcast to the other nodes.
+ */
+@Slf4j
+@Component
+public class PaymentCacheInvalidator implements PaymentCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final Optional<RabbitTemplate> fanoutTemplate;
+    private final String fanoutExchange;
+
+    public PaymentCacheInvalidator(
+            CacheManager cacheManager,
+            Optional<RabbitTemplate> rabbitTemplate,
+            @Value("${PAYMENT_CACHE_FANOUT_ENABLED:false}") boolean fanoutEnabled,
+            @Value("${PAYMENT_CACHE_FANOUT_EXCHANGE:payment_cache_invalidation}") String fanoutExchange) {
+        this.cacheManager = cacheManager;
+        this.fanoutTemplate = fanoutEnabled ? rabbitTemplate : Optional.empty();
+        this.fanoutExchange = fanoutExchange;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void evictBeforeCommit(PaymentEvent event) {
+        evict(event.getPaymentId(), event.getInvoiceId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void evictAfterCommit(PaymentEvent event) {
+        evictEverywhere(event.getPaymentId(), event.getInvoiceId());
+    }
+
+    @Override
+    public void evictInvoicePayments(String invoiceId) {
+        evictKey(PaymentCacheNames.INVOICE_PAYMENTS, invoiceId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictEverywhere(null, invoiceId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictEverywhere(null, invoiceId);
+            }
+        });
+    }
+
+    public void evict(String paymentId, String invoiceId) {
+        evictKey(PaymentCacheNames.PAYMENTS, paymentId);
+        evictKey(PaymentCacheNames.INVOICE_PAYMENTS, invoiceId);
+    }
+
+    private void evictEverywhere(String paymentId, String invoiceId) {
+        evict(paymentId, invoiceId);
+
+        fanoutTemplate.ifPresent(template -> {
+            try {
+                template.convertAndSend(fanoutExchange, "", new PaymentCacheInvalidation(paymentId, invoiceId));
+            } catch (Exception e) {
+                log.warn("Failed to broadcast cache invalidation for payment: {} of invoice: {}",
+                        paymentId, invoiceId, e);
+            }
+        });
+    }
+
+    private void evictKey(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.paymenthub.payment_service.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.paymenthub.payment_service.domain.identity.IdGenerator;
+import com.paymenthub.payment_service.domain.identity.Ids;
+import com.paymenthub.payment_service.domain.identity.RandomUuidGenerator;
+import com.paymenthub.payment_service.domain.identity.UuidV7Generator;
+
+/**
+ * Selects the id strategy with ID_GENERATOR: {@code uuidv7} (default) or
+ * {@code random} for version 4 UUIDs.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${ID_GENERATOR:uuidv7}") String strategy) {
+        IdGenerator generator = switch (strategy) {
+            case "uuidv7" -> new UuidV7Generator();
+            case "random" -> new RandomUuidGenerator();
+            default -> throw new IllegalStateException("Unknown ID_GENERATOR: " + strategy);
+        };
+        Ids.use(generator);
+        return generator;
+    }
+}
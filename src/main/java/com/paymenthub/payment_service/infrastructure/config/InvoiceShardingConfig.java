@@ -0,0 +1,147 @@
+package com.paymenthub.payment_service.infrastructure.config;
+
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.consumer.RabbitInvoiceEventConsumer;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.sharding.InvoiceShards;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharded invoice topology, enabled with INVOICE_SHARDING_ENABLED=true.
+ *
+ * Invoice events still arrive on the shared invoice queue, from which
+ * {@code InvoiceShardRouter} forwards each one to one of
+ * INVOICE_SHARD_COUNT shard queues chosen by its invoice id. Every shard
+ * queue has a single active consumer, so the events of one invoice are
+ * handled one at a time and in order, while different shards run in
+ * parallel.
+ *
+ * A node consumes the shards whose index modulo INVOICE_SHARD_NODE_COUNT
+ * equals its INVOICE_SHARD_NODE_INDEX. Because the queues only ever let one
+ * consumer be active, overlapping assignments during a rolling deploy or a
+ * misconfiguration cannot process a shard twice; the next consumer takes
+ * over only after the previous one's unacknowledged messages are requeued.
+ *
+ * To change INVOICE_SHARD_COUNT, stop the routers and let the shard queues
+ * drain before restarting with the new count, otherwise events of a moved
+ * invoice may still wait in its old shard.
+ *
+ * The adaptive invoice listener does not apply to shard consumers and is
+ * switched off while sharding is enabled.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "INVOICE_SHARDING_ENABLED", havingValue = "true")
+public class InvoiceShardingConfig {
+
+    public InvoiceShardingConfig(
+            @Value("${INVOICE_LISTENER_ADAPTIVE_ENABLED:false}") boolean adaptiveListenerEnabled) {
+        if (adaptiveListenerEnabled) {
+            log.warn("INVOICE_LISTENER_ADAPTIVE_ENABLED is ignored while INVOICE_SHARDING_ENABLED=true: "
+                    + "shard queues run one consumer each and are not tuned");
+        }
+    }
+
+    @Bean
+    public InvoiceShards invoiceShards(
+            @Value("${INVOICE_SHARD_COUNT:4}") int shardCount,
+            @Value("${INVOICE_QUEUE:invoice_events}") String invoiceQueue) {
+        return new InvoiceShards(shardCount, invoiceQueue);
+    }
+
+    @Bean
+    public DirectExchange invoiceShardExchange(
+            @Value("${INVOICE_SHARD_EXCHANGE:invoice_events.shards}") String exchange) {
+        return new DirectExchange(exchange, true, false);
+    }
+
+    @Bean
+    public Declarables invoiceShardQueues(InvoiceShards invoiceShards, DirectExchange invoiceShardExchange) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int shard = 0; shard < invoiceShards.count(); shard++) {
+            Queue queue = QueueBuilder.durable(invoiceShards.queueName(shard))
+                    .singleActiveConsumer()
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder
+                    .bind(queue)
+                    .to(invoiceShardExchange)
+                    .with(invoiceShards.routingKey(shard)));
+        }
+        return new Declarables(declarables);
+    }
+
+    /**
+     * Batches the router's deliveries so a batch can be forwarded on one
+     * channel and settled with a single multi-ack once it is confirmed.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory invoiceShardRouterContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${INVOICE_SHARD_ROUTER_BATCH_SIZE:100}") int batchSize,
+            @Value("${INVOICE_SHARD_ROUTER_RECEIVE_TIMEOUT_MS:50}") long receiveTimeoutMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setPrefetchCount(Math.max(batchSize, 250));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * One container with one consumer per owned shard, each handing its
+     * messages to the single-message invoice consumer.
+     */
+    @Bean
+    public RabbitListenerConfigurer invoiceShardListeners(
+            InvoiceShards invoiceShards,
+            ObjectProvider<RabbitInvoiceEventConsumer> invoiceEventConsumer,
+            @Value("${INVOICE_SHARD_NODE_INDEX:0}") int nodeIndex,
+            @Value("${INVOICE_SHARD_NODE_COUNT:1}") int nodeCount) {
+        RabbitInvoiceEventConsumer consumer = invoiceEventConsumer.getIfAvailable();
+        if (consumer == null) {
+            throw new IllegalStateException(
+                    "INVOICE_SHARDING_ENABLED requires the single-message invoice consumer; "
+                            + "disable INVOICE_CONSUMER_BATCH_ENABLED");
+        }
+        if (nodeCount < 1 || nodeIndex < 0 || nodeIndex >= nodeCount) {
+            throw new IllegalStateException("INVOICE_SHARD_NODE_INDEX must be in [0, INVOICE_SHARD_NODE_COUNT)");
+        }
+
+        return registrar -> {
+            for (int shard = nodeIndex; shard < invoiceShards.count(); shard += nodeCount) {
+                SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+                endpoint.setId("invoiceShard-" + shard);
+                endpoint.setQueueNames(invoiceShards.queueName(shard));
+                endpoint.setConcurrency("1");
+                endpoint.setMessageListener(message -> consumer.handleMessage(message,
+                        message.getMessageProperties().getHeader(InvoiceShards.ORIGINAL_ROUTING_KEY_HEADER)));
+                registrar.registerEndpoint(endpoint);
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.paymenthub.payment_service.infrastructure.config;
+
+import com.paymenthub.payment_service.infrastructure.monitoring.PortTimingPostProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Timers around the application's ports. SLO buckets for these and the
+ * other payments.* timers are set in application.properties.
+ *
+ * Metrics: payments.usecase tagged by use_case and method for every use case
+ * implementation, and payments.repository tagged by repository and method
+ * for the persistence adapters. Spring Data repositories are also timed by
+ * Spring Boot as spring.data.repository.invocations.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String BASE_PACKAGE = "com.paymenthub.payment_service";
+
+    @Bean
+    static PortTimingPostProcessor useCaseTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PortTimingPostProcessor(meterRegistry, "payments.usecase", "use_case",
+                BASE_PACKAGE + ".application.service",
+                BASE_PACKAGE + ".application.port.in.usecase");
+    }
+
+    @Bean
+    static PortTimingPostProcessor repositoryTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PortTimingPostProcessor(meterRegistry, "payments.repository", "repository",
+                BASE_PACKAGE + ".infrastructure.adapter.out.persistence",
+                BASE_PACKAGE + ".domain.repository",
+                BASE_PACKAGE + ".application.port.out");
+    }
+}
@@ -1,11 +1,18 @@
 package com.paymenthub.payment_service.infrastructure.config;
 
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -39,6 +46,12 @@ public class RabbitMQConfig {
     @Value("${PAYMENT_VOIDED_ROUTING_KEY:payment.voided}")
     private String paymentVoidedRoutingKey;
 
+    @Value("${INVOICE_CONSUMER_BATCH_SIZE:100}")
+    private int invoiceConsumerBatchSize;
+
+    @Value("${INVOICE_CONSUMER_BATCH_RECEIVE_TIMEOUT_MS:200}")
+    private long invoiceConsumerBatchReceiveTimeoutMs;
+
     @Bean
     public TopicExchange invoiceExchange() {
         return new TopicExchange(exchangeName, true, false);
@@ -101,6 +114,50 @@ public class RabbitMQConfig {
                 .with(paymentVoidedRoutingKey);
     }
 
+    /**
+     * Opt-in container for the batch invoice consumer: delivers up to
+     * INVOICE_CONSUMER_BATCH_SIZE messages at once, or whatever arrived
+     * within INVOICE_CONSUMER_BATCH_RECEIVE_TIMEOUT_MS. Acknowledgement is
+     * left to the consumer so a batch can be settled with one multi-ack.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "INVOICE_CONSUMER_BATCH_ENABLED", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory invoiceBatchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(invoiceConsumerBatchSize);
+        factory.setReceiveTimeout(invoiceConsumerBatchReceiveTimeoutMs);
+        factory.setPrefetchCount(Math.max(invoiceConsumerBatchSize, 250));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "PAYMENT_CACHE_FANOUT_ENABLED", havingValue = "true")
+    public FanoutExchange paymentCacheInvalidationExchange(
+            @Value("${PAYMENT_CACHE_FANOUT_EXCHANGE:payment_cache_invalidation}") String exchange) {
+        return new FanoutExchange(exchange, true, false);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "PAYMENT_CACHE_FANOUT_ENABLED", havingValue = "true")
+    public Queue paymentCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "PAYMENT_CACHE_FANOUT_ENABLED", havingValue = "true")
+    public Binding paymentCacheInvalidationBinding(Queue paymentCacheInvalidationQueue,
+            FanoutExchange paymentCacheInvalidationExchange) {
+        return BindingBuilder
+                .bind(paymentCacheInvalidationQueue)
+                .to(paymentCacheInvalidationExchange);
+    }
+
     @Bean
     public Jackson2JsonMessageConverter jackson2JsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
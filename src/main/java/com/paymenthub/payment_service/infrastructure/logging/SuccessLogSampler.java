@@ -0,0 +1,96 @@
+package com.paymenthub.payment_service.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every N INFO-and-below events per logger category and drops
+ * the rest before they are formatted. WARN, ERROR and any event carrying
+ * an exception always pass, as does everything outside the configured
+ * categories.
+ *
+ * Categories are logger name prefixes given as comma-separated
+ * {@code prefix=N} pairs, configured in logback-spring.xml from
+ * LOG_SUCCESS_SAMPLING. A logger belongs to its longest matching prefix,
+ * and all loggers of a category share one counter.
+ */
+public class SuccessLogSampler extends TurboFilter {
+
+    private static final Category UNSAMPLED = new Category(1);
+
+    private volatile List<Map.Entry<String, Category>> categories = List.of();
+    private final Map<String, Category> categoryByLogger = new ConcurrentHashMap<>();
+
+    public void setCategories(String spec) {
+        Map<String, Category> parsed = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected prefix=N in log sampling entry: " + entry);
+            }
+            long every = Long.parseLong(entry.substring(separator + 1).trim());
+            if (every < 1) {
+                throw new IllegalArgumentException("Sampling rate must be at least 1 in entry: " + entry);
+            }
+            parsed.put(entry.substring(0, separator).trim(), new Category(every));
+        }
+        categories = parsed.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, Category> e) -> e.getKey().length()).reversed())
+                .toList();
+        categoryByLogger.clear();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Level checks without a message (isInfoEnabled) and disabled levels are left to logback
+        if (format == null || level.levelInt >= Level.WARN_INT || t != null || endsWithThrowable(params)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return categoryByLogger.computeIfAbsent(logger.getName(), this::categoryOf).keep()
+                ? FilterReply.NEUTRAL
+                : FilterReply.DENY;
+    }
+
+    private Category categoryOf(String loggerName) {
+        for (Map.Entry<String, Category> category : categories) {
+            String prefix = category.getKey();
+            if (loggerName.startsWith(prefix)
+                    && (loggerName.length() == prefix.length() || loggerName.charAt(prefix.length()) == '.')) {
+                return category.getValue();
+            }
+        }
+        return UNSAMPLED;
+    }
+
+    private static boolean endsWithThrowable(Object[] params) {
+        return params != null && params.length > 0 && params[params.length - 1] instanceof Throwable;
+    }
+
+    private static final class Category {
+
+        private final long every;
+        private final AtomicLong seen = new AtomicLong();
+
+        private Category(long every) {
+            this.every = every;
+        }
+
+        boolean keep() {
+            return every == 1 || seen.getAndIncrement() % every == 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.paymenthub.payment_service.infrastructure.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Actuator endpoint at /actuator/flightrecording returning the last
+ * {@code minutes} (5 by default) of the payment flight recording as a .jfr
+ * file, for JDK Mission Control or {@code jfr print}. One dump runs at a
+ * time; concurrent requests get 429.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "flightrecording")
+@ConditionalOnProperty(name = "PAYMENT_FLIGHT_RECORDING_ENABLED", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FlightRecordingEndpoint {
+
+    private static final int DEFAULT_MINUTES = 5;
+
+    private final PaymentFlightRecording recording;
+    private final Lock dumpLock = new ReentrantLock();
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Nullable Integer minutes) {
+        Duration window = Duration.ofMinutes(minutes != null ? minutes : DEFAULT_MINUTES);
+        if (window.isNegative() || window.isZero() || window.compareTo(recording.maxAge()) > 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!dumpLock.tryLock()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        try {
+            return new WebEndpointResponse<>(new TemporaryFileResource(recording.dump(window)));
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        } catch (IOException e) {
+            log.error("Failed to dump flight recording", e);
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        } finally {
+            dumpLock.unlock();
+        }
+    }
+
+    /**
+     * Dump file that is deleted once it has been streamed to the client.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            return Files.newByteChannel(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        @Override
+        public boolean isFile() {
+            // Keeps the file from being sent through a channel that would not delete it
+            return false;
+        }
+    }
+}
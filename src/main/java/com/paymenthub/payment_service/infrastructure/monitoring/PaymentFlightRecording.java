@@ -0,0 +1,135 @@
+package com.paymenthub.payment_service.infrastructure.monitoring;
+
+import com.paymenthub.payment_service.application.tracing.PaymentOperationEvent;
+import com.paymenthub.payment_service.application.tracing.PaymentPhaseEvent;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Continuous in-process flight recording of slow payment operations and
+ * phases. The recording starts from an empty configuration: besides the
+ * payment events it only enables the JVM events listed in
+ * PAYMENT_FLIGHT_RECORDING_JVM_EVENTS (GC, lock and socket stalls and CPU
+ * load by default). Events that capture the environment, system properties
+ * or JVM arguments are never enabled, because the predefined "default" and
+ * "profile" configurations would write credentials such as DB_PASSWORD into
+ * every chunk.
+ *
+ * The recording is kept on disk for PAYMENT_FLIGHT_RECORDING_MAX_AGE_MINUTES
+ * and can be dumped on demand through {@link FlightRecordingEndpoint}. Chunks
+ * are shared by all recordings of the JVM, so a dump also contains the
+ * events of any other recording started alongside, e.g. with
+ * -XX:StartFlightRecording.
+ *
+ * Operations and phases shorter than their threshold are never written,
+ * so the recording stays small and cheap under normal latency. JVM events
+ * with a duration use the phase threshold; periodic ones are sampled every
+ * second.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "PAYMENT_FLIGHT_RECORDING_ENABLED", havingValue = "true", matchIfMissing = true)
+public class PaymentFlightRecording implements SmartLifecycle {
+
+    private static final String RECORDING_NAME = "payment-service";
+    private static final Duration JVM_EVENT_PERIOD = Duration.ofSeconds(1);
+    private static final Set<String> SENSITIVE_EVENTS = Set.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation");
+
+    private final List<String> jvmEvents;
+    private final Duration maxAge;
+    private final Duration operationThreshold;
+    private final Duration phaseThreshold;
+    private volatile Recording recording;
+
+    public PaymentFlightRecording(
+            @Value("${PAYMENT_FLIGHT_RECORDING_JVM_EVENTS:jdk.GarbageCollection,jdk.JavaMonitorEnter,jdk.ThreadPark,"
+                    + "jdk.SocketRead,jdk.SocketWrite,jdk.CPULoad}") String jvmEvents,
+            @Value("${PAYMENT_FLIGHT_RECORDING_MAX_AGE_MINUTES:30}") long maxAgeMinutes,
+            @Value("${PAYMENT_FLIGHT_RECORDING_OPERATION_THRESHOLD_MS:200}") long operationThresholdMs,
+            @Value("${PAYMENT_FLIGHT_RECORDING_PHASE_THRESHOLD_MS:50}") long phaseThresholdMs) {
+        this.jvmEvents = Arrays.stream(jvmEvents.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+        List<String> sensitive = this.jvmEvents.stream().filter(SENSITIVE_EVENTS::contains).toList();
+        if (!sensitive.isEmpty()) {
+            throw new IllegalArgumentException("Flight recording must not enable " + sensitive);
+        }
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.operationThreshold = Duration.ofMillis(operationThresholdMs);
+        this.phaseThreshold = Duration.ofMillis(phaseThresholdMs);
+    }
+
+    @Override
+    public void start() {
+        Recording started = new Recording();
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.enable(PaymentOperationEvent.class).withThreshold(operationThreshold);
+        started.enable(PaymentPhaseEvent.class).withThreshold(phaseThreshold);
+        for (String event : jvmEvents) {
+            started.enable(event).withThreshold(phaseThreshold).withPeriod(JVM_EVENT_PERIOD);
+        }
+        SENSITIVE_EVENTS.forEach(started::disable);
+        started.start();
+        recording = started;
+        log.info("Flight recording started with JVM events {}, operation threshold {} ms, phase threshold {} ms",
+                jvmEvents, operationThreshold.toMillis(), phaseThreshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        Recording running = recording;
+        if (running != null) {
+            recording = null;
+            running.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    public Duration maxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Writes the last {@code window} of the recording to a new temporary
+     * file, which the caller owns. Data is kept in chunks, so the file may
+     * start somewhat earlier than requested.
+     */
+    public Path dump(Duration window) throws IOException {
+        Recording running = recording;
+        if (running == null) {
+            throw new IllegalStateException("Flight recording is not running");
+        }
+
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try (Recording copy = running.copy(true)) {
+            copy.setMaxAge(window);
+            copy.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+}
@@ -0,0 +1,110 @@
+package com.paymenthub.payment_service.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call a bean serves through one of its port interfaces, without
+ * the application layer depending on Micrometer. A port is an interface
+ * declared in one of {@code portPackages}; only beans declared under
+ * {@code adapterPackage} are timed.
+ *
+ * Each call is recorded in {@code meterName}, tagged with the port's simple
+ * name under {@code portTag}, the method, the outcome (success or error) and
+ * the simple name of the exception thrown, if any.
+ */
+public class PortTimingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public PortTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, String meterName, String portTag,
+            String adapterPackage, String... portPackages) {
+        Pointcut pointcut = new Pointcut(adapterPackage, Set.of(portPackages));
+        this.advisor = new DefaultPointcutAdvisor(pointcut,
+                new TimingInterceptor(meterRegistry, meterName, portTag, pointcut));
+        setProxyTargetClass(true);
+    }
+
+    private static final class Pointcut extends StaticMethodMatcherPointcut {
+
+        private final Set<String> portPackages;
+
+        private Pointcut(String adapterPackage, Set<String> portPackages) {
+            this.portPackages = portPackages;
+            setClassFilter(type -> type.getName().startsWith(adapterPackage + ".") && port(type, null) != null);
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return port(targetClass, method) != null;
+        }
+
+        private Class<?> port(Class<?> targetClass, Method method) {
+            for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+                if (portPackages.contains(type.getPackageName()) && (method == null || ClassUtils.hasMethod(type, method))) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String meterName;
+        private final String portTag;
+        private final Pointcut pointcut;
+        private final Map<Method, String> portNames = new ConcurrentHashMap<>();
+
+        private TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String meterName, String portTag,
+                Pointcut pointcut) {
+            this.meterRegistry = meterRegistry;
+            this.meterName = meterName;
+            this.portTag = portTag;
+            this.pointcut = pointcut;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long startedAt = System.nanoTime();
+            Throwable failure = null;
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                Timer.builder(meterName)
+                        .tag(portTag, portName(invocation))
+                        .tag("method", invocation.getMethod().getName())
+                        .tag("outcome", failure == null ? "success" : "error")
+                        .tag("exception", failure == null ? "none" : failure.getClass().getSimpleName())
+                        .register(meterRegistry.getObject())
+                        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private String portName(MethodInvocation invocation) {
+            return portNames.computeIfAbsent(invocation.getMethod(), method -> {
+                Class<?> targetClass = invocation.getThis() != null
+                        ? ClassUtils.getUserClass(invocation.getThis())
+                        : method.getDeclaringClass();
+                Class<?> port = pointcut.port(targetClass, method);
+                return port != null ? port.getSimpleName() : "unknown";
+            });
+        }
+    }
+}
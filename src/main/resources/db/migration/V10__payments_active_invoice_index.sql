@@ -0,0 +1,8 @@
+-- At most one active payment per invoice. The predicate must stay in sync
+-- with PaymentStatus.isActivePayment() and the ON CONFLICT clause used by
+-- JpaPaymentRepositoryAdapter. Built CONCURRENTLY like V2 so the payments
+-- table stays writable. If duplicates written after V9 make the build fail,
+-- the index is left INVALID and must be dropped before migrating again.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_payments_active_invoice
+    ON payments (invoice_id)
+    WHERE status IN ('PENDING', 'AUTHORIZED', 'CAPTURED');
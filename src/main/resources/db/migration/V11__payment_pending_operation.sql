@@ -0,0 +1,5 @@
+-- Capture or void a node has sent to the gateway but not yet recorded. It is
+-- set together with sweep_lease_until before the call and cleared by the
+-- state transition that follows; rows still marked once the lease lapses are
+-- completed by pending payment recovery.
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS pending_operation VARCHAR(16);
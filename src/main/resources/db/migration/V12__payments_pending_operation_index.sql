@@ -0,0 +1,5 @@
+-- Lets recovery find interrupted captures and voids without scanning the
+-- payments table; only the few rows with an operation in flight are indexed.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_pending_operation
+    ON payments (sweep_lease_until)
+    WHERE pending_operation IS NOT NULL;
@@ -0,0 +1,39 @@
+-- Baseline of the schema previously maintained by Hibernate (ddl-auto=update)
+-- and schema.sql. Statements are idempotent so databases created by either
+-- of them can be migrated in place.
+
+CREATE TABLE IF NOT EXISTS payments (
+    id                           VARCHAR(255)   NOT NULL PRIMARY KEY,
+    invoice_id                   VARCHAR(255)   NOT NULL,
+    payment_method_id            VARCHAR(255),
+    requested_amount             NUMERIC(19, 4) NOT NULL,
+    authorized_amount            NUMERIC(19, 4) NOT NULL,
+    captured_amount              NUMERIC(19, 4) NOT NULL,
+    currency                     VARCHAR(3)     NOT NULL,
+    status                       VARCHAR(255)   NOT NULL,
+    payment_gateway_reference_id VARCHAR(255),
+    created_at                   TIMESTAMP(6)   NOT NULL,
+    authorized_at                TIMESTAMP(6),
+    captured_at                  TIMESTAMP(6),
+    expires_at                   TIMESTAMP(6),
+    version                      BIGINT
+);
+
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE payments SET version = 0 WHERE version IS NULL;
+
+CREATE TABLE IF NOT EXISTS invoice_payment_attempts (
+    invoice_id VARCHAR(255) NOT NULL PRIMARY KEY,
+    attempts   INTEGER      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id     VARCHAR(255) NOT NULL UNIQUE,
+    aggregate_id VARCHAR(255),
+    event_type   VARCHAR(255) NOT NULL,
+    payload_type VARCHAR(255),
+    payload      TEXT         NOT NULL,
+    occurred_on  TIMESTAMP(6) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,20 @@
+-- Indexes for the payment access paths. Built CONCURRENTLY so large tables
+-- stay writable; Flyway runs this script outside a transaction.
+
+-- findAllByInvoiceId, countByInvoiceId, existsByInvoiceIdAndStatusIn and the
+-- per-invoice summaries used by the batch consumer and attempt counter.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_invoice_id_status
+    ON payments (invoice_id, status);
+
+-- Authorizations that are about to expire or already have.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_authorized_expires_at
+    ON payments (expires_at)
+    WHERE status = 'AUTHORIZED';
+
+-- Lookups by provider reference, e.g. from gateway callbacks.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_gateway_reference_id
+    ON payments (payment_gateway_reference_id);
+
+-- Orphaned PENDING payments picked up by the recovery job.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_status_created_at
+    ON payments (status, created_at);
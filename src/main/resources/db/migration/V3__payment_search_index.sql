@@ -0,0 +1,3 @@
+-- Keyset pagination of the payment search walks (created_at, id) backwards.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_created_at_id
+    ON payments (created_at, id);
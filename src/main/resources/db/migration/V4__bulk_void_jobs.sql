@@ -0,0 +1,33 @@
+-- Persistent state of bulk void jobs, so a job interrupted by a crash can be
+-- resumed by any node once its lease expires.
+
+CREATE TABLE IF NOT EXISTS bulk_void_jobs (
+    id              VARCHAR(255) NOT NULL PRIMARY KEY,
+    target          VARCHAR(32)  NOT NULL,
+    state           VARCHAR(32)  NOT NULL,
+    total           INTEGER      NOT NULL,
+    voided          INTEGER      NOT NULL,
+    failed          INTEGER      NOT NULL,
+    last_payment_id VARCHAR(255),
+    owner           VARCHAR(255),
+    lease_until     TIMESTAMP(6),
+    created_at      TIMESTAMP(6) NOT NULL,
+    completed_at    TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS ix_bulk_void_jobs_state_created_at
+    ON bulk_void_jobs (state, created_at);
+
+-- Payments selected by a job, walked in payment id order.
+CREATE TABLE IF NOT EXISTS bulk_void_job_targets (
+    job_id     VARCHAR(255) NOT NULL REFERENCES bulk_void_jobs (id) ON DELETE CASCADE,
+    payment_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (job_id, payment_id)
+);
+
+CREATE TABLE IF NOT EXISTS bulk_void_job_failures (
+    job_id     VARCHAR(255) NOT NULL REFERENCES bulk_void_jobs (id) ON DELETE CASCADE,
+    payment_id VARCHAR(255) NOT NULL,
+    error      TEXT,
+    PRIMARY KEY (job_id, payment_id)
+);
@@ -0,0 +1,3 @@
+-- Lease taken by the authorization expiry sweeper while it voids a payment.
+-- Expired authorizations are found through ix_payments_authorized_expires_at.
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS sweep_lease_until TIMESTAMP(6);
@@ -0,0 +1,16 @@
+-- Responses of capture and void requests sent with an Idempotency-Key, so a
+-- retried request is answered from here instead of being executed again.
+-- A row without a response is an execution in progress, held until
+-- locked_until; rows are purged once expires_at has passed.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    fingerprint     VARCHAR(255) NOT NULL,
+    response_status INTEGER,
+    response_body   TEXT,
+    locked_until    TIMESTAMP(6),
+    expires_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_idempotency_keys_expires_at
+    ON idempotency_keys (expires_at);
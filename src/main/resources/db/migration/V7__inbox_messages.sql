@@ -0,0 +1,11 @@
+-- Invoice events that have been processed, keyed by event id, so redelivered
+-- and republished events are dropped before any domain work. Rows older than
+-- the inbox retention are purged through ix_inbox_messages_received_at.
+
+CREATE TABLE IF NOT EXISTS inbox_messages (
+    message_id  VARCHAR(255) NOT NULL PRIMARY KEY,
+    received_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_inbox_messages_received_at
+    ON inbox_messages (received_at);
@@ -0,0 +1,15 @@
+-- Bulk capture jobs share the persistent, leased job tables of bulk void
+-- jobs, so their status is visible from every node and they survive restarts.
+-- Each node only claims jobs of the action it is polling for.
+
+ALTER TABLE bulk_void_jobs RENAME TO bulk_jobs;
+ALTER TABLE bulk_void_job_targets RENAME TO bulk_job_targets;
+ALTER TABLE bulk_void_job_failures RENAME TO bulk_job_failures;
+
+ALTER TABLE bulk_jobs RENAME COLUMN voided TO succeeded;
+ALTER TABLE bulk_jobs ADD COLUMN IF NOT EXISTS action VARCHAR(32) NOT NULL DEFAULT 'VOID';
+ALTER TABLE bulk_jobs ALTER COLUMN action DROP DEFAULT;
+
+DROP INDEX IF EXISTS ix_bulk_void_jobs_state_created_at;
+CREATE INDEX IF NOT EXISTS ix_bulk_jobs_action_state_created_at
+    ON bulk_jobs (action, state, created_at);
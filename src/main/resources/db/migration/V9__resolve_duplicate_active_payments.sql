@@ -0,0 +1,38 @@
+-- Legacy data may hold several active payments for one invoice, written
+-- before ux_payments_active_invoice (V10) existed. Per invoice the payment
+-- furthest along is kept, the oldest first among equals. Surplus PENDING
+-- payments never completed at the gateway and are failed here, so payment
+-- recovery does not authorize them; surplus AUTHORIZED or CAPTURED payments
+-- hold funds and stop the migration until they are resolved by hand.
+
+CREATE TEMPORARY TABLE surplus_active_payments ON COMMIT DROP AS
+SELECT id, invoice_id, status
+FROM (
+    SELECT id, invoice_id, status,
+           row_number() OVER (
+               PARTITION BY invoice_id
+               ORDER BY CASE status WHEN 'CAPTURED' THEN 0 WHEN 'AUTHORIZED' THEN 1 ELSE 2 END,
+                        created_at, id) AS rank
+    FROM payments
+    WHERE status IN ('PENDING', 'AUTHORIZED', 'CAPTURED')
+) ranked
+WHERE rank > 1;
+
+DO $$
+DECLARE
+    unresolved TEXT;
+BEGIN
+    SELECT string_agg(invoice_id || ' (' || id || ', ' || status || ')', ', ' ORDER BY invoice_id, id)
+    INTO unresolved
+    FROM surplus_active_payments
+    WHERE status <> 'PENDING';
+
+    IF unresolved IS NOT NULL THEN
+        RAISE EXCEPTION 'Resolve invoices with several authorized or captured payments first: %', unresolved;
+    END IF;
+END
+$$;
+
+UPDATE payments
+SET status = 'FAILED', version = version + 1
+WHERE id IN (SELECT id FROM surplus_active_payments);
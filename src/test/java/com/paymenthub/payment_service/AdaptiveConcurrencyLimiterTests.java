@@ -0,0 +1,102 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.infrastructure.adapter.out.gateway.AdaptiveConcurrencyLimiter;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 4, 1,
+			TimeUnit.SECONDS.toNanos(1), 0.5);
+
+	@Test
+	void queuesCallsAboveTheLimitAndRejectsOnceTheQueueIsFull() {
+		CompletableFuture<String> first = new CompletableFuture<>();
+		CompletableFuture<String> second = new CompletableFuture<>();
+
+		CompletableFuture<String> running = limiter.submit(() -> first, TIMEOUT);
+		CompletableFuture<String> queued = limiter.submit(() -> second, TIMEOUT);
+
+		assertThat(limiter.submit(CompletableFuture::new, TIMEOUT)).isNull();
+		assertThat(limiter.getInFlight()).isEqualTo(1);
+		assertThat(limiter.getQueued()).isEqualTo(1);
+
+		first.complete("a");
+		assertThat(running).isCompletedWithValue("a");
+		assertThat(limiter.getQueued()).isZero();
+		assertThat(limiter.getInFlight()).isEqualTo(1);
+
+		second.complete("b");
+		assertThat(queued).isCompletedWithValue("b");
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void keepsTheSlotOfATimedOutCallUntilTheProviderAnswers() throws Exception {
+		CompletableFuture<String> slow = new CompletableFuture<>();
+		AtomicInteger started = new AtomicInteger();
+
+		CompletableFuture<String> timedOut = limiter.submit(() -> slow, Duration.ofMillis(20));
+		limiter.submit(() -> {
+			started.incrementAndGet();
+			return CompletableFuture.completedFuture("b");
+		}, TIMEOUT);
+
+		assertThatThrownBy(() -> timedOut.get(1, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(TimeoutException.class);
+		assertThat(limiter.getInFlight()).isEqualTo(1);
+		assertThat(started).hasValue(0);
+
+		slow.complete("late");
+		assertThat(started).hasValue(1);
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void neverStartsACallWhoseCallerGaveUpWhileQueued() {
+		CompletableFuture<String> first = new CompletableFuture<>();
+		AtomicInteger started = new AtomicInteger();
+
+		limiter.submit(() -> first, TIMEOUT);
+		CompletableFuture<String> abandoned = limiter.submit(() -> {
+			started.incrementAndGet();
+			return CompletableFuture.completedFuture("b");
+		}, TIMEOUT);
+		abandoned.cancel(false);
+
+		first.complete("a");
+
+		assertThat(started).hasValue(0);
+		assertThat(limiter.getInFlight()).isZero();
+		assertThat(limiter.getQueued()).isZero();
+	}
+
+	@Test
+	void growsOnFastCallsAndBacksOffOnTimeouts() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			limiter.submit(() -> CompletableFuture.completedFuture("ok"), TIMEOUT);
+		}
+		assertThat(limiter.getLimit()).isGreaterThan(1);
+
+		int grown = limiter.getLimit();
+		CompletableFuture<String> never = new CompletableFuture<>();
+		CompletableFuture<String> timedOut = limiter.submit(() -> never, Duration.ofMillis(10));
+		assertThatThrownBy(() -> timedOut.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+
+		never.completeExceptionally(new TimeoutException("provider timeout"));
+		assertThat(limiter.getLimit()).isLessThan(grown);
+	}
+}
@@ -0,0 +1,70 @@
+package com.paymenthub.payment_service;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.consumer.BatchSettlement;
+import com.rabbitmq.client.Channel;
+
+class BatchSettlementTests {
+
+	private final Channel channel = mock(Channel.class);
+	private final List<Message> batch = LongStream.rangeClosed(11, 14).mapToObj(BatchSettlementTests::message).toList();
+
+	@Test
+	void multiAcksUpToTheHighestTagStillOutstanding() throws Exception {
+		BatchSettlement settlement = new BatchSettlement(channel, batch);
+		settlement.requeue(batch.get(1));
+		settlement.reject(batch.get(3));
+		settlement.ackRemaining();
+
+		InOrder order = inOrder(channel);
+		order.verify(channel).basicNack(12, false, true);
+		order.verify(channel).basicReject(14, false);
+		order.verify(channel).basicAck(13, true);
+		verifyNoMoreInteractions(channel);
+	}
+
+	@Test
+	void requeuesTheRestWithoutTouchingRejectedMessages() throws Exception {
+		BatchSettlement settlement = new BatchSettlement(channel, batch);
+		settlement.reject(batch.get(3));
+		settlement.requeueRemaining();
+
+		InOrder order = inOrder(channel);
+		order.verify(channel).basicReject(14, false);
+		order.verify(channel).basicNack(13, true, true);
+		verifyNoMoreInteractions(channel);
+	}
+
+	@Test
+	void sendsNothingWhenEveryMessageWasAlreadySettled() throws Exception {
+		BatchSettlement settlement = new BatchSettlement(channel, batch);
+		for (Message message : batch) {
+			settlement.reject(message);
+		}
+		settlement.reject(batch.get(0));
+		settlement.ackRemaining();
+
+		InOrder order = inOrder(channel);
+		for (long tag = 11; tag <= 14; tag++) {
+			order.verify(channel).basicReject(tag, false);
+		}
+		verifyNoMoreInteractions(channel);
+	}
+
+	private static Message message(long deliveryTag) {
+		MessageProperties properties = new MessageProperties();
+		properties.setDeliveryTag(deliveryTag);
+		return new Message(new byte[0], properties);
+	}
+}
@@ -0,0 +1,117 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.application.exception.PaymentGatewayException;
+import com.paymenthub.payment_service.application.exception.PaymentGatewayUnavailableException;
+import com.paymenthub.payment_service.application.port.out.AsyncPaymentGateway;
+import com.paymenthub.payment_service.infrastructure.adapter.out.gateway.ConcurrencyLimitedPaymentGateway;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimitedPaymentGatewayTests {
+
+	private final StubProvider provider = new StubProvider();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void returnsTheProviderAnswer() {
+		ConcurrencyLimitedPaymentGateway gateway = gateway(1, 1000, 1000);
+		provider.next = CompletableFuture.completedFuture("pi_1");
+
+		assertThat(authorize(gateway)).isEqualTo("pi_1");
+	}
+
+	@Test
+	void passesDeclinesThroughUnchanged() {
+		ConcurrencyLimitedPaymentGateway gateway = gateway(1, 1000, 1000);
+		provider.next = CompletableFuture.failedFuture(
+				new PaymentGatewayException("Declined", "CARD_DECLINED", "insufficient funds"));
+
+		assertThatThrownBy(() -> authorize(gateway))
+				.isExactlyInstanceOf(PaymentGatewayException.class)
+				.extracting("errorCode").isEqualTo("CARD_DECLINED");
+	}
+
+	@Test
+	void reportsATimeoutAsUnavailable() {
+		ConcurrencyLimitedPaymentGateway gateway = gateway(1, 20, 1000);
+		provider.next = new CompletableFuture<>();
+
+		assertThatThrownBy(() -> authorize(gateway))
+				.isInstanceOf(PaymentGatewayUnavailableException.class)
+				.extracting("errorCode").isEqualTo("GATEWAY_TIMEOUT");
+		assertThat(gateway.getLimiter().getInFlight()).isEqualTo(1);
+	}
+
+	@Test
+	void reportsOverloadAsUnavailable() {
+		ConcurrencyLimitedPaymentGateway gateway = gateway(0, 1000, 1000);
+		provider.next = new CompletableFuture<>();
+		gateway.authorizeAsync("p1", "p1", "c1", "pm1", BigDecimal.TEN, "USD");
+
+		assertThatThrownBy(() -> authorize(gateway))
+				.isInstanceOf(PaymentGatewayUnavailableException.class)
+				.extracting("errorCode").isEqualTo("GATEWAY_OVERLOADED");
+		assertThat(meterRegistry.get("payments.gateway.call").tag("error_code", "GATEWAY_OVERLOADED").timer()
+				.count()).isEqualTo(1);
+	}
+
+	@Test
+	void boundsTheBlockingWaitIncludingQueueTimeAndWithdrawsTheQueuedCall() {
+		ConcurrencyLimitedPaymentGateway gateway = gateway(1, 10_000, 50);
+		CompletableFuture<String> first = new CompletableFuture<>();
+		provider.next = first;
+		gateway.authorizeAsync("p1", "p1", "c1", "pm1", BigDecimal.TEN, "USD");
+
+		provider.next = CompletableFuture.completedFuture("pi_2");
+		assertThatThrownBy(() -> authorize(gateway))
+				.isInstanceOf(PaymentGatewayUnavailableException.class)
+				.extracting("errorCode").isEqualTo("GATEWAY_TIMEOUT");
+
+		first.complete("pi_1");
+		assertThat(provider.calls).hasValue(1);
+		assertThat(gateway.getLimiter().getQueued()).isZero();
+	}
+
+	private ConcurrencyLimitedPaymentGateway gateway(int maxQueueSize, long callTimeoutMs, long maxWaitMs) {
+		return new ConcurrencyLimitedPaymentGateway(provider, meterRegistry, 1, 1, 1, maxQueueSize, 10_000, 0.5,
+				callTimeoutMs, maxWaitMs);
+	}
+
+	private static String authorize(ConcurrencyLimitedPaymentGateway gateway) {
+		return gateway.authorize("p1", "p1", "c1", "pm1", BigDecimal.TEN, "USD");
+	}
+
+	private static class StubProvider implements AsyncPaymentGateway {
+
+		private final AtomicInteger calls = new AtomicInteger();
+		private CompletableFuture<String> next;
+
+		@Override
+		public CompletableFuture<String> authorizeAsync(String idempotencyKey, String paymentId, String customerId,
+				String paymentMethodId, BigDecimal amount, String currency) {
+			calls.incrementAndGet();
+			return next;
+		}
+
+		@Override
+		public CompletableFuture<Void> captureAsync(String gatewayReferenceId) {
+			calls.incrementAndGet();
+			return CompletableFuture.completedFuture(null);
+		}
+
+		@Override
+		public CompletableFuture<Void> voidAuthorizationAsync(String gatewayReferenceId) {
+			calls.incrementAndGet();
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+}
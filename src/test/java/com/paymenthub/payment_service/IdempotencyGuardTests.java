@@ -0,0 +1,154 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.paymenthub.payment_service.application.port.out.IdempotencyRecord;
+import com.paymenthub.payment_service.application.port.out.IdempotencyStore;
+import com.paymenthub.payment_service.infrastructure.adapter.in.rest.IdempotencyGuard;
+
+class IdempotencyGuardTests {
+
+	private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+	private final IdempotencyGuard guard = new IdempotencyGuard(store, 24, 5_000, 100);
+	private final AtomicInteger executions = new AtomicInteger();
+
+	@Test
+	void replaysTheStoredResponseWithoutExecutingAgain() {
+		ResponseEntity<String> first = guard.execute("key-1", "capture:p1", this::accepted);
+		ResponseEntity<String> retry = guard.execute("key-1", "capture:p1", this::accepted);
+
+		assertThat(executions).hasValue(1);
+		assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+		assertThat(retry.getBody()).isEqualTo(first.getBody());
+		assertThat(retry.getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER)).isEqualTo("true");
+	}
+
+	@Test
+	void replaysFromTheStoreOnAnotherNode() {
+		guard.execute("key-1", "void:p1", this::accepted);
+		IdempotencyGuard otherNode = new IdempotencyGuard(store, 24, 5_000, 100);
+
+		ResponseEntity<String> retry = otherNode.execute("key-1", "void:p1", this::accepted);
+
+		assertThat(executions).hasValue(1);
+		assertThat(retry.getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER)).isEqualTo("true");
+	}
+
+	@Test
+	void rejectsAKeyReusedForADifferentRequest() {
+		guard.execute("key-1", "capture:p1", this::accepted);
+
+		assertThat(guard.execute("key-1", "capture:p2", this::accepted).getStatusCode())
+				.isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+		assertThat(executions).hasValue(1);
+	}
+
+	@Test
+	void releasesTheKeyWhenTheRequestFailedBeforeAnySideEffect() {
+		guard.execute("key-1", "capture:p1", () -> {
+			executions.incrementAndGet();
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		});
+		ResponseEntity<String> retry = guard.execute("key-1", "capture:p1", this::accepted);
+
+		assertThat(executions).hasValue(2);
+		assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+		assertThat(store.records).containsKey("key-1");
+	}
+
+	@Test
+	void storesServerErrorsThatMayFollowASideEffect() {
+		guard.execute("key-1", "capture:p1", () -> {
+			executions.incrementAndGet();
+			return ResponseEntity.internalServerError().build();
+		});
+		ResponseEntity<String> retry = guard.execute("key-1", "capture:p1", this::accepted);
+
+		assertThat(executions).hasValue(1);
+		assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+		assertThat(retry.getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER)).isEqualTo("true");
+	}
+
+	@Test
+	void concurrentRequestsShareOneExecution() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<ResponseEntity<String>>> responses = new ArrayList<>();
+			responses.add(pool.submit(() -> guard.execute("key-1", "capture:p1", () -> {
+				started.countDown();
+				await(release);
+				return accepted();
+			})));
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			for (int i = 0; i < 7; i++) {
+				responses.add(pool.submit(() -> guard.execute("key-1", "capture:p1", this::accepted)));
+			}
+			release.countDown();
+
+			for (Future<ResponseEntity<String>> response : responses) {
+				assertThat(response.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+			}
+			assertThat(executions).hasValue(1);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private ResponseEntity<String> accepted() {
+		return ResponseEntity.accepted().body("processed #" + executions.incrementAndGet());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static final class InMemoryIdempotencyStore implements IdempotencyStore {
+
+		private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+		@Override
+		public Optional<IdempotencyRecord> claim(String key, String fingerprint, Duration lock, Duration ttl) {
+			IdempotencyRecord existing = records.putIfAbsent(key, new IdempotencyRecord(fingerprint, null, null));
+			return Optional.ofNullable(existing);
+		}
+
+		@Override
+		public void complete(String key, int responseStatus, String responseBody) {
+			records.computeIfPresent(key,
+					(k, record) -> new IdempotencyRecord(record.fingerprint(), responseStatus, responseBody));
+		}
+
+		@Override
+		public void release(String key) {
+			records.computeIfPresent(key, (k, record) -> record.completed() ? record : null);
+		}
+
+		@Override
+		public int purgeExpired() {
+			return 0;
+		}
+	}
+}
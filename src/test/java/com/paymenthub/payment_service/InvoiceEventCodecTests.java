@@ -0,0 +1,82 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceCreatedEvent;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceEventCodec;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.event.InvoiceRetriedEvent;
+import com.paymenthub.payment_service.infrastructure.adapter.out.messaging.PaymentEventCodec;
+
+class InvoiceEventCodecTests {
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final InvoiceEventCodec codec = new InvoiceEventCodec(objectMapper);
+
+	@Test
+	void readsJsonBodies() throws IOException {
+		InvoiceCreatedEvent event = codec.readCreated(json(created("2024-06-01T12:30:45.123")));
+
+		assertThat(event.invoiceId()).isEqualTo("INV-1");
+		assertThat(event.amount()).isEqualByComparingTo(new BigDecimal("1249.90"));
+		assertThat(event.createdAt()).isEqualTo(LocalDateTime.of(2024, 6, 1, 12, 30, 45, 123_000_000));
+
+		InvoiceRetriedEvent retried = codec.readRetried(json(
+				"{\"eventId\":\"e\",\"invoiceId\":\"INV-2\",\"amount\":5,\"currency\":\"EUR\"}"));
+		assertThat(retried.invoiceId()).isEqualTo("INV-2");
+	}
+
+	@Test
+	void readsSmileBodiesWhenTheContentTypeSaysSo() throws IOException {
+		InvoiceCreatedEvent original = objectMapper.readValue(created("2024-06-01T12:30:45"), InvoiceCreatedEvent.class);
+		byte[] smile = objectMapper.copyWith(new SmileFactory()).writeValueAsBytes(original);
+		MessageProperties properties = new MessageProperties();
+		properties.setContentType(PaymentEventCodec.CONTENT_TYPE_SMILE);
+
+		assertThat(codec.readCreated(new Message(smile, properties))).isEqualTo(original);
+	}
+
+	@Test
+	void parsesEveryIsoLocalDateTimeLayoutLikeTheStandardDeserializer() throws IOException {
+		for (String value : new String[] { "2024-06-01T12:30", "2024-06-01T12:30:45", "2024-06-01T12:30:45.1",
+				"2024-06-01T12:30:45.123456789", "2024-06-01T12:30:45Z" }) {
+			String body = created(value);
+			assertThat(codec.readCreated(json(body)).createdAt())
+					.as(value)
+					.isEqualTo(objectMapper.readValue(body, InvoiceCreatedEvent.class).createdAt());
+		}
+		assertThat(codec.readCreated(json(created("2024-06-01T12:30:45").replace("\"2024-06-01T12:30:45\"",
+				"[2024,6,1,12,30,45]"))).createdAt()).isEqualTo(LocalDateTime.of(2024, 6, 1, 12, 30, 45));
+	}
+
+	@Test
+	void rejectsInvalidDates() {
+		assertThatThrownBy(() -> codec.readCreated(json(created("2024-13-01T12:30:45"))))
+				.isInstanceOf(IOException.class);
+		assertThatThrownBy(() -> codec.readCreated(json(created("2024-06-01T1x:30:45"))))
+				.isInstanceOf(IOException.class);
+	}
+
+	private static String created(String createdAt) {
+		return "{\"eventId\":\"e\",\"invoiceId\":\"INV-1\",\"customerId\":\"C-1\",\"amount\":1249.90,"
+				+ "\"currency\":\"USD\",\"createdAt\":\"" + createdAt + "\",\"paymentMethodId\":\"pm\"}";
+	}
+
+	private static Message json(String body) {
+		MessageProperties properties = new MessageProperties();
+		properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+		return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+	}
+}
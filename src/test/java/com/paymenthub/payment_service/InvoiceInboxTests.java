@@ -0,0 +1,122 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.application.port.out.InboxStore;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.inbox.InvoiceInbox;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.inbox.RotatingBloomFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InvoiceInboxTests {
+
+	@Test
+	void filterRemembersRecentKeysAndStaysNearItsFalsePositiveRate() {
+		RotatingBloomFilter filter = new RotatingBloomFilter(10_000, 0.01);
+		for (int i = 0; i < 25_000; i++) {
+			filter.put("event-" + i);
+		}
+
+		for (int i = 15_000; i < 25_000; i++) {
+			assertThat(filter.mightContain("event-" + i)).isTrue();
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("other-" + i)) {
+				falsePositives++;
+			}
+		}
+		// two generations are consulted, so the rate is up to twice the target
+		assertThat(falsePositives).isLessThan(2_500);
+	}
+
+	@Test
+	void skipsTheDatabaseForFirstDeliveriesAnAuthoritativeFilterHasNotSeen() {
+		CountingInboxStore store = new CountingInboxStore();
+		InvoiceInbox inbox = new InvoiceInbox(store, new SimpleMeterRegistry(), true, true, 1_000, 0.01);
+
+		assertThat(inbox.isDuplicate("event-1", false)).isFalse();
+		inbox.markProcessed("event-1");
+
+		assertThat(store.lookups).hasValue(0);
+		assertThat(inbox.isDuplicate("event-1", false)).isTrue();
+		assertThat(store.lookups).hasValue(1);
+	}
+
+	@Test
+	void checksTheDatabaseForEveryDeliveryWhenTheFilterIsNotAuthoritative() {
+		CountingInboxStore store = new CountingInboxStore();
+		store.record(List.of("processed-elsewhere"));
+		InvoiceInbox inbox = new InvoiceInbox(store, new SimpleMeterRegistry(), true, false, 1_000, 0.01);
+
+		assertThat(inbox.isDuplicate("processed-elsewhere", false)).isTrue();
+		assertThat(inbox.isDuplicate("event-1", false)).isFalse();
+		assertThat(store.lookups).hasValue(2);
+	}
+
+	@Test
+	void checksTheDatabaseForEveryRedelivery() {
+		CountingInboxStore store = new CountingInboxStore();
+		store.record(List.of("processed-elsewhere"));
+		InvoiceInbox inbox = new InvoiceInbox(store, new SimpleMeterRegistry(), true, true, 1_000, 0.01);
+
+		assertThat(inbox.isDuplicate("processed-elsewhere", false)).isFalse();
+		assertThat(inbox.isDuplicate("processed-elsewhere", true)).isTrue();
+		assertThat(inbox.isDuplicate("event-2", true)).isFalse();
+		assertThat(store.lookups).hasValue(2);
+	}
+
+	@Test
+	void countsNewAndDuplicateMessages() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		InvoiceInbox inbox = new InvoiceInbox(new CountingInboxStore(), registry, true, true, 1_000, 0.01);
+
+		inbox.isDuplicate("event-1", false);
+		inbox.markProcessed("event-1");
+		inbox.isDuplicate("event-1", false);
+		inbox.isDuplicate("event-1", true);
+
+		assertThat(registry.get("payments.inbox.messages").tag("result", "new").counter().count()).isEqualTo(1);
+		assertThat(registry.get("payments.inbox.messages").tag("result", "duplicate").counter().count())
+				.isEqualTo(2);
+		assertThat(registry.get("payments.inbox.filter").tag("result", "positive").functionCounter().count())
+				.isEqualTo(1);
+	}
+
+	private static final class CountingInboxStore implements InboxStore {
+
+		private final Set<String> ids = ConcurrentHashMap.newKeySet();
+		private final AtomicInteger lookups = new AtomicInteger();
+
+		@Override
+		public boolean contains(String messageId) {
+			lookups.incrementAndGet();
+			return ids.contains(messageId);
+		}
+
+		@Override
+		public void record(Collection<String> messageIds) {
+			ids.addAll(messageIds);
+		}
+
+		@Override
+		public List<String> findRecent(int limit) {
+			return new ArrayList<>();
+		}
+
+		@Override
+		public int purgeOlderThan(Duration retention) {
+			return 0;
+		}
+	}
+}
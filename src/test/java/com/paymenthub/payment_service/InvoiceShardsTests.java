@@ -0,0 +1,52 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.sharding.InvoiceShards;
+
+class InvoiceShardsTests {
+
+	private static final int INVOICES = 100_000;
+
+	@Test
+	void spreadsInvoicesEvenlyAndStably() {
+		InvoiceShards shards = new InvoiceShards(8, "invoice_events");
+		int[] counts = new int[shards.count()];
+		for (int i = 0; i < INVOICES; i++) {
+			String invoiceId = invoiceId(i);
+			int shard = shards.shardOf(invoiceId);
+			assertThat(shards.shardOf(invoiceId)).isEqualTo(shard);
+			counts[shard]++;
+		}
+
+		for (int count : counts) {
+			assertThat(count).isBetween(INVOICES / 8 * 9 / 10, INVOICES / 8 * 11 / 10);
+		}
+		assertThat(shards.queueName(3)).isEqualTo("invoice_events.shard-3");
+	}
+
+	@Test
+	void addingAShardOnlyMovesInvoicesOntoIt() {
+		InvoiceShards four = new InvoiceShards(4, "invoice_events");
+		InvoiceShards five = new InvoiceShards(5, "invoice_events");
+		int moved = 0;
+		for (int i = 0; i < INVOICES; i++) {
+			int before = four.shardOf(invoiceId(i));
+			int after = five.shardOf(invoiceId(i));
+			if (before != after) {
+				assertThat(after).isEqualTo(4);
+				moved++;
+			}
+		}
+
+		assertThat(moved).isBetween(INVOICES / 5 * 9 / 10, INVOICES / 5 * 11 / 10);
+	}
+
+	private static String invoiceId(int i) {
+		return new UUID(0x5eedL, i).toString();
+	}
+}
@@ -0,0 +1,57 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning.ListenerScalingPolicy;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning.ListenerSettings;
+import com.paymenthub.payment_service.infrastructure.adapter.in.messaging.tuning.ListenerSignals;
+
+class ListenerScalingPolicyTests {
+
+	private final ListenerScalingPolicy policy = new ListenerScalingPolicy(1, 8, 10, 250, 500, 2000, 0.85, 0.2);
+
+	@Test
+	void addsAConsumerWhileTheBacklogExceedsWhatIsPrefetched() {
+		ListenerSettings next = decide(new ListenerSignals(100, 20, 5_000, 0.3, 0), new ListenerSettings(2, 100));
+
+		assertThat(next.consumers()).isEqualTo(3);
+		assertThat(next.prefetch()).isEqualTo(100);
+	}
+
+	@Test
+	void halvesConsumersWhenADependencyIsStruggling() {
+		ListenerSettings current = new ListenerSettings(8, 100);
+
+		assertThat(decide(new ListenerSignals(100, 20, 5_000, 0.3, 0.5), current).consumers()).isEqualTo(4);
+		assertThat(decide(new ListenerSignals(100, 20, 5_000, 0.95, 0), current).consumers()).isEqualTo(4);
+		assertThat(decide(new ListenerSignals(100, 800, 5_000, 0.3, 0), current).consumers()).isEqualTo(4);
+		assertThat(decide(new ListenerSignals(100, 800, 5_000, 0.3, 0), new ListenerSettings(1, 10)).consumers())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void removesAConsumerWhenIdleAndKeepsItOtherwise() {
+		assertThat(decide(new ListenerSignals(0, 0, 0, 0, 0), new ListenerSettings(3, 100)).consumers()).isEqualTo(2);
+		assertThat(decide(new ListenerSignals(0, 0, 0, 0, 0), new ListenerSettings(1, 100)).consumers()).isEqualTo(1);
+		assertThat(decide(new ListenerSignals(50, 20, 10, 0.3, 0), new ListenerSettings(3, 100)).consumers())
+				.isEqualTo(3);
+	}
+
+	@Test
+	void sizesPrefetchToTheBufferWithinBounds() {
+		ListenerSettings current = new ListenerSettings(2, 100);
+
+		assertThat(decide(new ListenerSignals(100, 40, 10, 0.3, 0), current).prefetch()).isEqualTo(50);
+		assertThat(decide(new ListenerSignals(100, 1, 10, 0.3, 0), current).prefetch()).isEqualTo(250);
+		assertThat(decide(new ListenerSignals(100, 400, 10, 0.3, 0), current).prefetch()).isEqualTo(10);
+		assertThat(decide(new ListenerSignals(0, 0, 10, 0.3, 0), current).prefetch()).isEqualTo(100);
+	}
+
+	private ListenerSettings decide(ListenerSignals signals, ListenerSettings current) {
+		return policy.decide(signals, current, Instant.EPOCH).to();
+	}
+}
@@ -0,0 +1,74 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.domain.valueobject.CurrencyUnit;
+import com.paymenthub.payment_service.domain.valueobject.Money;
+
+class MoneyTests {
+
+	@Test
+	void rejectsFractionsFinerThanTheMinorUnit() {
+		assertThatThrownBy(() -> new Money(new BigDecimal("10.005"), "USD"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new Money(new BigDecimal("1500.5"), "JPY"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new Money(new BigDecimal("1.2345"), "KWD"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(new Money(new BigDecimal("10.0100"), "USD").getMinorUnits()).isEqualTo(1001);
+	}
+
+	@Test
+	void rejectsAmountsBeyondALongOfMinorUnits() {
+		CurrencyUnit usd = CurrencyUnit.of("USD");
+
+		assertThat(new Money(new BigDecimal("92233720368547758.07"), usd).getMinorUnits()).isEqualTo(Long.MAX_VALUE);
+		assertThatThrownBy(() -> new Money(new BigDecimal("92233720368547758.08"), usd))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new Money(new BigDecimal("1e30"), usd))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new Money(new BigDecimal("1e999999999"), usd))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void convertsBackToADecimalAtTheCurrencyScale() {
+		assertThat(new Money(new BigDecimal("10.0000"), "USD").getAmount()).isEqualTo(new BigDecimal("10.00"));
+		assertThat(new Money(new BigDecimal("1500"), "JPY").getAmount()).isEqualTo(new BigDecimal("1500"));
+		assertThat(new Money(new BigDecimal("1.234"), "KWD").getAmount()).isEqualTo(new BigDecimal("1.234"));
+	}
+
+	@Test
+	void equalAmountsAreEqualRegardlessOfInputScale() {
+		assertThat(new Money(new BigDecimal("10"), "USD")).isEqualTo(new Money(new BigDecimal("10.0000"), "USD"));
+	}
+
+	@Test
+	void arithmeticIsExactAndOverflowChecked() {
+		CurrencyUnit usd = CurrencyUnit.of("USD");
+		Money price = new Money(new BigDecimal("10.10"), usd);
+		Money fee = new Money(new BigDecimal("0.20"), usd);
+
+		assertThat(price.add(fee).getAmount()).isEqualTo(new BigDecimal("10.30"));
+		assertThat(price.subtract(fee).getAmount()).isEqualTo(new BigDecimal("9.90"));
+		assertThat(price.isGreaterThan(fee)).isTrue();
+
+		assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE, usd).add(Money.ofMinor(1, usd)))
+				.isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void rejectsNegativeResultsAndMixedCurrencies() {
+		Money usd = new Money(BigDecimal.ONE, "USD");
+		Money eur = new Money(BigDecimal.ONE, "EUR");
+
+		assertThatThrownBy(() -> usd.subtract(usd.add(usd))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> usd.add(eur)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CurrencyUnit.of("ABC")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
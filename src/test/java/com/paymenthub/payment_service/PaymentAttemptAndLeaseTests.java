@@ -0,0 +1,222 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.paymenthub.payment_service.application.dto.result.BatchItemResult;
+import com.paymenthub.payment_service.application.dto.result.PaymentResult;
+import com.paymenthub.payment_service.application.exception.PaymentOperationNotStartedException;
+import com.paymenthub.payment_service.application.port.in.command.CreatePaymentCommand;
+import com.paymenthub.payment_service.application.port.in.usecase.BulkCapturePaymentsUseCase;
+import com.paymenthub.payment_service.application.port.in.usecase.RecoverPendingPaymentsUseCase;
+import com.paymenthub.payment_service.application.service.CreatePendingPaymentService;
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.enums.GatewayOperation;
+import com.paymenthub.payment_service.domain.enums.PaymentStatus;
+import com.paymenthub.payment_service.domain.exception.DuplicatePaymentException;
+import com.paymenthub.payment_service.domain.repository.PaymentRepository;
+import com.paymenthub.payment_service.domain.valueobject.InvoiceId;
+import com.paymenthub.payment_service.domain.valueobject.Money;
+import com.paymenthub.payment_service.domain.valueobject.PaymentMethodId;
+
+/**
+ * Runs the attempt counter, lease and gateway operation statements against
+ * Postgres. The scheduled sweeper and recovery are off so they do not take
+ * the leases under test.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = { "AUTHORIZATION_EXPIRY_SWEEP_ENABLED=false", "PAYMENT_RECOVERY_ENABLED=false" })
+class PaymentAttemptAndLeaseTests {
+
+	private static final int LIMIT = 1000;
+
+	@Autowired
+	private CreatePendingPaymentService createPendingPaymentService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private RecoverPendingPaymentsUseCase recoverPendingPaymentsUseCase;
+
+	@Autowired
+	private BulkCapturePaymentsUseCase bulkCapturePaymentsUseCase;
+
+	@Test
+	void duplicateInvoicesInABatchCountOneAttempt() {
+		String invoiceId = UUID.randomUUID().toString();
+
+		List<BatchItemResult<Payment>> first = createPendingPaymentService.createAll(
+				List.of(command(invoiceId), command(invoiceId)));
+		List<BatchItemResult<Payment>> redelivered = createPendingPaymentService.createAll(
+				List.of(command(invoiceId)));
+
+		assertThat(first.get(0).isSuccess()).isTrue();
+		assertThat(first.get(1).failure()).isInstanceOf(DuplicatePaymentException.class);
+		assertThat(redelivered.get(0).failure()).isInstanceOf(DuplicatePaymentException.class);
+		assertThat(attempts(invoiceId)).isEqualTo(1);
+		assertThat(paymentRepository.countByInvoiceId(new InvoiceId(invoiceId))).isEqualTo(1);
+	}
+
+	@Test
+	void duplicateSingleAttemptIsNotCounted() {
+		String invoiceId = UUID.randomUUID().toString();
+		createPendingPaymentService.create(command(invoiceId));
+
+		try {
+			createPendingPaymentService.create(command(invoiceId));
+		} catch (DuplicatePaymentException expected) {
+			// the invoice already has an active payment
+		}
+
+		assertThat(attempts(invoiceId)).isEqualTo(1);
+	}
+
+	@Test
+	void expiredAuthorizationIsLeasedOnceUntilTheLeaseLapses() {
+		Payment payment = expiredAuthorization();
+		LocalDateTime now = LocalDateTime.now();
+
+		List<Payment> leased = paymentRepository.leaseExpiredAuthorizations(now, now.plusMinutes(5), LIMIT);
+		List<Payment> whileLeased = paymentRepository.leaseExpiredAuthorizations(now, now.plusMinutes(5), LIMIT);
+		List<Payment> afterLease = paymentRepository.leaseExpiredAuthorizations(
+				now.plusMinutes(6), now.plusMinutes(11), LIMIT);
+
+		assertThat(leased).extracting(Payment::getId).contains(payment.getId());
+		assertThat(whileLeased).extracting(Payment::getId).doesNotContain(payment.getId());
+		assertThat(afterLease).extracting(Payment::getId).contains(payment.getId());
+	}
+
+	@Test
+	void orphanedPendingPaymentIsLeasedOnceUntilTheLeaseLapses() {
+		Payment payment = savedPayment();
+		LocalDateTime now = LocalDateTime.now().plusMinutes(1);
+
+		List<Payment> leased = paymentRepository.leaseOrphanedPayments(now, now, now.plusMinutes(5), LIMIT);
+		List<Payment> whileLeased = paymentRepository.leaseOrphanedPayments(now, now, now.plusMinutes(5), LIMIT);
+		List<Payment> afterLease = paymentRepository.leaseOrphanedPayments(
+				now, now.plusMinutes(6), now.plusMinutes(11), LIMIT);
+
+		assertThat(leased).extracting(Payment::getId).contains(payment.getId());
+		assertThat(whileLeased).extracting(Payment::getId).doesNotContain(payment.getId());
+		assertThat(afterLease).extracting(Payment::getId).contains(payment.getId());
+	}
+
+	@Test
+	void startedOperationHoldsThePaymentFromTheSweeperUntilItCompletes() {
+		Payment payment = expiredAuthorization();
+		LocalDateTime now = LocalDateTime.now();
+
+		boolean started = paymentRepository.startGatewayOperation(
+				payment.getId(), GatewayOperation.CAPTURE, now, now.plusMinutes(1));
+		boolean startedTwice = paymentRepository.startGatewayOperation(
+				payment.getId(), GatewayOperation.VOID, now, now.plusMinutes(1));
+		List<Payment> swept = paymentRepository.leaseExpiredAuthorizations(
+				now.plusMinutes(2), now.plusMinutes(7), LIMIT);
+		List<Payment> interrupted = paymentRepository.leaseInterruptedOperations(
+				GatewayOperation.CAPTURE, now.plusMinutes(2), now.plusMinutes(7), LIMIT);
+
+		assertThat(started).isTrue();
+		assertThat(startedTwice).isFalse();
+		assertThat(swept).extracting(Payment::getId).doesNotContain(payment.getId());
+		assertThat(interrupted).extracting(Payment::getId).contains(payment.getId());
+
+		payment.capture();
+		transactionTemplate.executeWithoutResult(status -> paymentRepository.save(payment));
+
+		assertThat(paymentRepository.leaseInterruptedOperations(
+				GatewayOperation.CAPTURE, now.plusMinutes(8), now.plusMinutes(13), LIMIT))
+				.extracting(Payment::getId).doesNotContain(payment.getId());
+	}
+
+	@Test
+	void releasedOperationReturnsThePaymentToTheSweeper() {
+		Payment payment = expiredAuthorization();
+		LocalDateTime now = LocalDateTime.now();
+		paymentRepository.startGatewayOperation(payment.getId(), GatewayOperation.VOID, now, now.plusMinutes(1));
+
+		paymentRepository.releaseGatewayOperation(payment.getId());
+
+		assertThat(paymentRepository.leaseExpiredAuthorizations(now, now.plusMinutes(5), LIMIT))
+				.extracting(Payment::getId).contains(payment.getId());
+	}
+
+	@Test
+	void recoveryCompletesAnInterruptedCapture() {
+		Payment payment = expiredAuthorization();
+		LocalDateTime started = LocalDateTime.now().minusMinutes(10);
+		paymentRepository.startGatewayOperation(
+				payment.getId(), GatewayOperation.CAPTURE, started, started.plusMinutes(1));
+
+		recoverPendingPaymentsUseCase.completeInterruptedOperations(LIMIT);
+
+		assertThat(paymentRepository.findById(payment.getId()))
+				.hasValueSatisfying(current -> assertThat(current.getStatus()).isEqualTo(PaymentStatus.CAPTURED));
+	}
+
+	@Test
+	void bulkCaptureSkipsPaymentsLeasedByTheSweeper() {
+		Payment leased = authorization();
+		Payment free = authorization();
+		jdbcTemplate.update("update payments set sweep_lease_until = ? where id = ?",
+				Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)), leased.getId());
+
+		List<BatchItemResult<PaymentResult>> results = bulkCapturePaymentsUseCase.captureAll(
+				List.of(leased.getId(), free.getId()));
+
+		assertThat(results.get(0).failure()).isInstanceOf(PaymentOperationNotStartedException.class);
+		assertThat(results.get(1).isSuccess()).isTrue();
+		assertThat(paymentRepository.findById(leased.getId()))
+				.hasValueSatisfying(current -> assertThat(current.getStatus()).isEqualTo(PaymentStatus.AUTHORIZED));
+	}
+
+	private Payment authorization() {
+		Payment payment = savedPayment();
+		payment.authorize("gateway-reference");
+		transactionTemplate.executeWithoutResult(status -> paymentRepository.save(payment));
+		return payment;
+	}
+
+	private Payment expiredAuthorization() {
+		Payment payment = authorization();
+		jdbcTemplate.update("update payments set expires_at = ? where id = ?",
+				Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), payment.getId());
+		return payment;
+	}
+
+	private Payment savedPayment() {
+		Payment payment = Payment.createPendingPayment(
+				new InvoiceId(UUID.randomUUID().toString()),
+				new PaymentMethodId("pm_test"),
+				new Money(new BigDecimal("10.00"), "USD"));
+		transactionTemplate.executeWithoutResult(status -> paymentRepository.save(payment));
+		return payment;
+	}
+
+	private int attempts(String invoiceId) {
+		return jdbcTemplate.queryForObject(
+				"select attempts from invoice_payment_attempts where invoice_id = ?", Integer.class, invoiceId);
+	}
+
+	private static CreatePaymentCommand command(String invoiceId) {
+		return new CreatePaymentCommand(invoiceId, "customer", new BigDecimal("10.00"), "USD", "pm_test");
+	}
+}
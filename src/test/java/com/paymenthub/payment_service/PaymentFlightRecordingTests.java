@@ -0,0 +1,103 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.application.tracing.PaymentOperationEvent;
+import com.paymenthub.payment_service.application.tracing.PaymentPhaseEvent;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Operation;
+import com.paymenthub.payment_service.application.tracing.PaymentTrace.Phase;
+import com.paymenthub.payment_service.infrastructure.monitoring.PaymentFlightRecording;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class PaymentFlightRecordingTests {
+
+	private PaymentFlightRecording recording;
+
+	@BeforeEach
+	void startRecording() {
+		recording = new PaymentFlightRecording("", 5, 0, 0);
+		recording.start();
+	}
+
+	@AfterEach
+	void stopRecording() {
+		recording.stop();
+	}
+
+	@Test
+	void recordsTheOperationAndEachPhaseWithTheirOutcome() throws Exception {
+		assertThatThrownBy(() -> {
+			try (PaymentTrace trace = PaymentTrace.begin(Operation.CAPTURE, "pay-1", "INV-1")) {
+				trace.phase(Phase.CHECK, () -> "found");
+				trace.phase(Phase.GATEWAY, (Runnable) () -> {
+					throw new IllegalStateException("declined");
+				});
+				trace.succeeded();
+			}
+		}).isInstanceOf(IllegalStateException.class);
+
+		List<RecordedEvent> events = dump();
+
+		assertThat(events).filteredOn(event -> event.getEventType().getName().equals(PaymentPhaseEvent.NAME))
+				.extracting(event -> event.getString("phase") + ":" + event.getString("outcome"))
+				.containsExactly("CHECK:success", "GATEWAY:failure");
+		assertThat(events).filteredOn(event -> event.getEventType().getName().equals(PaymentOperationEvent.NAME))
+				.singleElement()
+				.satisfies(event -> {
+					assertThat(event.getString("operation")).isEqualTo("CAPTURE");
+					assertThat(event.getString("paymentId")).isEqualTo("pay-1");
+					assertThat(event.getString("invoiceId")).isEqualTo("INV-1");
+					assertThat(event.getString("outcome")).isEqualTo("failure");
+					assertThat(event.getString("error")).isEqualTo("IllegalStateException");
+				});
+	}
+
+	@Test
+	void skipsOperationsFasterThanTheThreshold() throws Exception {
+		recording.stop();
+		recording = new PaymentFlightRecording("", 5, 60_000, 60_000);
+		recording.start();
+
+		try (PaymentTrace trace = PaymentTrace.begin(Operation.VOID, "pay-2", "INV-2")) {
+			trace.phase(Phase.GATEWAY, () -> "voided");
+			trace.succeeded();
+		}
+
+		assertThat(dump()).noneMatch(event -> event.getEventType().getName().startsWith("com.paymenthub"));
+	}
+
+	@Test
+	void neverRecordsTheEnvironmentOrSystemProperties() throws Exception {
+		recording.stop();
+		recording = new PaymentFlightRecording("jdk.GarbageCollection,jdk.CPULoad", 5, 0, 0);
+		recording.start();
+		System.gc();
+
+		assertThat(dump()).extracting(event -> event.getEventType().getName())
+				.doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+		assertThatThrownBy(() -> new PaymentFlightRecording("jdk.CPULoad,jdk.InitialEnvironmentVariable", 5, 0, 0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private List<RecordedEvent> dump() throws Exception {
+		Path file = recording.dump(Duration.ofMinutes(1));
+		try {
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
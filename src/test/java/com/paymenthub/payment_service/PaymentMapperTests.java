@@ -0,0 +1,48 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.enums.PaymentStatus;
+import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.entity.PaymentEntity;
+import com.paymenthub.payment_service.infrastructure.adapter.out.persistence.mapper.PaymentMapper;
+
+class PaymentMapperTests {
+
+	private final PaymentMapper mapper = new PaymentMapper();
+
+	@Test
+	void roundsLegacyAmountsToTheCurrencyScale() {
+		Payment payment = mapper.toDomainEntity(entity("JPY", new BigDecimal("1000.50")));
+
+		assertThat(payment.getRequestedAmount().getMinorUnits()).isEqualTo(1001);
+		assertThat(payment.getAuthorizedAmount().getAmount()).isEqualByComparingTo("1001");
+	}
+
+	@Test
+	void keepsAmountsAlreadyAtTheCurrencyScale() {
+		Payment payment = mapper.toDomainEntity(entity("USD", new BigDecimal("10.0500")));
+
+		assertThat(payment.getRequestedAmount().getMinorUnits()).isEqualTo(1005);
+	}
+
+	private static PaymentEntity entity(String currency, BigDecimal amount) {
+		PaymentEntity entity = new PaymentEntity();
+		entity.setId("payment-1");
+		entity.setInvoiceId("invoice-1");
+		entity.setPaymentMethodId("pm_test");
+		entity.setRequestedAmount(amount);
+		entity.setAuthorizedAmount(amount);
+		entity.setCapturedAmount(BigDecimal.ZERO);
+		entity.setCurrency(currency);
+		entity.setStatus(PaymentStatus.AUTHORIZED);
+		entity.setCreatedAt(LocalDateTime.now());
+		entity.setVersion(0L);
+		return entity;
+	}
+}
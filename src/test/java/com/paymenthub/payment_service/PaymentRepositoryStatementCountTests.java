@@ -0,0 +1,78 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.paymenthub.payment_service.domain.entity.Payment;
+import com.paymenthub.payment_service.domain.repository.PaymentRepository;
+import com.paymenthub.payment_service.domain.valueobject.InvoiceId;
+import com.paymenthub.payment_service.domain.valueobject.Money;
+import com.paymenthub.payment_service.domain.valueobject.PaymentMethodId;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PaymentRepositoryStatementCountTests {
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void saveOfNewPaymentIssuesSingleInsert() {
+		Payment payment = newPendingPayment();
+
+		transactionTemplate.executeWithoutResult(status -> paymentRepository.save(payment));
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+		assertThat(payment.getVersion()).isZero();
+	}
+
+	@Test
+	void saveOfExistingPaymentIssuesSingleUpdate() {
+		Payment payment = newPendingPayment();
+		transactionTemplate.executeWithoutResult(status -> paymentRepository.save(payment));
+		statistics.clear();
+
+		payment.authorize("gateway-reference");
+		Payment saved = transactionTemplate.execute(status -> paymentRepository.save(payment));
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(saved).isSameAs(payment);
+		assertThat(saved.getVersion()).isEqualTo(1L);
+	}
+
+	private static Payment newPendingPayment() {
+		return Payment.createPendingPayment(
+				new InvoiceId(UUID.randomUUID().toString()),
+				new PaymentMethodId("pm_test"),
+				new Money(new BigDecimal("10.00"), "USD"));
+	}
+}
@@ -0,0 +1,59 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.paymenthub.payment_service.infrastructure.monitoring.PortTimingPostProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PortTimingPostProcessorTests {
+
+	@Test
+	void timesCallsThroughPortsByOutcome() {
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+			context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+			context.registerBean(PortTimingPostProcessor.class,
+					() -> new PortTimingPostProcessor(context.getBeanProvider(MeterRegistry.class), "test.port",
+							"port", PortTimingPostProcessorTests.class.getPackageName(),
+							PortTimingPostProcessorTests.class.getPackageName()));
+			context.registerBean(EchoAdapter.class);
+			context.refresh();
+
+			EchoPort port = context.getBean(EchoPort.class);
+			assertThat(port.echo("hi")).isEqualTo("hi");
+			assertThatThrownBy(() -> port.echo(null)).isInstanceOf(IllegalArgumentException.class);
+			context.getBean(EchoAdapter.class).notOnThePort();
+
+			MeterRegistry registry = context.getBean(MeterRegistry.class);
+			assertThat(registry.get("test.port").tags("port", "EchoPort", "method", "echo", "outcome", "success")
+					.timer().count()).isEqualTo(1);
+			assertThat(registry.get("test.port").tags("outcome", "error", "exception", "IllegalArgumentException")
+					.timer().count()).isEqualTo(1);
+			assertThat(registry.find("test.port").tag("method", "notOnThePort").timer()).isNull();
+		}
+	}
+
+	public interface EchoPort {
+
+		String echo(String value);
+	}
+
+	public static class EchoAdapter implements EchoPort {
+
+		@Override
+		public String echo(String value) {
+			if (value == null) {
+				throw new IllegalArgumentException("value is required");
+			}
+			return value;
+		}
+
+		public void notOnThePort() {
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.paymenthub.payment_service.infrastructure.adapter.out.messaging.OutboundMessage;
+import com.paymenthub.payment_service.infrastructure.adapter.out.messaging.PaymentEventCodec;
+import com.paymenthub.payment_service.infrastructure.adapter.out.messaging.RabbitMQEventBus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RabbitMQEventBusTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ScriptedBroker broker = new ScriptedBroker();
+	private final RabbitMQEventBus eventBus = new RabbitMQEventBus(broker, new PaymentEventCodec(), meterRegistry,
+			"invoice_events", "application/json", 2, 3, 1);
+
+	@Test
+	void completesOnceTheBrokerConfirms() throws Exception {
+		List<CompletableFuture<Void>> confirms = eventBus.publish(List.of(message("e1"), message("e2")));
+
+		for (CompletableFuture<Void> confirm : confirms) {
+			confirm.get(5, TimeUnit.SECONDS);
+		}
+		assertThat(broker.sent).containsExactly("e1", "e2");
+		assertThat(count("confirmed")).isEqualTo(2);
+		assertThat(meterRegistry.get("payments.events.publish.confirm").timer().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("payments.events.publish.in_flight").gauge().value()).isZero();
+	}
+
+	@Test
+	void retriesNackedAndReturnedMessages() throws Exception {
+		broker.script.add(Outcome.NACK);
+		broker.script.add(Outcome.RETURN);
+
+		eventBus.publish(message("e1")).get(5, TimeUnit.SECONDS);
+
+		assertThat(broker.sent).containsExactly("e1", "e1", "e1");
+		assertThat(count("nacked")).isEqualTo(1);
+		assertThat(count("returned")).isEqualTo(1);
+		assertThat(count("confirmed")).isEqualTo(1);
+		assertThat(meterRegistry.get("payments.events.publish.retries").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void failsAfterTheLastAttemptAndFreesTheWindow() throws Exception {
+		broker.script.add(Outcome.NACK);
+		broker.script.add(Outcome.THROW);
+		broker.script.add(Outcome.NACK);
+
+		CompletableFuture<Void> confirm = eventBus.publish(message("e1"));
+
+		assertThat(confirm).failsWithin(5, TimeUnit.SECONDS).withThrowableOfType(ExecutionException.class);
+		assertThat(count("failed")).isEqualTo(1);
+
+		// the window holds two messages; both permits must have been released
+		eventBus.publish(message("e2")).get(5, TimeUnit.SECONDS);
+		eventBus.publish(message("e3")).get(5, TimeUnit.SECONDS);
+	}
+
+	private double count(String outcome) {
+		return meterRegistry.get("payments.events.published").tag("outcome", outcome).counter().count();
+	}
+
+	private static OutboundMessage message(String eventId) {
+		return new OutboundMessage(eventId, "payment.captured", "PaymentCapturedEvent", "{}");
+	}
+
+	private enum Outcome {
+		ACK, NACK, RETURN, THROW
+	}
+
+	/**
+	 * Completes confirms from another thread, as the connection thread would.
+	 */
+	private static class ScriptedBroker extends RabbitTemplate {
+
+		final Deque<Outcome> script = new ArrayDeque<>();
+		final List<String> sent = new CopyOnWriteArrayList<>();
+
+		@Override
+		public synchronized void send(String exchange, String routingKey, Message message,
+				CorrelationData correlationData) {
+			sent.add(correlationData.getId());
+			Outcome outcome = script.isEmpty() ? Outcome.ACK : script.poll();
+			if (outcome == Outcome.THROW) {
+				throw new AmqpConnectException(new ConnectException("down"));
+			}
+			if (outcome == Outcome.RETURN) {
+				correlationData.setReturned(new ReturnedMessage(message, 312, "NO_ROUTE", exchange, routingKey));
+			}
+			boolean ack = outcome != Outcome.NACK;
+			CompletableFuture.runAsync(() -> correlationData.getFuture()
+					.complete(new CorrelationData.Confirm(ack, ack ? null : "nack")));
+		}
+	}
+}
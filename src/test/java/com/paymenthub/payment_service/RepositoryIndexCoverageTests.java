@@ -0,0 +1,172 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StreamUtils;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+
+/**
+ * Fails the build when a Spring Data repository method filters on columns
+ * that no index declared in db/migration leads with. Runs without a database.
+ */
+class RepositoryIndexCoverageTests {
+
+	private static final String BASE_PACKAGE = "com.paymenthub.payment_service";
+
+	private static final Pattern CREATE_INDEX = Pattern.compile(
+			"create\\s+(?:unique\\s+)?index\\s+(?:concurrently\\s+)?(?:if\\s+not\\s+exists\\s+)?\\w+\\s+"
+					+ "on\\s+(\\w+)\\s*(?:using\\s+\\w+\\s*)?\\(\\s*(\\w+)",
+			Pattern.CASE_INSENSITIVE);
+	private static final Pattern CREATE_TABLE = Pattern.compile(
+			"create\\s+table\\s+(?:if\\s+not\\s+exists\\s+)?(\\w+)\\s*\\((.*?)\\);",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+	private static final Pattern KEY_COLUMN = Pattern.compile(
+			"^\\s*(\\w+)\\s+[^,]*?\\b(?:primary\\s+key|unique)\\b",
+			Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+	private static final Pattern KEY_CONSTRAINT = Pattern.compile(
+			"\\b(?:primary\\s+key|unique)\\s*\\(\\s*(\\w+)", Pattern.CASE_INSENSITIVE);
+	private static final Pattern JPQL_PROPERTY = Pattern.compile("\\b\\w+\\.(\\w+)\\b");
+	private static final Pattern NATIVE_COLUMN = Pattern.compile(
+			"(?:where|and|or|order\\s+by)\\s+(?:\\w+\\.)?(\\w+)", Pattern.CASE_INSENSITIVE);
+
+	private static Map<String, Set<String>> indexedColumnsByTable;
+
+	@BeforeAll
+	static void readMigrations() throws IOException {
+		indexedColumnsByTable = new HashMap<>();
+		Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql");
+		for (Resource script : scripts) {
+			String sql = StreamUtils.copyToString(script.getInputStream(), StandardCharsets.UTF_8)
+					.replaceAll("--[^\\n]*", "");
+			Matcher index = CREATE_INDEX.matcher(sql);
+			while (index.find()) {
+				indexedColumns(index.group(1)).add(index.group(2).toLowerCase(Locale.ROOT));
+			}
+			Matcher table = CREATE_TABLE.matcher(sql);
+			while (table.find()) {
+				Matcher key = KEY_COLUMN.matcher(table.group(2));
+				while (key.find()) {
+					indexedColumns(table.group(1)).add(key.group(1).toLowerCase(Locale.ROOT));
+				}
+				Matcher constraint = KEY_CONSTRAINT.matcher(table.group(2));
+				while (constraint.find()) {
+					indexedColumns(table.group(1)).add(constraint.group(1).toLowerCase(Locale.ROOT));
+				}
+			}
+		}
+	}
+
+	@Test
+	void everyRepositoryQueryHasASupportingIndex() throws ClassNotFoundException {
+		List<String> unsupported = new ArrayList<>();
+		for (Class<?> repository : repositoryInterfaces()) {
+			Class<?> entity = AbstractRepositoryMetadata.getMetadata(repository).getDomainType();
+			String table = entity.getAnnotation(Table.class).name().toLowerCase(Locale.ROOT);
+			Set<String> indexed = indexedColumnsByTable.getOrDefault(table, Set.of());
+
+			for (Method method : repository.getDeclaredMethods()) {
+				Set<String> columns = filterColumns(method, entity);
+				if (!columns.isEmpty() && columns.stream().noneMatch(indexed::contains)) {
+					unsupported.add(repository.getSimpleName() + "." + method.getName() + " filters " + table
+							+ " on " + columns);
+				}
+			}
+		}
+
+		assertThat(unsupported)
+				.as("repository queries without an index leading with one of their columns")
+				.isEmpty();
+	}
+
+	private static Set<String> filterColumns(Method method, Class<?> entity) {
+		Set<String> columns = new LinkedHashSet<>();
+		Query query = method.getAnnotation(Query.class);
+		if (query != null && query.nativeQuery()) {
+			Matcher column = NATIVE_COLUMN.matcher(query.value());
+			while (column.find()) {
+				columns.add(column.group(1).toLowerCase(Locale.ROOT));
+			}
+		} else if (query != null) {
+			int where = query.value().toLowerCase(Locale.ROOT).indexOf("where");
+			if (where >= 0) {
+				Matcher property = JPQL_PROPERTY.matcher(query.value().substring(where));
+				while (property.find()) {
+					columns.add(columnName(entity, property.group(1)));
+				}
+			}
+		} else if (isDerivedQuery(method)) {
+			for (Part part : new PartTree(method.getName(), entity).getParts()) {
+				columns.add(columnName(entity, part.getProperty().getLeafProperty().getSegment()));
+			}
+		}
+		return columns;
+	}
+
+	private static boolean isDerivedQuery(Method method) {
+		return !method.isDefault() && method.getName().matches("(find|read|get|query|count|exists|delete)\\w*By\\w+");
+	}
+
+	private static String columnName(Class<?> entity, String property) {
+		try {
+			Field field = entity.getDeclaredField(property);
+			Column column = field.getAnnotation(Column.class);
+			if (column != null && !column.name().isEmpty()) {
+				return column.name().toLowerCase(Locale.ROOT);
+			}
+		} catch (NoSuchFieldException ignored) {
+			// fall back to the naming strategy
+		}
+		return property.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+	}
+
+	private static List<Class<?>> repositoryInterfaces() throws ClassNotFoundException {
+		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+			@Override
+			protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+				return beanDefinition.getMetadata().isInterface();
+			}
+		};
+		scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+
+		List<Class<?>> repositories = new ArrayList<>();
+		for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE)) {
+			repositories.add(ClassUtils.forName(candidate.getBeanClassName(), null));
+		}
+		assertThat(repositories).isNotEmpty();
+		return repositories;
+	}
+
+	private static Set<String> indexedColumns(String table) {
+		return indexedColumnsByTable.computeIfAbsent(table.toLowerCase(Locale.ROOT), key -> new LinkedHashSet<>());
+	}
+}
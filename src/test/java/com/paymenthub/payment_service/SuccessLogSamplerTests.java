@@ -0,0 +1,73 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.infrastructure.logging.SuccessLogSampler;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+class SuccessLogSamplerTests {
+
+	private final LoggerContext context = new LoggerContext();
+	private final SuccessLogSampler sampler = new SuccessLogSampler();
+
+	@BeforeEach
+	void configure() {
+		context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+		sampler.setCategories("com.example.consumer=10, com.example.consumer.quiet=100");
+	}
+
+	@Test
+	void keepsOneInNSuccessLogsPerCategory() {
+		assertThat(kept("com.example.consumer.InvoiceConsumer", Level.INFO, 100)).isEqualTo(10);
+		assertThat(kept("com.example.consumer.quiet.Tuner", Level.INFO, 100)).isEqualTo(1);
+	}
+
+	@Test
+	void loggersOfACategoryShareOneCounter() {
+		assertThat(kept("com.example.consumer.A", Level.INFO, 5) + kept("com.example.consumer.B", Level.INFO, 5))
+				.isEqualTo(1);
+	}
+
+	@Test
+	void neverSamplesWarningsErrorsExceptionsOrOtherLoggers() {
+		assertThat(kept("com.example.consumer.InvoiceConsumer", Level.WARN, 20)).isEqualTo(20);
+		assertThat(kept("com.example.consumer.InvoiceConsumer", Level.ERROR, 20)).isEqualTo(20);
+		assertThat(kept("com.example.consumerless.Other", Level.INFO, 20)).isEqualTo(20);
+
+		Logger logger = context.getLogger("com.example.consumer.InvoiceConsumer");
+		Object[] withException = { "INV-1", new IllegalStateException() };
+		assertThat(IntStream.range(0, 20)
+				.filter(i -> sampler.decide(null, logger, Level.INFO, "failed {}", withException, null)
+						== FilterReply.NEUTRAL)
+				.count()).isEqualTo(20);
+	}
+
+	@Test
+	void leavesDisabledLevelsAndLevelChecksToLogback() {
+		Logger logger = context.getLogger("com.example.consumer.InvoiceConsumer");
+
+		for (int i = 0; i < 20; i++) {
+			assertThat(sampler.decide(null, logger, Level.DEBUG, "step {}", new Object[] { i }, null))
+					.isEqualTo(FilterReply.NEUTRAL);
+			assertThat(sampler.decide(null, logger, Level.INFO, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+		}
+		assertThat(kept("com.example.consumer.InvoiceConsumer", Level.INFO, 10)).isEqualTo(1);
+	}
+
+	private long kept(String loggerName, Level level, int events) {
+		Logger logger = context.getLogger(loggerName);
+		return IntStream.range(0, events)
+				.filter(i -> sampler.decide(null, logger, level, "event {}", new Object[] { i }, null)
+						== FilterReply.NEUTRAL)
+				.count();
+	}
+}
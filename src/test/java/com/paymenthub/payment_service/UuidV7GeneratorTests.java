@@ -0,0 +1,68 @@
+package com.paymenthub.payment_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.paymenthub.payment_service.domain.identity.UuidV7Generator;
+
+class UuidV7GeneratorTests {
+
+	private final UuidV7Generator generator = new UuidV7Generator();
+
+	@Test
+	void producesVersion7Rfc9562Uuids() {
+		UUID uuid = generator.nextUuid();
+
+		assertThat(uuid.version()).isEqualTo(7);
+		assertThat(uuid.variant()).isEqualTo(2);
+		assertThat(uuid.getMostSignificantBits() >>> 16).isCloseTo(System.currentTimeMillis(), Offset.offset(1_000L));
+	}
+
+	@Test
+	void stringFormSortsInGenerationOrder() {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++) {
+			ids.add(generator.nextId());
+		}
+
+		List<String> sorted = new ArrayList<>(ids);
+		Collections.sort(sorted);
+		assertThat(sorted).isEqualTo(ids);
+		assertThat(Set.copyOf(ids)).hasSize(ids.size());
+	}
+
+	@Test
+	void staysUniqueAcrossThreads() throws Exception {
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						ids.add(generator.nextId());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(ids).hasSize(80_000);
+	}
+}